@@ -0,0 +1,69 @@
+package com.romiiis.configuration;
+
+import java.util.List;
+
+/**
+ * Record representing the outcome of a bulk write - per-batch throughput and the
+ * writes that failed. Writes are unordered, so a failure does not stop the other writes.
+ *
+ * @param requested number of requested writes
+ * @param batches   statistics of the individual batches
+ * @param failures  failed writes
+ */
+public record BulkWriteResult(int requested, List<Batch> batches, List<Failure> failures) {
+
+    /**
+     * Statistics of one batch sent to the database.
+     *
+     * @param size      number of writes in the batch
+     * @param written   number of documents written (inserted, matched or upserted)
+     * @param elapsedMs duration of the batch in milliseconds
+     */
+    public record Batch(int size, int written, long elapsedMs) {
+
+        /**
+         * @return documents written per second
+         */
+        public double throughput() {
+            return written * 1000.0 / Math.max(1, elapsedMs);
+        }
+    }
+
+    /**
+     * Single failed write.
+     *
+     * @param index   position of the write in the requested list, null for a multi-document update
+     *                (which has no position, the whole update failed)
+     * @param message error reported by the database
+     */
+    public record Failure(Integer index, String message) {
+    }
+
+    /**
+     * @return total number of documents written
+     */
+    public int written() {
+        return batches.stream().mapToInt(Batch::written).sum();
+    }
+
+    /**
+     * @return total duration of all batches in milliseconds
+     */
+    public long elapsedMs() {
+        return batches.stream().mapToLong(Batch::elapsedMs).sum();
+    }
+
+    /**
+     * @return documents written per second over all batches
+     */
+    public double throughput() {
+        return written() * 1000.0 / Math.max(1, elapsedMs());
+    }
+
+    /**
+     * @return true if no write failed
+     */
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+}
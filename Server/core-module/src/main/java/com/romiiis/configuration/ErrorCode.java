@@ -13,6 +13,7 @@ public enum ErrorCode {
     CONFLICT(409),
     UNAUTHORIZED(401),
     FORBIDDEN(403),
+    TOO_MANY_REQUESTS(429),
     INTERNAL_SERVER_ERROR(500);
 
     private final int code;
@@ -1,10 +1,112 @@
 package com.romiiis.configuration;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
- * Record representing a resource header with its name and data.
+ * Record representing a resource header with its name and content.
+ * <p>
+ * The content is opened on demand as a stream, so a resource can be passed through the layers
+ * without ever holding the whole data in memory. Resources stored in a file also carry its path,
+ * so the file can be sent as is (e.g. by {@code sendfile}) without passing through the application.
+ * A file may hold the data in a content coding (e.g. gzip) or framed by other data, described by its
+ * {@link Encoding}; the content source always opens the decoded data.
  *
  * @param resourceName the name of the resource
- * @param resourceData the data of the resource as a byte array
+ * @param content      source of the resource data
+ * @param file         file holding the resource data, null if the resource is not file-backed
+ * @param digest       hex SHA-256 digest of the file, null if not known
+ * @param encoding     coding and position of the data in the file, null if the whole file is the data
  */
-public record ResourceHeader(String resourceName, byte[] resourceData) {
+public record ResourceHeader(String resourceName, ContentSource content, Path file, String digest, Encoding encoding) {
+
+    /**
+     * Creates a header of a resource that is not file-backed.
+     *
+     * @param resourceName the name of the resource
+     * @param content      source of the resource data
+     */
+    public ResourceHeader(String resourceName, ContentSource content) {
+        this(resourceName, content, null, null, null);
+    }
+
+    /**
+     * Creates a header of an in-memory resource.
+     *
+     * @param resourceName the name of the resource
+     * @param resourceData the data of the resource as a byte array
+     */
+    public ResourceHeader(String resourceName, byte[] resourceData) {
+        this(resourceName, () -> new ByteArrayInputStream(resourceData));
+    }
+
+    /**
+     * Creates a header of a resource stored in a file.
+     *
+     * @param resourceName the name of the resource
+     * @param file         file holding the resource data
+     * @param digest       hex SHA-256 digest of the file, null if not known
+     * @return file-backed resource header
+     */
+    public static ResourceHeader ofFile(String resourceName, Path file, String digest) {
+        return new ResourceHeader(resourceName, () -> Files.newInputStream(file), file, digest, null);
+    }
+
+    /**
+     * Opens a new stream of the resource data, to be closed by the caller.
+     *
+     * @return stream of the resource data
+     * @throws IOException if the data cannot be opened
+     */
+    public InputStream openStream() throws IOException {
+        return content.open();
+    }
+
+    /**
+     * Reads the whole resource data into memory, meant for small resources only.
+     *
+     * @return the data of the resource as a byte array
+     */
+    public byte[] resourceData() {
+        try (InputStream input = openStream()) {
+            return input.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read resource " + resourceName, e);
+        }
+    }
+
+    /**
+     * Content coding of the data in a file.
+     *
+     * @param name          name of the coding (as in the Content-Encoding header), {@link #IDENTITY} if not coded
+     * @param offset        position of the coded data in the file
+     * @param length        length of the coded data
+     * @param decodedLength length of the decoded data
+     */
+    public record Encoding(String name, long offset, long length, long decodedLength) {
+
+        /**
+         * Name of the coding of data stored as is
+         */
+        public static final String IDENTITY = "identity";
+
+        /**
+         * @return true if the data is stored as is, only at an offset in the file
+         */
+        public boolean isIdentity() {
+            return IDENTITY.equals(name);
+        }
+    }
+
+    /**
+     * Source the resource data is opened from.
+     */
+    @FunctionalInterface
+    public interface ContentSource {
+        InputStream open() throws IOException;
+    }
 }
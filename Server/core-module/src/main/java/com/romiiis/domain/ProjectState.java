@@ -8,5 +8,26 @@ public enum ProjectState {
     ASSIGNED,
     COMPLETED,
     APPROVED,
-    CLOSED,
+    CLOSED;
+
+    /**
+     * Tells whether a project in this state counts towards the workload of its translator.
+     * Completed projects still count, as the customer may reject them back to the translator.
+     *
+     * @return true for states the translator is still responsible for
+     */
+    public boolean isActive() {
+        return this == ASSIGNED || this == COMPLETED;
+    }
+
+    /**
+     * Change of the translator's workload caused by a transition between two states.
+     *
+     * @param from state before the transition
+     * @param to   state after the transition
+     * @return +1, -1 or 0
+     */
+    public static int workloadDelta(ProjectState from, ProjectState to) {
+        return (to.isActive() ? 1 : 0) - (from.isActive() ? 1 : 0);
+    }
 }
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
@@ -32,6 +33,12 @@ public class User {
 
     private String hashedPassword;
 
+    /**
+     * Version of the user's access tokens, bumped whenever the role changes so that tokens
+     * carrying the previous role are rejected
+     */
+    private int tokenVersion;
+
     public static final Pattern VALID_EMAIL_ADDRESS_REGEX =
             Pattern.compile("^[A-Z0-9._%+-]+@[A-Z0-9.-]+\\.[A-Z]{2,6}$", Pattern.CASE_INSENSITIVE);
 
@@ -150,6 +157,17 @@ public class User {
     }
 
 
+    /**
+     * Creates an independent copy of the user, e.g. for handing out a cached user.
+     *
+     * @return copy of the user, changes of the copy (or of its languages) do not affect this user
+     */
+    public User copy() {
+        return new User(id, name, emailAddress, role, languages == null ? null : new HashSet<>(languages),
+                createdAt, hashedPassword, tokenVersion);
+    }
+
+
     /**
      * Sets the hashed password for the user.
      *
@@ -165,6 +183,7 @@ public class User {
     /**
      * Initializes the user with a role and languages (if applicable).
      * This method can only be called once per user instance.
+     * Bumps the token version, so access tokens issued before the role was set are no longer accepted.
      *
      * @param role      Role to assign to the user (cannot be ADMINISTRATOR)
      * @param languages Set of languages (required if role is TRANSLATOR)
@@ -186,6 +205,7 @@ public class User {
         }
 
         this.role = role;
+        this.tokenVersion++;
 
         if (role == UserRole.TRANSLATOR) {
             if (languages == null || languages.isEmpty()) {
@@ -0,0 +1,15 @@
+package com.romiiis.exception;
+
+import com.romiiis.configuration.ErrorCode;
+
+/**
+ * Exception thrown when a request is rejected because the server is saturated
+ * For example all password hashing workers are busy and their queue is full.
+ *
+ * @author Roman Pejs
+ */
+public class TooManyRequestsException extends BaseException {
+    public TooManyRequestsException() {
+        super("Server is busy, please try again later.", ErrorCode.TOO_MANY_REQUESTS);
+    }
+}
@@ -0,0 +1,50 @@
+package com.romiiis.filter;
+
+import com.romiiis.domain.Feedback;
+import com.romiiis.domain.Project;
+import com.romiiis.domain.ProjectState;
+import com.romiiis.domain.User;
+import com.romiiis.domain.UserRole;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Field of a domain entity that can be changed by a {@link BulkUpdate}.
+ * The entity type ties the field to the repository updating it and the value type to the values
+ * it accepts; how the field is stored is up to the storage.
+ *
+ * @param <E> entity owning the field
+ * @param <V> type of the field values
+ * @author Roman Pejs
+ */
+public final class BulkField<E, V> {
+
+    public static final BulkField<Project, ProjectState> PROJECT_STATE = new BulkField<>("state");
+    public static final BulkField<Project, User> PROJECT_TRANSLATOR = new BulkField<>("translator");
+    public static final BulkField<Project, Locale> PROJECT_TARGET_LANGUAGE = new BulkField<>("targetLanguage");
+    public static final BulkField<Project, String> PROJECT_TRANSLATED_FILE_NAME = new BulkField<>("translatedFileName");
+
+    public static final BulkField<User, String> USER_NAME = new BulkField<>("name");
+    public static final BulkField<User, String> USER_EMAIL_ADDRESS = new BulkField<>("emailAddress");
+    public static final BulkField<User, UserRole> USER_ROLE = new BulkField<>("role");
+    public static final BulkField<User, Set<Locale>> USER_LANGUAGES = new BulkField<>("languages");
+
+    public static final BulkField<Feedback, String> FEEDBACK_TEXT = new BulkField<>("text");
+
+    /** Name of the domain property */
+    private final String name;
+
+    private BulkField(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,65 @@
+package com.romiiis.filter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Set of field changes applied to every entity matched by a bulk update.
+ * Fields are the {@link BulkField}s of the entity, values are domain values (enums, users, locales, ...).
+ * Fluent interface design pattern is used for easy chaining of changes.
+ *
+ * @param <E> updated entity
+ * @author Roman Pejs
+ */
+public class BulkUpdate<E> {
+
+    /** Changed fields and their new values (null value clears the field) */
+    private final Map<BulkField<E, ?>, Object> changes = new LinkedHashMap<>();
+
+    public BulkUpdate() {
+    }
+
+    /**
+     * Sets a field to the given value.
+     *
+     * @param field field of the entity
+     * @param value new value, or null to clear the field
+     * @param <V>   type of the field values
+     * @return the updated BulkUpdate instance
+     */
+    public <V> BulkUpdate<E> set(BulkField<E, V> field, V value) {
+        this.changes.put(field, value);
+        return this;
+    }
+
+    /**
+     * @param field field of the entity
+     * @return true if the update changes the field
+     */
+    public boolean changes(BulkField<E, ?> field) {
+        return changes.containsKey(field);
+    }
+
+    /**
+     * @param field field of the entity
+     * @param <V>   type of the field values
+     * @return new value of the field, null if it is cleared or not changed
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(BulkField<E, V> field) {
+        // Values are only put by set(), which checks the type
+        return (V) changes.get(field);
+    }
+
+    /**
+     * @return unmodifiable view of the changes
+     */
+    public Map<BulkField<E, ?>, Object> getChanges() {
+        return Collections.unmodifiableMap(changes);
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+}
@@ -0,0 +1,66 @@
+package com.romiiis.filter;
+
+import com.romiiis.domain.Project;
+import com.romiiis.exception.MyIllegalParametersException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the project listing used for keyset (seek) pagination.
+ * Projects are ordered by creation time and ID (both descending), so the pair
+ * of the last returned project identifies where the next page starts.
+ * <p>
+ * Clients only ever see the encoded, opaque form of the cursor.
+ *
+ * @param createdAt creation time of the last project on the previous page
+ * @param id        ID of the last project on the previous page
+ * @author Roman Pejs
+ */
+public record ProjectsCursor(Instant createdAt, UUID id) {
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Creates a cursor pointing right after the given project.
+     *
+     * @param project the last project of a page
+     * @return cursor for the next page
+     */
+    public static ProjectsCursor after(Project project) {
+        return new ProjectsCursor(project.getCreatedAt(), project.getId());
+    }
+
+    /**
+     * Encodes the cursor into an opaque URL-safe string.
+     *
+     * @return encoded cursor
+     */
+    public String encode() {
+        String raw = createdAt.toEpochMilli() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param encoded the opaque cursor string, may be null
+     * @return decoded cursor, or null if no cursor was given
+     * @throws MyIllegalParametersException if the cursor is malformed
+     */
+    public static ProjectsCursor decode(String encoded) throws MyIllegalParametersException {
+        if (encoded == null || encoded.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 2);
+            return new ProjectsCursor(Instant.ofEpochMilli(Long.parseLong(parts[0])), UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new MyIllegalParametersException("Invalid pagination cursor");
+        }
+    }
+}
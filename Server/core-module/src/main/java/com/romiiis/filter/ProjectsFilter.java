@@ -23,6 +23,10 @@ public class ProjectsFilter {
     @Setter
     private UUID customerId = null;
 
+    // Keyset pagination (null limit means unpaged)
+    private Integer limit = null;
+    private ProjectsCursor cursor = null;
+
     public ProjectsFilter() {
 
     }
@@ -62,4 +66,31 @@ public class ProjectsFilter {
         return this;
     }
 
+    /**
+     * Sets the maximum number of projects returned in one page.
+     * @param limit the page size, or null for an unpaged result
+     * @return the updated ProjectsFilter instance
+     */
+    public ProjectsFilter setLimit(Integer limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Sets the position after which the next page starts.
+     * @param cursor the cursor of the last project of the previous page, or null for the first page
+     * @return the updated ProjectsFilter instance
+     */
+    public ProjectsFilter setCursor(ProjectsCursor cursor) {
+        this.cursor = cursor;
+        return this;
+    }
+
+    /**
+     * @return true if the filter requests a single page instead of all matching projects
+     */
+    public boolean isPaged() {
+        return limit != null;
+    }
+
 }
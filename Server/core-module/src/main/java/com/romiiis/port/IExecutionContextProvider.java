@@ -2,6 +2,9 @@ package com.romiiis.port;
 
 import com.romiiis.domain.User;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
 /**
  * Provides information about the current caller (authenticated user or system).
  */
@@ -26,5 +29,94 @@ public interface IExecutionContextProvider {
      */
     void clear();
 
-}
 
+    /**
+     * Calls the function with the given caller, restoring the previous caller afterwards.
+     *
+     * @param caller the caller, or null to run as system
+     * @param call   the function
+     * @return result of the function
+     * @throws X the exception thrown by the function
+     */
+    default <T, X extends Exception> T callAs(User caller, CallerCall<T, X> call) throws X {
+        User previous = getCaller();
+        setCaller(caller);
+        try {
+            return call.call();
+        } finally {
+            if (previous == null) {
+                clear();
+            } else {
+                setCaller(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs the action with the given caller, restoring the previous caller afterwards.
+     *
+     * @param caller the caller, or null to run as system
+     * @param action the action
+     * @throws X the exception thrown by the action
+     */
+    default <X extends Exception> void runAs(User caller, CallerAction<X> action) throws X {
+        callAs(caller, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Wraps the task so it runs with the caller current at the time of wrapping, on whichever thread executes it.
+     *
+     * @param task the task
+     * @return task running with the current caller
+     */
+    default Runnable propagate(Runnable task) {
+        User caller = getCaller();
+        return () -> runAs(caller, task::run);
+    }
+
+    /**
+     * Wraps the task so it runs with the caller current at the time of wrapping, on whichever thread executes it.
+     *
+     * @param task the task
+     * @return task running with the current caller
+     */
+    default <T> Callable<T> propagate(Callable<T> task) {
+        User caller = getCaller();
+        return () -> callAs(caller, task::call);
+    }
+
+    /**
+     * Wraps the executor so every submitted task runs with the caller current at the time of submission.
+     *
+     * @param executor the executor
+     * @return executor propagating the caller
+     */
+    default Executor propagating(Executor executor) {
+        return task -> executor.execute(propagate(task));
+    }
+
+
+    /**
+     * Function called with a bound caller.
+     *
+     * @param <T> result type
+     * @param <X> exception thrown by the function
+     */
+    @FunctionalInterface
+    interface CallerCall<T, X extends Exception> {
+        T call() throws X;
+    }
+
+    /**
+     * Action run with a bound caller.
+     *
+     * @param <X> exception thrown by the action
+     */
+    @FunctionalInterface
+    interface CallerAction<X extends Exception> {
+        void run() throws X;
+    }
+}
@@ -4,6 +4,8 @@ import com.romiiis.configuration.ResourceHeader;
 import com.romiiis.exception.FileNotFoundException;
 import com.romiiis.exception.FileStorageException;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,7 +25,22 @@ public interface IFileSystemService {
      * @param fileData  The byte array of the file data.
      * @throws FileStorageException File storage exception during operation (custom)
      */
-    void saveOriginalFile(UUID projectId, byte[] fileData) throws FileStorageException;
+    default void saveOriginalFile(UUID projectId, byte[] fileData) throws FileStorageException {
+        saveOriginalFile(projectId, new ByteArrayInputStream(fileData));
+    }
+
+
+    /**
+     * Saves the original file data for a given project, streaming it to the storage.
+     * <p>
+     * The stream is read to its end but not closed.
+     * </p>
+     *
+     * @param projectId The ID of the project.
+     * @param content   The stream of the file data.
+     * @throws FileStorageException File storage exception during operation (custom)
+     */
+    void saveOriginalFile(UUID projectId, InputStream content) throws FileStorageException;
 
 
     /**
@@ -33,7 +50,22 @@ public interface IFileSystemService {
      * @param fileData  The byte array of the translated file data.
      * @throws FileStorageException File storage exception during operation (custom)
      */
-    void saveTranslatedFile(UUID projectId, byte[] fileData) throws FileStorageException;
+    default void saveTranslatedFile(UUID projectId, byte[] fileData) throws FileStorageException {
+        saveTranslatedFile(projectId, new ByteArrayInputStream(fileData));
+    }
+
+
+    /**
+     * Saves the translated file data for a given project, streaming it to the storage.
+     * <p>
+     * The stream is read to its end but not closed.
+     * </p>
+     *
+     * @param projectId The ID of the project.
+     * @param content   The stream of the translated file data.
+     * @throws FileStorageException File storage exception during operation (custom)
+     */
+    void saveTranslatedFile(UUID projectId, InputStream content) throws FileStorageException;
 
 
     /**
@@ -57,6 +89,15 @@ public interface IFileSystemService {
      */
     ResourceHeader getOriginalFile(UUID projectId) throws FileNotFoundException, FileStorageException;
 
+    /**
+     * Deletes stored data no longer referenced by any project file.
+     *
+     * @return number of deleted items
+     * @throws FileStorageException File storage exception during operation (custom)
+     */
+    int collectGarbage() throws FileStorageException;
+
+
     /**
      * Lists all project folder names in the file system.
      *
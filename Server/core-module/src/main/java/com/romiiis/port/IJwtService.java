@@ -1,9 +1,8 @@
 package com.romiiis.port;
 
-import com.romiiis.domain.UserRole;
 import com.romiiis.security.TokenPair;
+import com.romiiis.security.VerifiedToken;
 
-import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -37,7 +36,7 @@ public interface IJwtService {
 
 
     /**
-     * Generates a long-lived refresh token for the given subject.
+     * Generates a long-lived refresh token for the given subject, starting a new refresh token family.
      *
      * @param subject the subject (user identifier)
      * @return signed JWT refresh token string
@@ -45,39 +44,36 @@ public interface IJwtService {
     String generateRefreshToken(UUID subject);
 
     /**
-     * Validates a token (signature, structure, expiration, etc.).
+     * Exchanges a verified refresh token for a new token pair, invalidating the presented refresh token.
+     * Presenting an already exchanged refresh token again revokes all refresh tokens issued from the same login.
      *
-     * @param token the token to validate
-     * @return true if the token is cryptographically valid and not expired
+     * @param refreshToken the verified refresh token
+     * @return the new token pair, or empty if the refresh token may no longer be used
      */
-    boolean validateToken(String token);
+    Optional<TokenPair> rotateRefreshToken(VerifiedToken refreshToken);
 
     /**
-     * Extracts the subject (user identifier) from a valid token.
+     * Verifies a token once (signature, structure, expiration, revocation, token version)
+     * and returns its claims, so callers do not need to parse the token again.
      *
-     * @param token the JWT token
-     * @return subject (user ID, email, etc.)
+     * @param token the token to verify
+     * @return the verified token, or empty if the token is not valid
      */
-    String getSubjectFromToken(String token);
-
-
-    long getRemainingLifetime(String token);
+    Optional<VerifiedToken> verify(String token);
 
     /**
-     * Extracts the single user role stored in the token.
+     * Invalidates a token by adding it to the server-side blacklist.
      *
-     * @param token JWT token
-     * @return user role (e.g. "ADMIN"), or empty if not present
+     * @param token the JWT token to invalidate
      */
-    Optional<UserRole> getRoleFromToken(String token);
-
+    void invalidateToken(String token);
 
     /**
-     * Invalidates a token by adding it to the server-side blacklist.
+     * Invalidates an already verified token by adding it to the server-side blacklist.
      *
-     * @param token the JWT token to invalidate
+     * @param token the verified token to invalidate
      */
-    void invalidateToken(String token);
+    void invalidateToken(VerifiedToken token);
 
     /**
      * Checks whether the given token has been invalidated.
@@ -87,23 +83,15 @@ public interface IJwtService {
      */
     boolean isTokenInvalidated(String jti);
 
-
     /**
-     * Gets the token expiration time in milliseconds.
-     *
-     * @return token expiration time in milliseconds
+     * Pulls tokens revoked by other application instances into the local blacklist.
+     * Called periodically, so revocation checks never read the shared store.
      */
-    Instant getTokenExpirationMs(String token);
-
+    void syncRevokedTokens();
 
     /**
-     * Checks if the given token is a refresh token.
-     *
-     * @param token the JWT token
-     * @return true if the token is a refresh token, false otherwise
+     * Rebuilds the membership filter in front of the revocation checks, dropping expired revocations.
      */
-    boolean isRefreshToken(String token);
-
-
+    void rebuildRevocationFilter();
 
 }
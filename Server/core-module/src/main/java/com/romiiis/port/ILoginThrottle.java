@@ -0,0 +1,36 @@
+package com.romiiis.port;
+
+/**
+ * Throttles password login attempts per email address and per client address.
+ * Checked before the password is verified, so repeated bad passwords do not cost a password hash each.
+ *
+ * @author Roman Pejs
+ */
+public interface ILoginThrottle {
+
+    /**
+     * Checks whether login attempts for the email or from the client are currently blocked
+     * because of too many recent failures.
+     *
+     * @param email    email address used for the login
+     * @param clientIp address of the client, may be null if unknown
+     * @return true if the attempt should be rejected without verifying the password
+     */
+    boolean isBlocked(String email, String clientIp);
+
+    /**
+     * Records a failed login attempt, blocking further attempts with an exponentially growing delay
+     * once the allowed number of failures is exceeded.
+     *
+     * @param email    email address used for the login
+     * @param clientIp address of the client, may be null if unknown
+     */
+    void recordFailure(String email, String clientIp);
+
+    /**
+     * Records a successful login, clearing the failures of the email.
+     *
+     * @param email email address used for the login
+     */
+    void recordSuccess(String email);
+}
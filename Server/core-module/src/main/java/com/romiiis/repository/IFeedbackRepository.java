@@ -1,6 +1,8 @@
 package com.romiiis.repository;
 
+import com.romiiis.configuration.BulkWriteResult;
 import com.romiiis.domain.Feedback;
+import com.romiiis.filter.BulkUpdate;
 
 import java.util.List;
 import java.util.UUID;
@@ -24,6 +26,21 @@ public interface IFeedbackRepository {
      */
     void save(Feedback feedback);
 
+    /**
+     * Saves multiple feedback entries using batched writes
+     * @param feedbacks feedback entries to save
+     * @return result with per-batch throughput and failed writes
+     */
+    BulkWriteResult saveAll(List<Feedback> feedbacks);
+
+    /**
+     * Applies the same changes to all feedback of the given projects
+     * @param projectIds IDs of the projects whose feedback is updated
+     * @param update changes to apply
+     * @return result with the number of updated feedback entries
+     */
+    BulkWriteResult updateMany(List<UUID> projectIds, BulkUpdate<Feedback> update);
+
     /**
      * Deletes feedback from the repository
      * @param projectId ID of the project whose feedback is to be deleted
@@ -1,13 +1,16 @@
 package com.romiiis.repository;
 
 
+import com.romiiis.configuration.BulkWriteResult;
 import com.romiiis.domain.WrapperProjectFeedback;
+import com.romiiis.filter.BulkUpdate;
 import com.romiiis.filter.ProjectsFilter;
 import com.romiiis.domain.Project;
 
 import java.sql.Wrapper;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing Project entities.
@@ -21,6 +24,27 @@ public interface IProjectRepository {
      */
     void save(Project project);
 
+    /**
+     * Stores multiple projects using batched writes.
+     * Unlike {@link #save}, the active projects counters of the translators are adjusted
+     * to the changed translators and states of the written projects.
+     *
+     * @param projects projects to store
+     * @return result with per-batch throughput and failed writes
+     */
+    BulkWriteResult saveAll(List<Project> projects);
+
+    /**
+     * Applies the same changes to all projects matching the filter
+     * (the page limit and the feedback presence filter are not applied).
+     * Changes of the state or translator adjust the active projects counters of the translators.
+     *
+     * @param filter projects to update
+     * @param update changes to apply
+     * @return result with the number of updated projects
+     */
+    BulkWriteResult updateMany(ProjectsFilter filter, BulkUpdate<Project> update);
+
     /**
      * Fetches all projects, no matter their state
      *
@@ -28,6 +52,24 @@ public interface IProjectRepository {
      */
     List<Project> getAll(ProjectsFilter filter);
 
+    /**
+     * Streams all projects matching the filter (newest first) without loading them into memory at once.
+     * The stream holds an open database cursor and must be closed by the caller.
+     *
+     * @param filter filter to apply (paging is not applied)
+     * @return lazily fetched projects
+     */
+    Stream<Project> streamAll(ProjectsFilter filter);
+
+    /**
+     * Fetches all projects matching the filter together with their latest feedback
+     * (null if the project has none).
+     *
+     * @param filter filter criteria, including the feedback presence and paging
+     * @return projects with their feedback
+     */
+    List<WrapperProjectFeedback> getAllWithFeedback(ProjectsFilter filter);
+
     /**
      * Finds a project by its ID
      * @param id project ID
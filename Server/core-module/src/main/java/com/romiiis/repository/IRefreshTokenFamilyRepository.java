@@ -0,0 +1,41 @@
+package com.romiiis.repository;
+
+import com.romiiis.security.RefreshTokenFamily;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Repository interface for refresh token families, shared by all application instances.
+ * Families are removed by the storage once their current refresh token expires.
+ *
+ * @author Roman Pejs
+ */
+public interface IRefreshTokenFamilyRepository {
+
+    /**
+     * Stores a new family
+     *
+     * @param family the family
+     */
+    void save(RefreshTokenFamily family);
+
+    /**
+     * Atomically replaces the current refresh token of the family, if the presented one is the current one
+     *
+     * @param familyId     family identifier
+     * @param presentedJti identifier of the refresh token presented by the client
+     * @param nextJti      identifier of the refresh token replacing it
+     * @param expiresAt    expiration time of the replacing refresh token
+     * @return true if rotated, false if the family does not exist or the presented token is not the current one
+     */
+    boolean rotate(String familyId, String presentedJti, String nextJti, Instant expiresAt);
+
+    /**
+     * Removes the family
+     *
+     * @param familyId family identifier
+     * @return the removed family, or empty if it did not exist
+     */
+    Optional<RefreshTokenFamily> remove(String familyId);
+}
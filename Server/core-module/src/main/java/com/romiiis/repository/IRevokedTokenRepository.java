@@ -0,0 +1,38 @@
+package com.romiiis.repository;
+
+import com.romiiis.security.RevokedToken;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for revoked tokens, shared by all application instances.
+ * Revocations are removed by the storage once the token expires.
+ *
+ * @author Roman Pejs
+ */
+public interface IRevokedTokenRepository {
+
+    /**
+     * Stores a revoked token (revoking the same token again is a no-op)
+     *
+     * @param token revoked token
+     */
+    void save(RevokedToken token);
+
+    /**
+     * Checks whether the token is revoked and has not expired yet
+     *
+     * @param jti unique token identifier
+     * @return true if the token is revoked
+     */
+    boolean isRevoked(String jti);
+
+    /**
+     * Fetches revocations of not yet expired tokens made at or after the given time
+     *
+     * @param since lower bound of the revocation time (inclusive)
+     * @return revoked tokens
+     */
+    List<RevokedToken> getRevokedSince(Instant since);
+}
@@ -1,5 +1,7 @@
 package com.romiiis.repository;
 
+import com.romiiis.configuration.BulkWriteResult;
+import com.romiiis.filter.BulkUpdate;
 import com.romiiis.filter.UsersFilter;
 import com.romiiis.domain.User;
 import com.romiiis.domain.UserRole;
@@ -34,6 +36,23 @@ public interface IUserRepository {
      */
     void save(User user);
 
+    /**
+     * Saves multiple users using batched writes
+     *
+     * @param users users to save
+     * @return result with per-batch throughput and failed writes
+     */
+    BulkWriteResult saveAll(List<User> users);
+
+    /**
+     * Applies the same changes to all users matching the filter
+     *
+     * @param filter users to update
+     * @param update changes to apply
+     * @return result with the number of updated users
+     */
+    BulkWriteResult updateMany(UsersFilter filter, BulkUpdate<User> update);
+
 
     /**
      * Fetches a user role by its ID
@@ -82,6 +101,30 @@ public interface IUserRepository {
      */
     List<UUID> getTranslatorsIdsByLanguage(Locale language);
 
+    /**
+     * Atomically adjusts the active projects counter of a translator.
+     *
+     * @param translatorId the UUID of the translator
+     * @param delta        change of the counter (negative to decrease)
+     */
+    void incrementActiveProjects(UUID translatorId, int delta);
+
+    /**
+     * Rebuilds the active projects counters of all translators from the stored projects.
+     *
+     * @return number of translators whose counter was corrected
+     */
+    int reconcileActiveProjects();
+
+    /**
+     * Finds the translator proficient in a specific language with the fewest active
+     * (assigned or completed, not yet approved) projects.
+     *
+     * @param language the target language
+     * @return the least loaded translator, or empty if no translator knows the language
+     */
+    Optional<User> getLeastLoadedTranslator(Locale language);
+
     /**
      * Deletes all users from the repository
      */
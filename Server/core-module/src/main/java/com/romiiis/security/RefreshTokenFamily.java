@@ -0,0 +1,18 @@
+package com.romiiis.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Chain of refresh tokens issued by rotation from a single login.
+ * Only the latest token of the family may be used; presenting an older one means it was stolen
+ * (or replayed), and the whole family is revoked.
+ *
+ * @param familyId   family identifier, carried by every refresh token of the family
+ * @param userId     owner of the family
+ * @param currentJti identifier of the only refresh token of the family that may be used
+ * @param expiresAt  expiration time of the current refresh token, after which the family is removed
+ * @author Roman Pejs
+ */
+public record RefreshTokenFamily(String familyId, UUID userId, String currentJti, Instant expiresAt) {
+}
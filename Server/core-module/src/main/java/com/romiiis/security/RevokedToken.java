@@ -0,0 +1,14 @@
+package com.romiiis.security;
+
+import java.time.Instant;
+
+/**
+ * Revoked (blacklisted) token shared by all application instances.
+ *
+ * @param jti       unique identifier of the revoked token
+ * @param expiresAt expiration time of the token, after which the revocation is no longer needed
+ * @param revokedAt time the token was revoked
+ * @author Roman Pejs
+ */
+public record RevokedToken(String jti, Instant expiresAt, Instant revokedAt) {
+}
@@ -1,4 +1,14 @@
 package com.romiiis.security;
 
+import java.time.Instant;
 
-public record TokenPair(String accessToken, String refreshToken) {}
+/**
+ * Access and refresh tokens issued together, with their expiration times (so they need not be parsed again).
+ *
+ * @param accessToken      signed access token
+ * @param accessExpiresAt  expiration time of the access token
+ * @param refreshToken     signed refresh token
+ * @param refreshExpiresAt expiration time of the refresh token
+ */
+public record TokenPair(String accessToken, Instant accessExpiresAt, String refreshToken, Instant refreshExpiresAt) {
+}
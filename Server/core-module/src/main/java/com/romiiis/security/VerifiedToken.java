@@ -0,0 +1,76 @@
+package com.romiiis.security;
+
+import com.romiiis.domain.UserRole;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Token whose signature, issuer, expiration and revocation were verified.
+ * Returned once by the JWT service, so callers read the claims without parsing the token again.
+ *
+ * @param subject   subject of the token (user ID)
+ * @param jti       unique token identifier
+ * @param type      token type ({@link #TYPE_ACCESS} or {@link #TYPE_REFRESH})
+ * @param expiresAt expiration time
+ * @param claims    all verified claims
+ * @author Roman Pejs
+ */
+public record VerifiedToken(String subject, String jti, String type, Instant expiresAt, Map<String, Object> claims) {
+
+    /**
+     * Claim names
+     */
+    public static final String CLAIM_TYPE = "type";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    public static final String CLAIM_FAMILY = "fam";
+
+    /**
+     * Token types
+     */
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+
+    public VerifiedToken {
+        claims = Map.copyOf(claims);
+    }
+
+    /**
+     * @return subject as user ID
+     */
+    public UUID userId() {
+        return UUID.fromString(subject);
+    }
+
+    /**
+     * @return role carried by the token, empty if the user had no role when the token was issued
+     */
+    public Optional<UserRole> role() {
+        return Optional.ofNullable(claims.get(CLAIM_ROLE)).map(role -> UserRole.valueOf(role.toString()));
+    }
+
+    /**
+     * @return refresh token family of the token, empty for access tokens and refresh tokens issued before rotation
+     */
+    public Optional<String> familyId() {
+        return Optional.ofNullable(claims.get(CLAIM_FAMILY)).map(Object::toString);
+    }
+
+    public boolean isAccessToken() {
+        return TYPE_ACCESS.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return TYPE_REFRESH.equals(type);
+    }
+
+    /**
+     * @return remaining lifetime in milliseconds (0 if already expired)
+     */
+    public long remainingLifetimeMs() {
+        return Math.max(0, expiresAt.toEpochMilli() - Instant.now().toEpochMilli());
+    }
+}
@@ -42,9 +42,10 @@ public interface IAuthService {
      *
      * @param email    Email of the user
      * @param password Plain text password of the user
+     * @param clientIp Address of the client, used to throttle repeated failures (may be null)
      * @return JWT token as a String
      * @throws EmailInUseException if the email is already in use
      */
-    User login(String email, String password) throws EmailInUseException;
+    User login(String email, String password, String clientIp) throws EmailInUseException;
 
 }
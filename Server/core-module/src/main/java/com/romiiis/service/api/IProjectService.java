@@ -10,6 +10,7 @@ import com.romiiis.filter.ProjectsFilter;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Service interface for managing projects.
@@ -86,6 +87,16 @@ public interface IProjectService {
      */
     List<WrapperProjectFeedback> getAllProjectsWithFeedback(ProjectsFilter filter);
 
+    /**
+     * Streams all projects matching the filter for export (only admin can perform this).
+     * The stream must be closed by the caller.
+     *
+     * @param filter the filter criteria for exported projects
+     * @return lazily fetched projects
+     * @throws NoAccessToOperateException if the caller is not an administrator
+     */
+    Stream<Project> exportProjects(ProjectsFilter filter) throws NoAccessToOperateException;
+
     /**
      * Retrieves a project along with its feedback by project ID.
      *
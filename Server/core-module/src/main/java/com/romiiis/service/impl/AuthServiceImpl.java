@@ -7,6 +7,7 @@ import com.romiiis.exception.LoggedByDifferentMethodException;
 import com.romiiis.exception.UserNotFoundException;
 import com.romiiis.repository.IUserRepository;
 import com.romiiis.port.IExecutionContextProvider;
+import com.romiiis.port.ILoginThrottle;
 import com.romiiis.service.api.IAuthService;
 import com.romiiis.port.IPasswordHasher;
 import com.romiiis.service.api.IUserService;
@@ -31,28 +32,38 @@ public class AuthServiceImpl implements IAuthService {
     private final IUserService userService;
     private final IUserRepository userRepository;
     private final IPasswordHasher passwordHasher;
+    private final ILoginThrottle loginThrottle;
     private final IExecutionContextProvider callerContextProvider;
 
     /**
      * Logs in a user with the given email and hashed password.
+     * Attempts for an email or from a client with too many recent failures are rejected
+     * before the password is verified.
      *
      * @param email    the email address of the user
      * @param password the password of the user
+     * @param clientIp the address of the client, may be null if unknown
      * @return the authenticated User
-     * @throws InvalidAuthCredentialsException if the credentials are invalid
+     * @throws InvalidAuthCredentialsException if the credentials are invalid or the attempt is throttled
      * @throws EmailInUseException             if the email is already in use
      */
     @Override
     @Transactional(readOnly = true)
-    public User login(String email, String password) throws EmailInUseException {
+    public User login(String email, String password, String clientIp) throws EmailInUseException {
 
         // validate credentials
         validateEmailForm(email);
 
+        if (loginThrottle.isBlocked(email, clientIp)) {
+            log.warn("Auth failed: Too many failed attempts for email {} or from {}", email, clientIp);
+            throw new InvalidAuthCredentialsException();
+        }
+
         Optional<String> passwordFromDb = userRepository.getUserPasswordHash(email);
 
         if (passwordFromDb.isEmpty()) {
             log.warn("Auth failed: Email {} not found", email);
+            loginThrottle.recordFailure(email, clientIp);
             throw new InvalidAuthCredentialsException();
         }
 
@@ -60,8 +71,10 @@ public class AuthServiceImpl implements IAuthService {
 
         if (!exists) {
             log.warn("Auth failed: Invalid credentials for email {}", email);
+            loginThrottle.recordFailure(email, clientIp);
             throw new InvalidAuthCredentialsException();
         } else {
+            loginThrottle.recordSuccess(email);
 
             return userRepository.getUserByEmail(email).orElseThrow(() -> {
                 log.error("Auth failed: User with email {} not found after successful password verification", email);
@@ -19,7 +19,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Default implementation of the IProjectService interface.
@@ -63,8 +66,13 @@ public class ProjectServiceImpl implements IProjectService {
 
         var newProject = new Project(customer, targetLanguage, sourceFile.resourceName());
 
-        // Store the source file in the filesystem
-        fsService.saveOriginalFile(newProject.getId(), sourceFile.resourceData());
+        // Stream the source file to the filesystem
+        try (InputStream content = sourceFile.openStream()) {
+            fsService.saveOriginalFile(newProject.getId(), content);
+        } catch (IOException e) {
+            log.error("Error reading source file {}: {}", sourceFile.resourceName(), e.getMessage());
+            throw new FileStorageException("Error reading source file " + sourceFile.resourceName());
+        }
 
         // Store the new project in the repository
         projectRepository.save(newProject);
@@ -76,6 +84,7 @@ public class ProjectServiceImpl implements IProjectService {
             User bestTranslator = getBestTranslatorForProject(newProject);
             newProject.assignTranslator(bestTranslator);
             projectRepository.save(newProject);
+            userRepository.incrementActiveProjects(bestTranslator.getId(), 1);
             log.info("Assigned translator with ID {} to project ID {}", bestTranslator.getId(), newProject.getId());
 
             eventPublisher.publish(new TranslatorAssignedToProjectEvent(newProject));
@@ -232,43 +241,15 @@ public class ProjectServiceImpl implements IProjectService {
      * @throws UserNotFoundException if no suitable translator is found
      */
     private User getBestTranslatorForProject(Project project) throws UserNotFoundException {
-        // First get the target language of the project
-        Locale targetLanguage = project.getTargetLanguage();
-
-        // Then get all translators who know this language
-
-        List<UUID> translators = userRepository.getTranslatorsIdsByLanguage(targetLanguage);
+        // Translator who knows the target language and has the least active projects
+        Optional<User> bestTranslator = userRepository.getLeastLoadedTranslator(project.getTargetLanguage());
 
-        // Find the translator with the least number of assigned projects
-        UUID bestTranslatorId = null;
-        int minProjects = Integer.MAX_VALUE;
-
-        for (UUID translatorId : translators) {
-            int projectCount = projectRepository.countProjectsWithTranslator(translatorId);
-            if (projectCount < minProjects) {
-                minProjects = projectCount;
-                bestTranslatorId = translatorId;
-            }
+        if (bestTranslator.isEmpty()) {
+            log.error("No suitable translator found for project ID {}", project.getId());
+            throw new UserNotFoundException("No suitable translator found");
         }
 
-        if (bestTranslatorId != null) {
-            try {
-                UUID finalBestTranslatorId = bestTranslatorId;
-                // Fetch the user by Id from repositor
-                Optional<User> userOpt = userRepository.getUserById(finalBestTranslatorId);
-                if (userOpt.isPresent()) {
-                    return userOpt.get();
-                }
-                throw new UserNotFoundException("Best translator not found");
-
-            } catch (UserNotFoundException e) {
-                log.error("Best translator with ID {} not found", bestTranslatorId);
-                throw new UserNotFoundException("Best translator not found");
-            }
-        }
-
-        log.error("No suitable translator found for project ID {}", project.getId());
-        throw new UserNotFoundException("No suitable translator found");
+        return bestTranslator.get();
     }
 
 
@@ -305,33 +286,28 @@ public class ProjectServiceImpl implements IProjectService {
 
 
 
-        // Get all projects based on the filter
-        List<Project> projects = projectRepository.getAll(filter);
-
-        // For each project, get its feedback wrapper
-        List<Feedback> feedbacks = feedbackRepository.getAllFeedbackForProjectIds(
-                projects.stream().map(Project::getId).toList());
+        // Projects are joined with their feedback (and filtered by it) in the repository
+        return projectRepository.getAllWithFeedback(filter);
 
 
-        List<WrapperProjectFeedback> wrapperProjectFeedbacks = new ArrayList<>();
-        for (Project project : projects) {
-            Feedback feedbackForProject = feedbacks.stream()
-                    .filter(fb -> fb.getProjectId().equals(project.getId()))
-                    .findFirst()
-                    .orElse(null);
-
-            WrapperProjectFeedback wrapper = new WrapperProjectFeedback(project, feedbackForProject);
-            wrapperProjectFeedbacks.add(wrapper);
-        }
+    }
 
-        // Check filter for projects with feedback only
-        if (filter.isHasFeedback()) {
-            wrapperProjectFeedbacks.removeIf(wpf -> wpf.getFeedback() == null);
+    /**
+     * Streams all projects matching the filter for export. Only administrators can export the catalogue.
+     *
+     * @param filter the filter criteria for exported projects
+     * @return lazily fetched projects, must be closed by the caller
+     * @throws NoAccessToOperateException if the caller is not an administrator
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Stream<Project> exportProjects(ProjectsFilter filter) throws NoAccessToOperateException {
+        User caller = fetchUserFromContext();
+        if (caller.getRole() != UserRole.ADMINISTRATOR) {
+            log.error("User with ID {} is not authorized to export projects", caller.getId());
+            throw new NoAccessToOperateException("User is not authorized to export projects");
         }
-
-        return wrapperProjectFeedbacks;
-
-
+        return projectRepository.streamAll(filter);
     }
 
     @Override
@@ -3,22 +3,27 @@ package com.romiiis.service.impl;
 import com.romiiis.configuration.ResourceHeader;
 import com.romiiis.domain.Feedback;
 import com.romiiis.domain.Project;
+import com.romiiis.domain.ProjectState;
 import com.romiiis.domain.User;
 import com.romiiis.domain.UserRole;
 import com.romiiis.event.ProjectApprovedEvent;
 import com.romiiis.event.ProjectClosedEvent;
 import com.romiiis.event.ProjectCompletedEvent;
 import com.romiiis.event.ProjectRejectedEvent;
+import com.romiiis.exception.FileStorageException;
 import com.romiiis.exception.NoAccessToOperateException;
 import com.romiiis.exception.ProjectNotFoundException;
 import com.romiiis.port.IDomainEventPublisher;
 import com.romiiis.port.IFileSystemService;
 import com.romiiis.port.IExecutionContextProvider;
+import com.romiiis.repository.IUserRepository;
 import com.romiiis.service.api.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.UUID;
 
 @Slf4j
@@ -28,6 +33,7 @@ public class ProjectWFServiceImpl implements IProjectWFService {
     private final IFileSystemService fileSystemService;
     private final IProjectService projectService;
     private final IFeedbackService feedbackService;
+    private final IUserRepository userRepository;
     private final IExecutionContextProvider callerContextProvider;
     private final IDomainEventPublisher eventPublisher;
 
@@ -55,12 +61,19 @@ public class ProjectWFServiceImpl implements IProjectWFService {
             throw new NoAccessToOperateException("User is not the assigned translator for this project");
         }
 
-        fileSystemService.saveTranslatedFile(projectId, resHeader.resourceData());
+        try (InputStream content = resHeader.openStream()) {
+            fileSystemService.saveTranslatedFile(projectId, content);
+        } catch (IOException e) {
+            log.error("Error reading translated file {}: {}", resHeader.resourceName(), e.getMessage());
+            throw new FileStorageException("Error reading translated file " + resHeader.resourceName());
+        }
         log.info("Successfully uploaded translated file for project ID: {}", projectId);
 
+        ProjectState previousState = project.getState();
         project.complete(resHeader.resourceName());
 
         projectService.updateProject(project);
+        updateTranslatorWorkload(project, previousState);
 
         log.info("Project ID: {} marked as completed", projectId);
 
@@ -93,9 +106,11 @@ public class ProjectWFServiceImpl implements IProjectWFService {
 
         }
 
+        ProjectState previousState = project.getState();
         project.close();
 
         projectService.updateProject(project);
+        updateTranslatorWorkload(project, previousState);
         log.info("Project ID: {} marked as closed", projectId);
 
         eventPublisher.publish(new ProjectClosedEvent(project));
@@ -124,9 +139,11 @@ public class ProjectWFServiceImpl implements IProjectWFService {
             throw new NoAccessToOperateException("User is not authorized to approve the project");
         }
 
+        ProjectState previousState = project.getState();
         project.approve();
 
         projectService.updateProject(project);
+        updateTranslatorWorkload(project, previousState);
         log.info("Project ID: {} marked as approved", projectId);
 
         eventPublisher.publish(new ProjectApprovedEvent(project));
@@ -160,9 +177,11 @@ public class ProjectWFServiceImpl implements IProjectWFService {
         feedbackService.deleteProjectFeedbackByProjectId(projectId);
 
         // Create feedback
+        ProjectState previousState = project.getState();
         Feedback feedbackObject = project.reject(feedback);
 
         projectService.updateProject(project);
+        updateTranslatorWorkload(project, previousState);
         log.info("Project ID: {} marked as rejected", projectId);
 
         eventPublisher.publish(new ProjectRejectedEvent(project, feedback));
@@ -174,6 +193,19 @@ public class ProjectWFServiceImpl implements IProjectWFService {
         return fetchProject(projectId);
     }
 
+    /**
+     * Adjusts the active projects counter of the project's translator after a state transition.
+     *
+     * @param project       the project after the transition
+     * @param previousState state of the project before the transition
+     */
+    private void updateTranslatorWorkload(Project project, ProjectState previousState) {
+        int delta = ProjectState.workloadDelta(previousState, project.getState());
+        if (delta != 0 && project.getTranslator() != null) {
+            userRepository.incrementActiveProjects(project.getTranslator().getId(), delta);
+        }
+    }
+
     /**
      * Fetches the project by ID and handles not found exception.
      *
@@ -174,4 +174,14 @@ class ProjectTest {
 
         assertThrows(IllegalStateException.class, project::close);
     }
+
+    @DisplayName("workloadDelta should count only assigned and completed projects")
+    @Test
+    void workloadDelta_shouldFollowActiveStates() {
+        assertEquals(1, ProjectState.workloadDelta(ProjectState.CREATED, ProjectState.ASSIGNED));
+        assertEquals(0, ProjectState.workloadDelta(ProjectState.ASSIGNED, ProjectState.COMPLETED));
+        assertEquals(0, ProjectState.workloadDelta(ProjectState.COMPLETED, ProjectState.ASSIGNED));
+        assertEquals(-1, ProjectState.workloadDelta(ProjectState.COMPLETED, ProjectState.APPROVED));
+        assertEquals(0, ProjectState.workloadDelta(ProjectState.APPROVED, ProjectState.CLOSED));
+    }
 }
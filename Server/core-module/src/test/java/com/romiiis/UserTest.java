@@ -124,4 +124,21 @@ class UserTest {
             assertEquals("hashed-pass", result.getHashedPassword());
         }
     }
+
+    @Nested
+    @DisplayName("initializeUser()")
+    class InitializeUserTests {
+
+        @DisplayName("should set the role and bump the token version")
+        @Test
+        void bumpsTokenVersion() {
+            var user = User.createUser("John Doe", "john.doe@example.com", "hashed-pass");
+            int before = user.getTokenVersion();
+
+            user.initializeUser(UserRole.TRANSLATOR, Set.of(Locale.GERMAN));
+
+            assertEquals(UserRole.TRANSLATOR, user.getRole());
+            assertEquals(before + 1, user.getTokenVersion());
+        }
+    }
 }
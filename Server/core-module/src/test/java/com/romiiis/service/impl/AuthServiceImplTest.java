@@ -6,6 +6,7 @@ import com.romiiis.exception.InvalidAuthCredentialsException;
 import com.romiiis.repository.IUserRepository;
 import com.romiiis.port.IExecutionContextProvider;
 import com.romiiis.port.IJwtService;
+import com.romiiis.port.ILoginThrottle;
 import com.romiiis.port.IPasswordHasher;
 import com.romiiis.service.api.IUserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +22,8 @@ import java.util.Set;
 import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,6 +37,8 @@ class AuthServiceImplTest {
     private IJwtService jwtService;
     @Mock
     private IPasswordHasher passwordHasher;
+    @Mock
+    private ILoginThrottle loginThrottle;
 
     @Mock
     private IExecutionContextProvider callerContextProvider;
@@ -46,6 +51,7 @@ class AuthServiceImplTest {
     private User mockTranslator;
     private final String password = "pass123";
     private final String email = "test@example.com";
+    private final String ip = "10.0.0.1";
     private final String hashed = "hashed_pw";
     private final String jwtToken = "jwt_token";
 
@@ -65,7 +71,7 @@ class AuthServiceImplTest {
         when(userRepository.getUserByEmail(email)).thenReturn(Optional.of(mockCustomer));
         when(jwtService.generateToken(mockCustomer.getId())).thenReturn(jwtToken);
 
-        User result = authService.login(email, password);
+        User result = authService.login(email, password, ip);
 
         assert result.equals(mockCustomer);
         verify(passwordHasher).verify(password, hashed);
@@ -77,13 +83,47 @@ class AuthServiceImplTest {
         when(userRepository.getUserPasswordHash(email)).thenReturn(Optional.empty());
 
         try {
-            authService.login(email, password);
+            authService.login(email, password, ip);
             assert false;
         } catch (Exception e) {
             assert e instanceof InvalidAuthCredentialsException;
         }
     }
 
+    @DisplayName("login should reject throttled attempts without verifying the password")
+    @Test
+    void login_shouldThrow_whenThrottled() {
+        when(loginThrottle.isBlocked(email, ip)).thenReturn(true);
+
+        try {
+            authService.login(email, password, ip);
+            assert false;
+        } catch (Exception e) {
+            assert e instanceof InvalidAuthCredentialsException;
+        }
+        verify(passwordHasher, never()).verify(anyString(), anyString());
+        verify(userRepository, never()).getUserPasswordHash(anyString());
+    }
+
+    @DisplayName("login should record failures and clear them on success")
+    @Test
+    void login_shouldRecordAttempts() {
+        when(userRepository.getUserPasswordHash(email)).thenReturn(Optional.of(hashed));
+        when(passwordHasher.verify("wrong", hashed)).thenReturn(false);
+        when(passwordHasher.verify(password, hashed)).thenReturn(true);
+        when(userRepository.getUserByEmail(email)).thenReturn(Optional.of(mockCustomer));
+
+        try {
+            authService.login(email, "wrong", ip);
+            assert false;
+        } catch (InvalidAuthCredentialsException e) {
+            verify(loginThrottle).recordFailure(email, ip);
+        }
+
+        authService.login(email, password, ip);
+        verify(loginThrottle).recordSuccess(email);
+    }
+
     @DisplayName("login should throw InvalidAuthCredentialsException when password invalid")
     @Test
     void login_shouldThrow_whenPasswordInvalid() {
@@ -91,7 +131,7 @@ class AuthServiceImplTest {
         when(passwordHasher.verify(password, hashed)).thenReturn(false);
 
         try {
-            authService.login(email, password);
+            authService.login(email, password, ip);
             assert false;
         } catch (Exception e) {
             assert e instanceof InvalidAuthCredentialsException;
@@ -1,12 +1,23 @@
 package com.romiiis.service.impl;
 
 import com.romiiis.configuration.ResourceHeader;
+import com.romiiis.domain.Feedback;
 import com.romiiis.domain.Project;
+import com.romiiis.domain.ProjectState;
 import com.romiiis.domain.User;
+import com.romiiis.domain.WrapperProjectFeedback;
+import com.romiiis.event.NoTranslatorAssignedToProjectEvent;
+import com.romiiis.event.TranslatorAssignedToProjectEvent;
 import com.romiiis.exception.FileNotFoundException;
 import com.romiiis.exception.FileStorageException;
+import com.romiiis.exception.MyIllegalParametersException;
 import com.romiiis.exception.NoAccessToOperateException;
+import com.romiiis.filter.ProjectsCursor;
+import com.romiiis.filter.ProjectsFilter;
+import com.romiiis.repository.IFeedbackRepository;
 import com.romiiis.repository.IProjectRepository;
+import com.romiiis.repository.IUserRepository;
+import com.romiiis.port.IDomainEventPublisher;
 import com.romiiis.port.IExecutionContextProvider;
 import com.romiiis.port.IFileSystemService;
 import com.romiiis.service.api.IUserService;
@@ -17,15 +28,24 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 class ProjectServiceImplTest {
 
     @Mock private IUserService userService;
     @Mock private IProjectRepository projectRepository;
+    @Mock private IFeedbackRepository feedbackRepository;
+    @Mock private IUserRepository userRepository;
+    @Mock private IDomainEventPublisher eventPublisher;
     @Mock private IFileSystemService fsService;
     @Mock private IExecutionContextProvider callerContextProvider;
 
@@ -232,4 +252,88 @@ class ProjectServiceImplTest {
             assert e instanceof FileStorageException;
         }
     }
+
+    // ---------------------------------------------------------
+    // createProject
+    // ---------------------------------------------------------
+    @DisplayName("New project is assigned to the least loaded translator")
+    @Test
+    void createProjectAssignsLeastLoadedTranslator() throws Exception {
+        asUser(customer);
+        when(userRepository.getLeastLoadedTranslator(Locale.ENGLISH)).thenReturn(Optional.of(translator));
+
+        Project result = projectService.createProject(Locale.ENGLISH, new ResourceHeader("doc.txt", new byte[]{1}));
+
+        assertEquals(translator, result.getTranslator());
+        assertEquals(ProjectState.ASSIGNED, result.getState());
+        verify(eventPublisher).publish(any(TranslatorAssignedToProjectEvent.class));
+        verify(userRepository).incrementActiveProjects(translator.getId(), 1);
+    }
+
+    @DisplayName("New project stays unassigned when no translator knows the language")
+    @Test
+    void createProjectWithoutTranslator() throws Exception {
+        asUser(customer);
+        when(userRepository.getLeastLoadedTranslator(Locale.ENGLISH)).thenReturn(Optional.empty());
+
+        Project result = projectService.createProject(Locale.ENGLISH, new ResourceHeader("doc.txt", new byte[]{1}));
+
+        assertNull(result.getTranslator());
+        assertEquals(ProjectState.CREATED, result.getState());
+        verify(eventPublisher).publish(any(NoTranslatorAssignedToProjectEvent.class));
+    }
+
+    // ---------------------------------------------------------
+    // getAllProjectsWithFeedback
+    // ---------------------------------------------------------
+    @DisplayName("Customer lists only own projects with feedback")
+    @Test
+    void customerListsOwnProjectsWithFeedback() {
+        asUser(customer);
+        var wrapper = new WrapperProjectFeedback(project, new Feedback(project.getId(), "bad"));
+        when(projectRepository.getAllWithFeedback(any())).thenReturn(List.of(wrapper));
+
+        ProjectsFilter filter = new ProjectsFilter().setHasFeedback(true).setLimit(2);
+        List<WrapperProjectFeedback> result = projectService.getAllProjectsWithFeedback(filter);
+
+        assertEquals(List.of(wrapper), result);
+        assertEquals(customer.getId(), filter.getCustomerId());
+        verify(projectRepository).getAllWithFeedback(filter);
+        verifyNoInteractions(feedbackRepository);
+    }
+
+    // ---------------------------------------------------------
+    // exportProjects
+    // ---------------------------------------------------------
+    @DisplayName("Admin can export all projects as a stream")
+    @Test
+    void adminCanExportProjects() {
+        asUser(admin);
+        ProjectsFilter filter = new ProjectsFilter().setStatus(ProjectState.ASSIGNED);
+        when(projectRepository.streamAll(filter)).thenReturn(Stream.of(project));
+
+        try (Stream<Project> result = projectService.exportProjects(filter)) {
+            assertEquals(List.of(project), result.toList());
+        }
+        assertNull(filter.getCustomerId());
+    }
+
+    @DisplayName("Customer cannot export projects")
+    @Test
+    void customerCannotExportProjects() {
+        asUser(customer);
+
+        assertThrows(NoAccessToOperateException.class, () -> projectService.exportProjects(new ProjectsFilter()));
+        verify(projectRepository, never()).streamAll(any());
+    }
+
+    @DisplayName("Cursor survives encode and decode")
+    @Test
+    void cursorRoundTrip() {
+        var cursor = new ProjectsCursor(Instant.ofEpochMilli(1_700_000_000_000L), UUID.randomUUID());
+
+        assertEquals(cursor, ProjectsCursor.decode(cursor.encode()));
+        assertNull(ProjectsCursor.decode(null));
+        assertThrows(MyIllegalParametersException.class, () -> ProjectsCursor.decode("not-a-cursor"));
+    }
 }
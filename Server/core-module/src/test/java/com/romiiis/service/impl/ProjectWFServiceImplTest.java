@@ -3,6 +3,7 @@ package com.romiiis.service.impl;
 import com.romiiis.configuration.ResourceHeader;
 import com.romiiis.domain.Feedback;
 import com.romiiis.domain.Project;
+import com.romiiis.domain.ProjectState;
 import com.romiiis.domain.User;
 import com.romiiis.exception.NoAccessToOperateException;
 import com.romiiis.exception.ProjectNotFoundException;
@@ -10,15 +11,18 @@ import com.romiiis.port.IDomainEventPublisher;
 import com.romiiis.port.IExecutionContextProvider;
 import com.romiiis.service.api.IFeedbackService;
 import com.romiiis.port.IFileSystemService;
+import com.romiiis.repository.IUserRepository;
 import com.romiiis.service.api.IProjectService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 
+import java.io.InputStream;
 import java.util.Locale;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.mockito.Mockito.*;
 
 class ProjectWFServiceImplTest {
@@ -30,6 +34,8 @@ class ProjectWFServiceImplTest {
     @Mock
     private IFeedbackService feedbackService;
     @Mock
+    private IUserRepository userRepository;
+    @Mock
     private IExecutionContextProvider callerContextProvider;
 
     @Mock
@@ -71,7 +77,9 @@ class ProjectWFServiceImplTest {
         Project result = wfService.uploadTranslatedFile(projectId, resourceHeader);
 
         assert result != null;
-        verify(fileSystemService).saveTranslatedFile(eq(projectId), eq(resourceHeader.resourceData()));
+        ArgumentCaptor<InputStream> content = ArgumentCaptor.forClass(InputStream.class);
+        verify(fileSystemService).saveTranslatedFile(eq(projectId), content.capture());
+        assertArrayEquals(resourceHeader.resourceData(), content.getValue().readAllBytes());
         verify(projectService, atLeastOnce()).updateProject(any(Project.class));
     }
 
@@ -89,7 +97,7 @@ class ProjectWFServiceImplTest {
         } catch (Exception e) {
             assert e instanceof NoAccessToOperateException;
         }
-        verify(fileSystemService, never()).saveTranslatedFile(any(), any());
+        verify(fileSystemService, never()).saveTranslatedFile(any(), any(InputStream.class));
     }
 
     @DisplayName("uploadTranslatedFile should throw ProjectNotFoundException when project does not exist")
@@ -149,6 +157,7 @@ class ProjectWFServiceImplTest {
 
         assert result != null;
         verify(projectService).updateProject(any(Project.class));
+        verify(userRepository).incrementActiveProjects(translator.getId(), -1);
     }
 
     @DisplayName("approveProject should throw NoAccessToOperateException for non-owner")
@@ -174,6 +183,7 @@ class ProjectWFServiceImplTest {
 
         when(mockProject.getId()).thenReturn(projectId);
         when(mockProject.getCustomer()).thenReturn(customer);
+        when(mockProject.getState()).thenReturn(ProjectState.COMPLETED);
         when(mockProject.reject(any())).thenReturn(new Feedback(projectId, "Bad translation"));
         when(projectService.getProjectById(projectId)).thenReturn(mockProject);
 
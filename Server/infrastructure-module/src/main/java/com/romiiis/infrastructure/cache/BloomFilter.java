@@ -0,0 +1,125 @@
+package com.romiiis.infrastructure.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter of strings, modelled after Guava's {@code BloomFilter}.
+ * <p>
+ * Answers "definitely not present" or "might be present" with a bounded false-positive probability.
+ * Lookups hash the characters of the key directly, so {@link #mightContain(String)} does not allocate.
+ * The filter is thread-safe; bits are only ever set, so a filter is rebuilt (not cleared) to drop keys.
+ *
+ * @author Roman Pejs
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int numBits;
+    private final int numHashes;
+    private final LongAdder insertions = new LongAdder();
+
+    /**
+     * Constructor
+     *
+     * @param expectedInsertions number of keys the filter is sized for
+     * @param fpp                desired false-positive probability at the expected number of keys
+     */
+    public BloomFilter(int expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive");
+        }
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("False-positive probability must be between 0 and 1");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        this.numBits = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(Long.SIZE, optimalBits));
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+        this.bits = new AtomicLongArray((numBits + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    /**
+     * Adds a key to the filter.
+     *
+     * @param key the key
+     */
+    public void put(String key) {
+        int h1 = hash1(key);
+        int h2 = hash2(key);
+        for (int i = 0; i < numHashes; i++) {
+            int bit = index(h1, h2, i);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+        insertions.increment();
+    }
+
+    /**
+     * Checks whether the key might have been added.
+     *
+     * @param key the key
+     * @return false if the key was definitely not added, true if it might have been
+     */
+    public boolean mightContain(String key) {
+        int h1 = hash1(key);
+        int h2 = hash2(key);
+        for (int i = 0; i < numHashes; i++) {
+            int bit = index(h1, h2, i);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return number of keys added to the filter
+     */
+    public long insertions() {
+        return insertions.sum();
+    }
+
+    /**
+     * @return false-positive probability expected for the current number of keys
+     */
+    public double expectedFpp() {
+        double filled = 1 - Math.exp(-(double) numHashes * insertions() / numBits);
+        return Math.pow(filled, numHashes);
+    }
+
+    /**
+     * Kirsch-Mitzenmacher double hashing: the i-th bit index derived from two hashes.
+     */
+    private int index(int h1, int h2, int i) {
+        return ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+    }
+
+    /**
+     * @return String hash code spread by the MurmurHash3 finalizer
+     */
+    private static int hash1(String key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * @return FNV-1a hash of the key's characters, forced odd so that all indexes differ
+     */
+    private static int hash2(String key) {
+        int h = 0x811c9dc5;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x01000193;
+        }
+        return h | 1;
+    }
+}
@@ -0,0 +1,173 @@
+package com.romiiis.infrastructure.cache;
+
+import com.romiiis.configuration.BulkWriteResult;
+import com.romiiis.domain.User;
+import com.romiiis.domain.UserRole;
+import com.romiiis.filter.BulkUpdate;
+import com.romiiis.filter.UsersFilter;
+import com.romiiis.repository.IUserRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Caching decorator of IUserRepository for the per-request authentication path.
+ * <p>
+ * Users loaded by ID (and their roles) are kept in a bounded cache with a time-to-live, so
+ * steady-state request authentication does no database reads. The cached users never leave the cache:
+ * callers get copies, which they may change before saving without other requests seeing it. Cached users are invalidated
+ * when they are written through this repository; writes made by other application instances
+ * become visible at the latest after the time-to-live.
+ *
+ * @author Roman Pejs
+ */
+public class CachingUserRepository implements IUserRepository {
+
+    private final IUserRepository delegate;
+    private final ExpiringLruCache<UUID, User> usersById;
+
+    /**
+     * Constructor
+     *
+     * @param delegate repository the reads are delegated to on a miss
+     * @param maxSize  maximum number of cached users
+     * @param ttl      time after which a cached user is reloaded
+     */
+    public CachingUserRepository(IUserRepository delegate, int maxSize, Duration ttl) {
+        this.delegate = delegate;
+        this.usersById = new ExpiringLruCache<>(maxSize, ttl);
+    }
+
+    /**
+     * Fetches a user by ID from the cache, loading it on a miss.
+     * Missing users are not cached.
+     *
+     * @param id user ID
+     * @return copy of the user, or empty if it does not exist
+     */
+    @Override
+    public Optional<User> getUserById(UUID id) {
+        return Optional.ofNullable(getCached(id)).map(User::copy);
+    }
+
+    /**
+     * Fetches the role of a user from the cached user.
+     *
+     * @param id user ID
+     * @return the role, or null if the user does not exist
+     */
+    @Override
+    public UserRole getRoleById(UUID id) {
+        User user = getCached(id);
+        return user == null ? null : user.getRole();
+    }
+
+    /**
+     * @param id user ID
+     * @return the cached user (must not be handed out), loaded on a miss, null if it does not exist
+     */
+    private User getCached(UUID id) {
+        return usersById.get(id, key -> delegate.getUserById(key).orElse(null));
+    }
+
+    @Override
+    public void save(User user) {
+        try {
+            delegate.save(user);
+        } finally {
+            usersById.invalidate(user.getId());
+        }
+    }
+
+    @Override
+    public BulkWriteResult saveAll(List<User> users) {
+        try {
+            return delegate.saveAll(users);
+        } finally {
+            users.forEach(user -> usersById.invalidate(user.getId()));
+        }
+    }
+
+    @Override
+    public BulkWriteResult updateMany(UsersFilter filter, BulkUpdate<User> update) {
+        try {
+            return delegate.updateMany(filter, update);
+        } finally {
+            usersById.invalidateAll();
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        try {
+            delegate.deleteAll();
+        } finally {
+            usersById.invalidateAll();
+        }
+    }
+
+    /**
+     * @return hit/miss statistics of the users cache
+     */
+    public ExpiringLruCache.CacheStats getStats() {
+        return usersById.stats();
+    }
+
+    // ----- Not cached -----
+
+    @Override
+    public Optional<User> getUserByEmail(String email) {
+        return delegate.getUserByEmail(email);
+    }
+
+    @Override
+    public Optional<String> getUserPasswordHash(String email) {
+        return delegate.getUserPasswordHash(email);
+    }
+
+    @Override
+    public boolean emailInUse(String email) {
+        return delegate.emailInUse(email);
+    }
+
+    @Override
+    public List<User> getAllUsers(UsersFilter filter) {
+        return delegate.getAllUsers(filter);
+    }
+
+    @Override
+    public List<Locale> getUsersLanguages(UUID userId) {
+        return delegate.getUsersLanguages(userId);
+    }
+
+    @Override
+    public List<UUID> getTranslatorsIdsByLanguage(Locale language) {
+        return delegate.getTranslatorsIdsByLanguage(language);
+    }
+
+    /**
+     * Active projects counters are not part of the domain user, so cached users stay valid.
+     */
+    @Override
+    public void incrementActiveProjects(UUID translatorId, int delta) {
+        delegate.incrementActiveProjects(translatorId, delta);
+    }
+
+    @Override
+    public int reconcileActiveProjects() {
+        return delegate.reconcileActiveProjects();
+    }
+
+    @Override
+    public Optional<User> getLeastLoadedTranslator(Locale language) {
+        return delegate.getLeastLoadedTranslator(language);
+    }
+
+    @Override
+    public boolean loggedUsingOAuth(String email) {
+        return delegate.loggedUsingOAuth(email);
+    }
+}
@@ -0,0 +1,270 @@
+package com.romiiis.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Small bounded in-memory cache with a time-to-live, modelled after Caffeine's
+ * {@code maximumSize} + {@code expireAfterWrite} cache.
+ * <p>
+ * Entries live in a {@link ConcurrentHashMap}, so lookups take no lock; a hit only records its access time.
+ * Entries expire {@code ttl} after they were written. Once the cache is over its size, a single writer
+ * (the others do not wait) removes the expired entries and the least recently accessed ones. Below
+ * {@value #EXACT_EVICTION_SIZE} entries it trims the cache back to its size, which is exact LRU. Above that it
+ * trims {@value #EVICTION_SLACK_PERCENT} % more, so that the scan is amortized over the following writes, and
+ * access times read concurrently make the order approximate.
+ * Hits, misses and evictions are counted for monitoring. Loading happens outside any lock, so concurrent
+ * misses of the same key may both load the value.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author Roman Pejs
+ */
+public class ExpiringLruCache<K, V> {
+
+    /**
+     * Size up to which the cache is trimmed exactly to its maximum size
+     */
+    static final int EXACT_EVICTION_SIZE = 100;
+
+    /**
+     * Part of a larger cache removed beyond its maximum size by one eviction
+     */
+    static final int EVICTION_SLACK_PERCENT = 10;
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    /**
+     * Number of writes, orders accesses recorded at the same ticker time (only read by lookups)
+     */
+    private final AtomicLong writes = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructor
+     *
+     * @param maxSize maximum number of entries
+     * @param ttl     time after which an entry expires
+     */
+    public ExpiringLruCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    /**
+     * Constructor with a custom time source
+     *
+     * @param maxSize maximum number of entries
+     * @param ttl     time after which an entry expires
+     * @param ticker  source of the current time in nanoseconds
+     */
+    public ExpiringLruCache(int maxSize, Duration ttl, LongSupplier ticker) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+    }
+
+    /**
+     * Returns the cached value, or null if it is missing or expired.
+     *
+     * @param key the key
+     * @return cached value or null
+     */
+    public V getIfPresent(K key) {
+        long now = ticker.getAsLong();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.isExpired(now)) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        entry.access(now, writes.get());
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Returns the cached value, loading and caching it on a miss.
+     * Null values returned by the loader are not cached.
+     *
+     * @param key    the key
+     * @param loader computes the value on a miss
+     * @return cached or loaded value, may be null
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = getIfPresent(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Stores a value, replacing the previous one.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        long now = ticker.getAsLong();
+        Entry<V> entry = new Entry<>(value, now + ttlNanos);
+        entry.access(now, writes.getAndIncrement());
+        entries.put(key, entry);
+        if (entries.size() > maxSize) {
+            evict(now);
+        }
+    }
+
+    /**
+     * Removes the value of the key.
+     *
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes all values.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * @return number of cached entries (including not yet removed expired ones)
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return snapshot of the cache statistics
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * Removes the expired entries, then the least recently accessed ones down to the target size.
+     * Skipped if another thread is already evicting.
+     *
+     * @param now current ticker time
+     */
+    private void evict(long now) {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int target = maxSize <= EXACT_EVICTION_SIZE ? maxSize : maxSize - maxSize / 100 * EVICTION_SLACK_PERCENT;
+            // Access times are copied, as lookups keep changing them during the sort
+            List<Candidate<K, V>> live = new ArrayList<>(entries.size());
+            for (Map.Entry<K, Entry<V>> mapping : entries.entrySet()) {
+                Candidate<K, V> candidate = new Candidate<>(mapping.getKey(), mapping.getValue(),
+                        mapping.getValue().accessedAt, mapping.getValue().accessedWrite);
+                if (candidate.entry().isExpired(now)) {
+                    remove(candidate);
+                } else {
+                    live.add(candidate);
+                }
+            }
+            if (live.size() <= target) {
+                return;
+            }
+            live.sort(Comparator.<Candidate<K, V>>comparingLong(Candidate::accessedAt).thenComparingLong(Candidate::accessedWrite));
+            for (Candidate<K, V> candidate : live.subList(0, live.size() - target)) {
+                remove(candidate);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the entry unless it was replaced meanwhile.
+     */
+    private void remove(Candidate<K, V> candidate) {
+        if (entries.remove(candidate.key(), candidate.entry())) {
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Entry considered for eviction, with its access time at the start of the eviction.
+     */
+    private record Candidate<K, V>(K key, Entry<V> entry, long accessedAt, long accessedWrite) {
+    }
+
+    /**
+     * Cached value with its expiration and last access time.
+     */
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long expiresAt;
+
+        /*
+         * Written by lookups without synchronization, they only order entries for eviction
+         */
+        private volatile long accessedAt;
+        private volatile long accessedWrite;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        void access(long now, long write) {
+            accessedAt = now;
+            accessedWrite = write;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    /**
+     * Cache statistics.
+     *
+     * @param hits      number of lookups served from the cache
+     * @param misses    number of lookups not found in the cache
+     * @param evictions number of entries removed because of size or expiration
+     */
+    public record CacheStats(long hits, long misses, long evictions) {
+
+        /**
+         * @return ratio of hits to all lookups (1.0 if there was no lookup)
+         */
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 1.0 : (double) hits / requests;
+        }
+    }
+}
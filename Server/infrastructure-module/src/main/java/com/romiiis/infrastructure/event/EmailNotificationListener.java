@@ -1,6 +1,8 @@
 package com.romiiis.infrastructure.event;
 
+import com.romiiis.domain.User;
 import com.romiiis.event.*;
+import com.romiiis.port.IExecutionContextProvider;
 import com.romiiis.port.IMailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +19,7 @@ public class EmailNotificationListener {
 
     // Services
     private final IMailService emailService;
+    private final IExecutionContextProvider callerContextProvider;
 
     // Email templates
     @Value("${mail.template.approved.subject}")
@@ -91,7 +94,7 @@ public class EmailNotificationListener {
                 event.text()
         );
 
-        log.info("Sending admin message email for project id: {}", event.project().getId());
+        log.info("Sending admin message email for project id: {}, triggered by {}", event.project().getId(), triggeredBy());
 
         // Send emails based on event flags
         if (event.sendToCustomer()) {
@@ -117,7 +120,7 @@ public class EmailNotificationListener {
         String subject = String.format(approvedSubjectTemplate, event.project().getOriginalFileName());
         String body = String.format(approvedBodyTemplate, event.project().getOriginalFileName());
 
-        log.info("Sending project approved email for project id: {}", event.project().getId());
+        log.info("Sending project approved email for project id: {}, triggered by {}", event.project().getId(), triggeredBy());
 
         emailService.sendEmailToTranslator(event.project(), subject, body);
     }
@@ -134,7 +137,7 @@ public class EmailNotificationListener {
         String subject = String.format(rejectedSubjectTemplate, event.project().getOriginalFileName());
         String body = String.format(rejectedBodyTemplate, event.project().getOriginalFileName(), event.reason());
 
-        log.info("Sending project rejected email for project id: {}", event.project().getId());
+        log.info("Sending project rejected email for project id: {}, triggered by {}", event.project().getId(), triggeredBy());
 
         emailService.sendEmailToTranslator(event.project(), subject, body);
     }
@@ -145,7 +148,7 @@ public class EmailNotificationListener {
         String subject = String.format(completedSubjectTemplate, event.project().getOriginalFileName());
         String body = String.format(completedBodyTemplate, event.project().getOriginalFileName());
 
-        log.info("Sending project completed email for project id: {}", event.project().getId());
+        log.info("Sending project completed email for project id: {}, triggered by {}", event.project().getId(), triggeredBy());
 
         emailService.sendEmailToCustomer(event.project(), subject, body);
     }
@@ -157,7 +160,7 @@ public class EmailNotificationListener {
         String subject = String.format(closedSubjectTemplate, event.project().getOriginalFileName());
         String body = String.format(closedBodyTemplate, event.project().getOriginalFileName());
 
-        log.info("Sending project closed email for project id: {}", event.project().getId());
+        log.info("Sending project closed email for project id: {}, triggered by {}", event.project().getId(), triggeredBy());
 
         emailService.sendEmailToCustomer(event.project(), subject, body);
         emailService.sendEmailToTranslator(event.project(), subject, body);
@@ -170,7 +173,7 @@ public class EmailNotificationListener {
         String subject = String.format(translatorAssignedSubjectTemplate, event.project().getOriginalFileName());
         String body = String.format(translatorAssignedBodyTemplate, event.project().getOriginalFileName());
 
-        log.info("Sending new project assignment email for project id: {}", event.project().getId());
+        log.info("Sending new project assignment email for project id: {}, triggered by {}", event.project().getId(), triggeredBy());
 
         emailService.sendEmailToTranslator(event.project(), subject, body);
 
@@ -189,13 +192,20 @@ public class EmailNotificationListener {
         String subject = String.format(newProjectNoTranslatorSubjectTemplate, event.project().getOriginalFileName());
         String body = String.format(newProjectNoTranslatorBodyTemplate, event.project().getOriginalFileName());
 
-        log.info("Sending new project (no translator) email for project id: {}", event.project().getId());
+        log.info("Sending new project (no translator) email for project id: {}, triggered by {}", event.project().getId(), triggeredBy());
 
         emailService.sendEmailToCustomer(event.project(), subject, body);
     }
 
 
-
-
-
+    /**
+     * Returns who triggered the email; the listeners run asynchronously, the caller of the publishing request
+     * is propagated to them by the task executor.
+     *
+     * @return ID of the calling user, or "system"
+     */
+    private String triggeredBy() {
+        User caller = callerContextProvider.getCaller();
+        return caller == null ? "system" : caller.getId().toString();
+    }
 }
@@ -0,0 +1,304 @@
+package com.romiiis.infrastructure.file;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressable store of immutable blobs, keyed by the SHA-256 digest of their content.
+ * <p>
+ * Blobs are stored in directories sharded by the first two bytes of the digest
+ * ({@code ab/cd/abcd...}). A file referencing a blob is a hard link to it, so storing the same content
+ * again costs no disk space, and the link count of a blob is its reference count, kept by the file system
+ * itself: deleting a referencing file releases the reference, and no count can drift after a crash.
+ * <p>
+ * Garbage collection deletes blobs whose only link is the blob itself. Linking and collecting exclude
+ * each other within one instance, and a collected blob that got linked anyway stays readable through its links,
+ * so collection never loses referenced content. Instances sharing the store do not exclude each other: a new
+ * blob is linked at its target before it is moved in place, so it is never seen unreferenced, and an existing
+ * blob collected by another instance before it gets linked is stored again from the uploaded content. Where
+ * hard links are not supported, files get a copy of the blob instead.
+ *
+ * @author Roman Pejs
+ */
+@Slf4j
+public class BlobStore {
+
+    private static final String TEMP_DIRECTORY = "tmp";
+    private static final String PART_SUFFIX = ".part";
+    private static final int STORE_ATTEMPTS = 3;
+
+    private final Path root;
+
+    /**
+     * Age after which a temporary file is considered abandoned
+     */
+    private final Duration tempRetention;
+
+    /**
+     * Linking holds the read lock, collecting a blob the write lock
+     */
+    private final ReadWriteLock linkLock = new ReentrantReadWriteLock();
+
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder collected = new LongAdder();
+
+    /**
+     * Constructor
+     *
+     * @param root          directory of the store, must be on the same file system as the referencing files
+     * @param tempRetention age after which abandoned temporary files are deleted by the collection
+     */
+    public BlobStore(Path root, Duration tempRetention) {
+        this.root = root;
+        this.tempRetention = tempRetention;
+    }
+
+    /**
+     * Stores the content and places a reference to it at the target, replacing the target atomically.
+     * <p>
+     * The content is streamed into a temporary file while being digested; if a blob with the same digest
+     * already exists, the temporary file is dropped and the existing blob is referenced. If the existing blob
+     * is collected by another instance before it gets linked, the temporary file is stored as the blob again.
+     *
+     * @param content stream of the content, read to its end but not closed
+     * @param target  file to reference the blob from
+     * @return hex SHA-256 digest of the content
+     * @throws IOException if the content cannot be stored
+     */
+    public String store(InputStream content, Path target) throws IOException {
+        Path temp = Files.createTempFile(Files.createDirectories(root.resolve(TEMP_DIRECTORY)), "blob", PART_SUFFIX);
+        try {
+            MessageDigest digest = sha256();
+            Files.copy(new DigestInputStream(content, digest), temp, StandardCopyOption.REPLACE_EXISTING);
+            String hex = HexFormat.of().formatHex(digest.digest());
+            Path blob = blobPath(hex);
+
+            linkLock.readLock().lock();
+            try {
+                boolean linked = false;
+                for (int attempt = 0; attempt < STORE_ATTEMPTS; attempt++) {
+                    if (Files.exists(blob)) {
+                        try {
+                            link(blob, target);
+                            deduplicated.increment();
+                            return hex;
+                        } catch (NoSuchFileException e) {
+                            log.debug("Blob {} collected by another instance, storing it again", hex);
+                            continue;
+                        }
+                    }
+                    if (!linked) {
+                        // Referenced before it is in place, so another instance never sees it unreferenced
+                        link(temp, target);
+                        linked = true;
+                    }
+                    Files.createDirectories(blob.getParent());
+                    if (moveNew(temp, blob)) {
+                        stored.increment();
+                        return hex;
+                    }
+                }
+                // Still racing with other instances, keep the content in a file of its own
+                if (!linked) {
+                    link(temp, target);
+                }
+            } finally {
+                linkLock.readLock().unlock();
+            }
+            return hex;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Deletes blobs no longer referenced by any file and abandoned temporary files.
+     *
+     * @return number of deleted blobs
+     * @throws IOException if the store cannot be listed
+     */
+    public int collectGarbage() throws IOException {
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        deleteAbandonedTempFiles();
+
+        AtomicInteger deleted = new AtomicInteger();
+        try {
+            Files.walkFileTree(root, EnumSet.noneOf(FileVisitOption.class), 3, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    return dir.equals(root.resolve(TEMP_DIRECTORY))
+                            ? FileVisitResult.SKIP_SUBTREE
+                            : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (isBlob(file) && deleteIfUnreferenced(file)) {
+                        deleted.incrementAndGet();
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) throws IOException {
+                    // Collected by another instance meanwhile
+                    if (e instanceof NoSuchFileException) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    throw e;
+                }
+            });
+        } catch (UnsupportedOperationException e) {
+            log.warn("Link counts are not supported by the file system, blobs are not collected");
+        }
+        collected.add(deleted.get());
+        return deleted.get();
+    }
+
+    /**
+     * @return snapshot of the store statistics
+     */
+    public BlobStats getStats() {
+        return new BlobStats(stored.sum(), deduplicated.sum(), collected.sum());
+    }
+
+    /**
+     * Path of the blob with the given digest.
+     *
+     * @param digest hex digest of the blob
+     * @return path of the blob
+     */
+    Path blobPath(String digest) {
+        return root.resolve(digest.substring(0, 2)).resolve(digest.substring(2, 4)).resolve(digest);
+    }
+
+    /**
+     * Links the blob at the target through a temporary link moved in place of the target.
+     */
+    private void link(Path blob, Path target) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + "-" + UUID.randomUUID() + PART_SUFFIX);
+        try {
+            try {
+                Files.createLink(temp, blob);
+            } catch (UnsupportedOperationException e) {
+                Files.copy(blob, temp);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Moves the file to a path no other file exists at, keeping the existing file if stored concurrently.
+     *
+     * @return true if moved, false if the existing file was kept
+     */
+    private static boolean moveNew(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            // Same content stored concurrently
+            log.debug("Blob {} already stored", target.getFileName());
+            return false;
+        }
+    }
+
+    /**
+     * Deletes the blob if it is its only link.
+     */
+    private boolean deleteIfUnreferenced(Path blob) throws IOException {
+        linkLock.writeLock().lock();
+        try {
+            if ((Integer) Files.getAttribute(blob, "unix:nlink") > 1) {
+                return false;
+            }
+            Files.delete(blob);
+            log.debug("Collected blob {}", blob.getFileName());
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        } finally {
+            linkLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Deletes temporary files left behind by interrupted uploads.
+     */
+    private void deleteAbandonedTempFiles() throws IOException {
+        Path tempDir = root.resolve(TEMP_DIRECTORY);
+        if (!Files.isDirectory(tempDir)) {
+            return;
+        }
+        Instant threshold = Instant.now().minus(tempRetention);
+        try (Stream<Path> temps = Files.list(tempDir)) {
+            for (Path temp : (Iterable<Path>) temps::iterator) {
+                BasicFileAttributes attrs;
+                try {
+                    attrs = Files.readAttributes(temp, BasicFileAttributes.class);
+                } catch (NoSuchFileException e) {
+                    // Upload finished meanwhile
+                    continue;
+                }
+                if (attrs.lastModifiedTime().toInstant().isBefore(threshold)) {
+                    Files.deleteIfExists(temp);
+                    log.info("Deleted abandoned temporary file {}", temp.getFileName());
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that the path is a blob: a regular file in a shard directory.
+     */
+    private boolean isBlob(Path path) {
+        return root.relativize(path).getNameCount() == 3 && Files.isRegularFile(path);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Blob store statistics.
+     *
+     * @param stored       number of blobs stored
+     * @param deduplicated number of stores that referenced an existing blob
+     * @param collected    number of blobs deleted by garbage collection
+     */
+    public record BlobStats(long stored, long deduplicated, long collected) {
+    }
+}
@@ -0,0 +1,357 @@
+package com.romiiis.infrastructure.file;
+
+import com.romiiis.configuration.ResourceHeader;
+import com.romiiis.exception.FileNotFoundException;
+import com.romiiis.exception.FileStorageException;
+import com.romiiis.port.IFileSystemService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * File system service decorator compressing project files at rest.
+ * <p>
+ * Every file is framed while it is streamed to the decorated service, gzip-compressed when compression
+ * is enabled and stored as is (identity codec) otherwise:
+ * <pre>
+ *     "PIAZ" | codec (1 byte) | reserved (3 bytes) | data | decoded length (8 bytes)
+ * </pre>
+ * As new files are always framed, the codec is never guessed from the user's data, and compression can be
+ * switched on and off at any time. Files stored before the framing was introduced are read as they are;
+ * such a file is only taken as framed when the whole frame is consistent (known codec, zero reserved bytes,
+ * decoded length matching the data, and for gzip the member's own magic and length), so user data that
+ * merely starts with the magic is never decoded. Framed files are returned with their
+ * {@link ResourceHeader.Encoding}, so the API layer can send the stored data as is (the gzip member to clients
+ * accepting it); their content source decodes while streaming.
+ *
+ * @author Roman Pejs
+ */
+@Slf4j
+public class CompressingFileSystemService implements IFileSystemService {
+
+    private static final byte[] MAGIC = {'P', 'I', 'A', 'Z'};
+    private static final byte CODEC_IDENTITY = 0;
+    private static final byte CODEC_GZIP = 1;
+    static final int HEADER_LENGTH = 8;
+    static final int TRAILER_LENGTH = Long.BYTES;
+
+    private final IFileSystemService delegate;
+
+    /**
+     * Whether new files are compressed, otherwise they are framed with the identity codec
+     */
+    private final boolean compress;
+
+    /**
+     * Deflate compression level (0-9)
+     */
+    private final int level;
+
+    /**
+     * Constructor
+     *
+     * @param delegate decorated file system service
+     * @param compress whether new files are compressed (files are framed and compressed files read either way)
+     * @param level    compression level (0-9)
+     */
+    public CompressingFileSystemService(IFileSystemService delegate, boolean compress, int level) {
+        this.delegate = delegate;
+        this.compress = compress;
+        this.level = level;
+    }
+
+    @Override
+    public void saveOriginalFile(UUID projectId, InputStream content) throws FileStorageException {
+        try (InputStream encoded = encode(content)) {
+            delegate.saveOriginalFile(projectId, encoded);
+        } catch (IOException e) {
+            log.error("Error encoding original file for project {}: {}", projectId, e.getMessage());
+            throw new FileStorageException("Error encoding original file for project " + projectId);
+        }
+    }
+
+    @Override
+    public void saveTranslatedFile(UUID projectId, InputStream content) throws FileStorageException {
+        try (InputStream encoded = encode(content)) {
+            delegate.saveTranslatedFile(projectId, encoded);
+        } catch (IOException e) {
+            log.error("Error encoding translated file for project {}: {}", projectId, e.getMessage());
+            throw new FileStorageException("Error encoding translated file for project " + projectId);
+        }
+    }
+
+    @Override
+    public ResourceHeader getTranslatedFile(UUID projectId) throws FileNotFoundException, FileStorageException {
+        return decode(delegate.getTranslatedFile(projectId));
+    }
+
+    @Override
+    public ResourceHeader getOriginalFile(UUID projectId) throws FileNotFoundException, FileStorageException {
+        return decode(delegate.getOriginalFile(projectId));
+    }
+
+    @Override
+    public int collectGarbage() throws FileStorageException {
+        return delegate.collectGarbage();
+    }
+
+    @Override
+    public List<String> listAllProjectFolders() throws FileStorageException {
+        return delegate.listAllProjectFolders();
+    }
+
+    @Override
+    public void deleteProjectFolder(String projectIdString) throws FileStorageException {
+        delegate.deleteProjectFolder(projectIdString);
+    }
+
+    /**
+     * Frames the content, gzip-encoded if compression is enabled; the decoded length is appended once
+     * the content is read.
+     *
+     * @param content content to store
+     * @return stream of the framed file
+     */
+    private InputStream encode(InputStream content) {
+        InputStream data;
+        LongSupplier decodedLength;
+        if (compress) {
+            GzipEncodingInputStream gzip = new GzipEncodingInputStream(content, level);
+            data = gzip;
+            decodedLength = gzip::bytesRead;
+        } else {
+            CountingInputStream counting = new CountingInputStream(content);
+            data = counting;
+            decodedLength = counting::bytesRead;
+        }
+        byte[] header = Arrays.copyOf(MAGIC, HEADER_LENGTH);
+        header[MAGIC.length] = compress ? CODEC_GZIP : CODEC_IDENTITY;
+
+        Iterator<Supplier<InputStream>> parts = List.<Supplier<InputStream>>of(
+                () -> new ByteArrayInputStream(header),
+                () -> data,
+                () -> new ByteArrayInputStream(ByteBuffer.allocate(TRAILER_LENGTH).putLong(decodedLength.getAsLong()).array())
+        ).iterator();
+        return new SequenceInputStream(new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return parts.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                return parts.next().get();
+            }
+        });
+    }
+
+    /**
+     * Reads the framing of the stored file, returning the header of the decoded resource.
+     *
+     * @param stored header of the stored file
+     * @return header of the decoded resource, the stored header if the file is not framed
+     */
+    private ResourceHeader decode(ResourceHeader stored) throws FileStorageException {
+        Path file = stored.file();
+        if (file == null) {
+            return stored;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_LENGTH + TRAILER_LENGTH) {
+                return stored;
+            }
+            ByteBuffer header = readFully(channel, HEADER_LENGTH, 0);
+            if (!Arrays.equals(header.array(), 0, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+                return stored;
+            }
+            long length = size - HEADER_LENGTH - TRAILER_LENGTH;
+            long decodedLength = readFully(channel, TRAILER_LENGTH, size - TRAILER_LENGTH).getLong(0);
+            ResourceHeader.Encoding encoding = readEncoding(channel, header, length, decodedLength);
+            if (encoding == null) {
+                // Stored before the framing, the data itself starts with the magic
+                log.debug("File {} starts with the frame magic but is not framed, read as it is", file);
+                return stored;
+            }
+            return new ResourceHeader(stored.resourceName(), () -> openDecoded(file, encoding), file,
+                    stored.digest(), encoding);
+        } catch (IOException e) {
+            log.error("Error reading file {}: {}", file, e.getMessage());
+            throw new FileStorageException("Error reading file " + stored.resourceName());
+        }
+    }
+
+    /**
+     * Checks the frame of a file starting with the magic, and returns the encoding it describes.
+     *
+     * @param channel       channel of the file
+     * @param header        header of the file
+     * @param length        length of the data between the header and the trailer
+     * @param decodedLength decoded length stored in the trailer
+     * @return encoding of the data, null if the frame is not consistent (the file is not framed)
+     */
+    private static ResourceHeader.Encoding readEncoding(FileChannel channel, ByteBuffer header, long length,
+                                                        long decodedLength) throws IOException {
+        for (int i = MAGIC.length + 1; i < HEADER_LENGTH; i++) {
+            if (header.get(i) != 0) {
+                return null;
+            }
+        }
+        switch (header.get(MAGIC.length)) {
+            case CODEC_IDENTITY:
+                return decodedLength == length
+                        ? new ResourceHeader.Encoding(ResourceHeader.Encoding.IDENTITY, HEADER_LENGTH, length, decodedLength)
+                        : null;
+            case CODEC_GZIP:
+                // Smallest member is 20 bytes: 10 bytes of header, an empty block, CRC-32 and length
+                if (length < 20 || decodedLength < 0) {
+                    return null;
+                }
+                ByteBuffer magic = readFully(channel, 2, HEADER_LENGTH);
+                ByteBuffer size = readFully(channel, Integer.BYTES, HEADER_LENGTH + length - Integer.BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN);
+                // The member ends with the decoded length modulo 2^32
+                return (magic.get(0) & 0xff) == 0x1f && (magic.get(1) & 0xff) == 0x8b
+                        && size.getInt(0) == (int) decodedLength
+                        ? new ResourceHeader.Encoding("gzip", HEADER_LENGTH, length, decodedLength)
+                        : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Opens a stream decoding the data of the file.
+     */
+    private static InputStream openDecoded(Path file, ResourceHeader.Encoding encoding) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ).position(encoding.offset());
+        InputStream coded = new LimitedInputStream(Channels.newInputStream(channel), encoding.length());
+        if (encoding.isIdentity()) {
+            return coded;
+        }
+        try {
+            return new GZIPInputStream(coded, 8192);
+        } catch (IOException e) {
+            coded.close();
+            throw e;
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, int length, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Stream counting the bytes read from the underlying stream.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long bytesRead;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                bytesRead++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                bytesRead += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            bytesRead += skipped;
+            return skipped;
+        }
+
+        long bytesRead() {
+            return bytesRead;
+        }
+    }
+
+    /**
+     * Stream reading at most the given number of bytes of the underlying stream.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+    }
+}
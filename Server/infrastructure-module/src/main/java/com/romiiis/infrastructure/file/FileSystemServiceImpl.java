@@ -5,13 +5,17 @@ import com.romiiis.exception.FileNotFoundException;
 import com.romiiis.exception.FileStorageException;
 import com.romiiis.port.IFileSystemService;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
@@ -31,9 +35,19 @@ import java.util.UUID;
  *     </ul>
  * <p>
  *     Original names are saved in the database associated with the project entity.
- *     After getting the files, the service returns them as Resource objects for further processing.
+ *     After getting the files, the service returns them as file-backed resource headers, read only
+ *     when (and as) the content is sent.
  *     Responsibility of handling and naming file have the API layer.
  * </p>
+ * <p>
+ *     The content of the files is kept in a {@link BlobStore} ("blobs" next to the projects directory),
+ *     the project files are links to its blobs, so a document uploaded for several projects is stored once.
+ *     Files are streamed to the store and linked in place once complete, so uploads are never buffered
+ *     in memory and readers never see a partially written file.
+ *     The SHA-256 digest of the content is stored next to the file ("&lt;name&gt;.sha256", with the size
+ *     and modification time of the file it was computed for), so it can be served as an entity tag
+ *     without reading the file again.
+ * </p>
  *
  */
 @Slf4j
@@ -45,25 +59,42 @@ public class FileSystemServiceImpl implements IFileSystemService {
      */
     private final String projectsDirectory = "/files";
 
+    /**
+     * Directory of the blobs holding the content of the files
+     */
+    private final String blobsDirectory = "/blobs";
+
     /**
      * File name prefixes
      */
     private final String originalFileName = "original";
     private final String translatedFileName = "translated";
 
+    /**
+     * Suffix of the file holding the digest of a file
+     */
+    private final String digestSuffix = ".sha256";
+
+    /**
+     * Store of the file contents
+     */
+    private final BlobStore blobStore;
+
     public FileSystemServiceImpl(String fileSystemRoot) {
         this.rootPath = fileSystemRoot + projectsDirectory;
+        this.blobStore = new BlobStore(Paths.get(System.getProperty("user.dir"), fileSystemRoot + blobsDirectory),
+                Duration.ofHours(1));
     }
     /**
      * Saves the original file for a given project.
      *
      * @param projectId The ID of the project.
-     * @param fileData  The byte array of the file data.
+     * @param content   The stream of the file data.
      * @throws FileStorageException File storage exception during operation (custom)
      */
     @Override
-    public void saveOriginalFile(UUID projectId, byte[] fileData) throws FileStorageException {
-        saveFile(projectId.toString(), originalFileName, fileData);
+    public void saveOriginalFile(UUID projectId, InputStream content) throws FileStorageException {
+        saveFile(projectId.toString(), originalFileName, content);
 
     }
 
@@ -71,12 +102,12 @@ public class FileSystemServiceImpl implements IFileSystemService {
      * Saves the translated file for a given project.
      *
      * @param projectId The ID of the project.
-     * @param fileData  The byte array of the translated file data.
+     * @param content   The stream of the translated file data.
      * @throws FileStorageException File storage exception during operation (custom)
      */
     @Override
-    public void saveTranslatedFile(UUID projectId, byte[] fileData) throws FileStorageException {
-        saveFile(projectId.toString(), translatedFileName, fileData);
+    public void saveTranslatedFile(UUID projectId, InputStream content) throws FileStorageException {
+        saveFile(projectId.toString(), translatedFileName, content);
 
     }
 
@@ -84,47 +115,28 @@ public class FileSystemServiceImpl implements IFileSystemService {
      * Retrieves the original file for a given project.
      *
      * @param projectId The ID of the project.
-     * @return The Resource representing the original file.
+     * @return The file-backed header of the original file.
      * @throws FileNotFoundException File not found exception (custom)
      * @throws FileStorageException  File storage exception during operation (custom)
      */
     @Override
     public ResourceHeader getOriginalFile(UUID projectId) throws FileNotFoundException, FileStorageException {
-
-        Resource res = getFile(projectId.toString(), originalFileName);
-        try {
-            if (!res.exists()) {
-                log.warn("Original file not found for project {}: {}", projectId, originalFileName);
-                throw new FileNotFoundException("Original file not found for project " + projectId);
-            }
-            return new ResourceHeader(res.getFilename(), res.getContentAsByteArray());
-        } catch (Exception e) {
-            log.error("Error accessing original file for project {}: {}", projectId, e.getMessage());
-            throw new FileStorageException("Error accessing original file for project " + projectId);
-        }
+        Path filePath = getFile(projectId.toString(), originalFileName);
+        return ResourceHeader.ofFile(originalFileName, filePath, readDigest(filePath));
     }
 
     /**
      * Retrieves the translated file for a given project.
      *
      * @param projectId The ID of the project.
-     * @return The Resource representing the translated file.
+     * @return The file-backed header of the translated file.
      * @throws FileNotFoundException File not found exception (custom)
      * @throws FileStorageException  File storage exception during operation (custom)
      */
     @Override
     public ResourceHeader getTranslatedFile(UUID projectId) throws FileNotFoundException, FileStorageException {
-        Resource res = getFile(projectId.toString(), translatedFileName);
-        try {
-            if (!res.exists()) {
-                log.warn("Translated file not found for project {}", projectId);
-                throw new FileNotFoundException("Translated file not found for project " + projectId);
-            }
-            return new ResourceHeader(res.getFilename(), res.getContentAsByteArray());
-        } catch (Exception e) {
-            log.error("Error accessing translated file for project {}: {}", projectId, e.getMessage());
-            throw new FileStorageException("Error accessing translated file for project " + projectId);
-        }
+        Path filePath = getFile(projectId.toString(), translatedFileName);
+        return ResourceHeader.ofFile(translatedFileName, filePath, readDigest(filePath));
     }
 
 
@@ -159,38 +171,89 @@ public class FileSystemServiceImpl implements IFileSystemService {
      *
      * @param projectId the project ID
      * @param fileName  the name of the file to save
-     * @param fileData  the file data as a byte array
+     * @param content   the stream of the file data
      */
-    private void saveFile(String projectId, String fileName, byte[] fileData) throws FileStorageException {
+    private void saveFile(String projectId, String fileName, InputStream content) throws FileStorageException {
         // Find the project directory
         Path projectDir = getProjectDir(projectId);
 
+        Path tempDigestPath = null;
         try {
             // Save the file
             Files.createDirectories(projectDir);
 
-            // Write the file data to the specified file
+            // Stream the data into the blob store and link the blob in place of the specified file
             Path filePath = projectDir.resolve(fileName);
-
-            // Write the file data
-            Files.write(filePath, fileData);
+            String digest = blobStore.store(content, filePath);
+
+            // Store the digest for the file
+            BasicFileAttributes attrs = Files.readAttributes(filePath, BasicFileAttributes.class);
+            String digestLine = digest + " " + attrs.size() + " " + attrs.lastModifiedTime().toMillis();
+            tempDigestPath = Files.createTempFile(projectDir, fileName + digestSuffix, ".part");
+            Files.writeString(tempDigestPath, digestLine, StandardCharsets.US_ASCII);
+            Files.move(tempDigestPath, projectDir.resolve(fileName + digestSuffix),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
         } catch (IOException e) {
             log.error("Error saving file {} for project {}: {}", fileName, projectId, e.getMessage());
+            deleteQuietly(tempDigestPath);
             throw new FileStorageException("Error saving file " + fileName + " for project " + projectId);
         }
 
 
     }
 
+    /**
+     * Reads the stored digest of the file.
+     * <p>
+     * The digest is only returned if it was computed for the current file (same size and modification time),
+     * so a digest left by an interrupted or concurrent write is never served with other content.
+     *
+     * @param filePath the file
+     * @return hex SHA-256 digest of the file, or null if it is not known
+     */
+    private String readDigest(Path filePath) {
+        Path digestPath = filePath.resolveSibling(filePath.getFileName() + digestSuffix);
+        try {
+            String[] parts = Files.readString(digestPath, StandardCharsets.US_ASCII).trim().split(" ");
+            BasicFileAttributes attrs = Files.readAttributes(filePath, BasicFileAttributes.class);
+            if (parts.length == 3 && Long.parseLong(parts[1]) == attrs.size()
+                    && Long.parseLong(parts[2]) == attrs.lastModifiedTime().toMillis()) {
+                return parts[0];
+            }
+            log.warn("Stored digest of file {} does not match the file", filePath);
+        } catch (NoSuchFileException e) {
+            log.debug("No stored digest of file {}", filePath);
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Error reading digest of file {}: {}", filePath, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Deletes the file if it exists, only logging a failure.
+     *
+     * @param filePath the file to delete, can be null
+     */
+    private void deleteQuietly(Path filePath) {
+        if (filePath == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(filePath);
+        } catch (IOException e) {
+            log.error("Error deleting file {}: {}", filePath, e.getMessage());
+        }
+    }
+
 
     /**
      * Retrieves a file from the specified project directory based on the given prefix.
      *
      * @param projectId     the project ID
      * @param savedFileName the name of the file to retrieve
-     * @return the Resource representing the file, or null if not found
+     * @return the path of the file
      */
-    private Resource getFile(String projectId, String savedFileName) throws FileNotFoundException, FileStorageException {
+    private Path getFile(String projectId, String savedFileName) throws FileNotFoundException, FileStorageException {
 
         Path projectDir = getProjectDir(projectId);
         if (!Files.exists(projectDir)) {
@@ -204,11 +267,36 @@ public class FileSystemServiceImpl implements IFileSystemService {
             throw new FileNotFoundException("File not found for project " + projectId);
 
         } else {
-            return new FileSystemResource(filePath.toFile());
+            return filePath;
         }
 
     }
 
+    /**
+     * Deletes the blobs no longer linked from any project file.
+     *
+     * @return number of deleted blobs
+     * @throws FileStorageException if an error occurs while accessing the file system
+     */
+    @Override
+    public int collectGarbage() throws FileStorageException {
+        try {
+            int deleted = blobStore.collectGarbage();
+            log.info("Collected {} unreferenced blobs ({})", deleted, blobStore.getStats());
+            return deleted;
+        } catch (IOException e) {
+            log.error("Error collecting unreferenced blobs: {}", e.getMessage());
+            throw new FileStorageException("Error collecting unreferenced blobs");
+        }
+    }
+
+    /**
+     * @return snapshot of the blob store statistics
+     */
+    public BlobStore.BlobStats getBlobStats() {
+        return blobStore.getStats();
+    }
+
     /**
      * Lists all project folders in the root directory.
      *
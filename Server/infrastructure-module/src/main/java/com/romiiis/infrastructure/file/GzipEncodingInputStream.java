@@ -0,0 +1,119 @@
+package com.romiiis.infrastructure.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Input stream producing the gzip encoding of a source stream, compressing as it is read.
+ * <p>
+ * Only one input buffer of the source is held at a time, so a stream of any size can be compressed
+ * on its way to the storage. Closing this stream does not close the source.
+ *
+ * @author Roman Pejs
+ */
+public class GzipEncodingInputStream extends InputStream {
+
+    /**
+     * Gzip member header: magic, deflate method, no flags, no modification time, no extra flags, unknown OS
+     */
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final InputStream source;
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final byte[] input = new byte[8192];
+
+    /**
+     * Header or trailer bytes waiting to be read, and the position of the next one
+     */
+    private byte[] pending = HEADER;
+    private int pendingPosition;
+
+    private boolean trailerWritten;
+    private long bytesRead;
+
+    /**
+     * Constructor
+     *
+     * @param source stream to compress
+     * @param level  compression level (0-9)
+     */
+    public GzipEncodingInputStream(InputStream source, int level) {
+        this.source = source;
+        this.deflater = new Deflater(level, true);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int n = read(single, 0, 1);
+        return n < 0 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (true) {
+            if (pending != null) {
+                int n = Math.min(len, pending.length - pendingPosition);
+                System.arraycopy(pending, pendingPosition, b, off, n);
+                pendingPosition += n;
+                if (pendingPosition == pending.length) {
+                    pending = null;
+                }
+                return n;
+            }
+            if (trailerWritten) {
+                return -1;
+            }
+            if (deflater.finished()) {
+                pending = trailer();
+                pendingPosition = 0;
+                trailerWritten = true;
+                deflater.end();
+                continue;
+            }
+            if (deflater.needsInput()) {
+                int n = source.read(input);
+                if (n < 0) {
+                    deflater.finish();
+                } else {
+                    crc.update(input, 0, n);
+                    bytesRead += n;
+                    deflater.setInput(input, 0, n);
+                }
+            }
+            int n = deflater.deflate(b, off, len);
+            if (n > 0) {
+                return n;
+            }
+        }
+    }
+
+    /**
+     * @return number of bytes read from the source so far
+     */
+    public long bytesRead() {
+        return bytesRead;
+    }
+
+    @Override
+    public void close() {
+        deflater.end();
+    }
+
+    /**
+     * Gzip member trailer: CRC-32 and size of the source modulo 2^32, little-endian
+     */
+    private byte[] trailer() {
+        long checksum = crc.getValue();
+        return new byte[]{
+                (byte) checksum, (byte) (checksum >> 8), (byte) (checksum >> 16), (byte) (checksum >> 24),
+                (byte) bytesRead, (byte) (bytesRead >> 8), (byte) (bytesRead >> 16), (byte) (bytesRead >> 24)
+        };
+    }
+}
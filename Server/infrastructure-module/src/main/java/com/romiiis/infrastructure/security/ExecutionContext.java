@@ -5,6 +5,7 @@ import com.romiiis.port.IExecutionContextProvider;
 
 /**
  * Thread-local context storing current user
+ * Tasks handed to other threads get the caller only when wrapped by {@link #propagate(Runnable)}.
  */
 public class ExecutionContext implements IExecutionContextProvider {
 
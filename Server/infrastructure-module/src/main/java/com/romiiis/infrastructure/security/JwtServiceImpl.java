@@ -2,11 +2,18 @@ package com.romiiis.infrastructure.security;
 
 import com.romiiis.domain.User;
 import com.romiiis.domain.UserRole;
+import com.romiiis.infrastructure.cache.BloomFilter;
+import com.romiiis.infrastructure.cache.ExpiringLruCache;
 import com.romiiis.infrastructure.security.config.JwtProperties;
 import com.romiiis.port.IExecutionContextProvider;
 import com.romiiis.port.IJwtService;
+import com.romiiis.repository.IRefreshTokenFamilyRepository;
+import com.romiiis.repository.IRevokedTokenRepository;
 import com.romiiis.repository.IUserRepository;
+import com.romiiis.security.RefreshTokenFamily;
+import com.romiiis.security.RevokedToken;
 import com.romiiis.security.TokenPair;
+import com.romiiis.security.VerifiedToken;
 import com.romiiis.service.api.IUserService;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
@@ -14,16 +21,32 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Default implementation of the IJwtService interface.
  * Supports a single user role per JWT token.
+ * <p>
+ * Access tokens carry the user's role and token version, so requests are authorized from the verified
+ * claims alone. A token whose version is older than the user's current one (the role changed since it
+ * was issued) is rejected.
+ * <p>
+ * Revoked tokens are stored in a shared store and kept in a local blacklist, which is the only one
+ * consulted per request (unless the full blacklist had to evict a revocation that might be the checked one). Revocations made by other instances are pulled by {@link #syncRevokedTokens()},
+ * so they take effect on this instance within one sync period. A Bloom filter of the revoked jtis sits
+ * in front of the blacklist, so the common "not revoked" answer is a few bit tests without allocation.
+ * <p>
+ * Refresh tokens are rotated: every refresh token belongs to a family started by a login, and only the latest
+ * token of the family can be exchanged for a new pair. Presenting an older one revokes the whole family.
  *
  * @author Roman Pejs
  */
@@ -31,26 +54,88 @@ import java.util.concurrent.ConcurrentHashMap;
 public class JwtServiceImpl implements IJwtService {
 
     private final SecretKey secretKey;
+
+    /**
+     * Parser built once for the signing key and issuer, thread-safe and shared by all verifications
+     */
+    private final JwtParser parser;
+
+    /**
+     * Recently verified tokens (SHA-256 digest of the compact token -> verified token), so tokens sent
+     * repeatedly during their lifetime are verified by a hash lookup instead of a signature check.
+     * Revocation and token version are still checked on every hit.
+     */
+    private final ExpiringLruCache<String, VerifiedToken> verifiedTokens;
     private final JwtProperties props;
     private final IUserService userService;
     private final IUserRepository userRepository;
+    private final IRevokedTokenRepository revokedTokenRepository;
+    private final IRefreshTokenFamilyRepository refreshTokenFamilyRepository;
     private final IExecutionContextProvider callerContextProvider;
 
     /**
-     * Blacklist of invalidated tokens (jti -> expiration time)
+     * Expiration time range of a single blacklist bucket, i.e. the granularity of sweeps and capacity evictions
+     */
+    private static final Duration BLACKLIST_BUCKET_WIDTH = Duration.ofMinutes(1);
+
+    /**
+     * Local blacklist of invalidated tokens, a near-cache of the shared store
      */
-    private final Map<String, Instant> blacklist = new ConcurrentHashMap<>();
+    private final TokenBlacklist blacklist;
+
+    /**
+     * Bloom filter of the blacklisted jtis, rebuilt periodically to drop expired ones
+     */
+    private volatile BloomFilter revokedFilter;
+
+    /**
+     * Guards writes of the blacklist and its filter, so no revocation is lost by a rebuild
+     */
+    private final Object revocationLock = new Object();
+
+    /**
+     * Revocation check counters (all checks, checks passing the filter, of those not revoked)
+     */
+    private final LongAdder revocationChecks = new LongAdder();
+    private final LongAdder filterPositives = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    /**
+     * Revocation checks answered by the shared store, because the revocation might have been evicted from the full blacklist
+     */
+    private final LongAdder storeFallbacks = new LongAdder();
+
+    /**
+     * Revocation time from which the next sync pulls revocations (the first sync loads all of them)
+     */
+    private Instant lastSync = Instant.EPOCH;
+
     /**
      * Constructor
      *
-     * @param props JWT properties
+     * @param props                  JWT properties
+     * @param revokedTokenRepository       shared store of revoked tokens
+     * @param refreshTokenFamilyRepository shared store of refresh token families
      */
-    public JwtServiceImpl(JwtProperties props, IUserService userService, IUserRepository userRepository, IExecutionContextProvider callerContextProvider) {
+    public JwtServiceImpl(JwtProperties props, IUserService userService, IUserRepository userRepository,
+                          IRevokedTokenRepository revokedTokenRepository,
+                          IRefreshTokenFamilyRepository refreshTokenFamilyRepository,
+                          IExecutionContextProvider callerContextProvider) {
         this.callerContextProvider = callerContextProvider;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.refreshTokenFamilyRepository = refreshTokenFamilyRepository;
         this.userService = userService;
         this.userRepository = userRepository;
         this.props = props;
         this.secretKey = Keys.hmacShaKeyFor(props.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .requireIssuer(props.getIssuer())
+                .build();
+        this.verifiedTokens = new ExpiringLruCache<>(props.getVerifiedTokenCacheSize(),
+                Duration.ofMillis(props.getAccessExpirationMs()));
+        this.blacklist = new TokenBlacklist(props.getBlacklistMaxSize(), BLACKLIST_BUCKET_WIDTH);
+        this.revokedFilter = new BloomFilter(props.getRevocationFilterExpectedInsertions(), props.getRevocationFilterFpp());
     }
 
 
@@ -62,57 +147,139 @@ public class JwtServiceImpl implements IJwtService {
      */
     @Override
     public TokenPair generateTokenPair(UUID userId) {
-        String accessToken = this.generateToken(userId);
-        String refreshToken = this.generateRefreshToken(userId);
+        Instant accessExpiresAt = Instant.now().plusMillis(props.getAccessExpirationMs());
+        Instant refreshExpiresAt = Instant.now().plusMillis(props.getRefreshExpirationMs());
 
-        return new TokenPair(accessToken, refreshToken);
+        return new TokenPair(generateToken(userId, accessExpiresAt), accessExpiresAt,
+                generateRefreshToken(userId, refreshExpiresAt), refreshExpiresAt);
     }
 
     /**
-     * Generates an access token for the given user ID and role.
+     * Generates an access token for the given user ID, carrying the user's current role and token version.
      *
      * @param userId user identifier (UUID)
      * @return signed JWT access token
      */
     public String generateToken(UUID userId) {
+        return generateToken(userId, Instant.now().plusMillis(props.getAccessExpirationMs()));
+    }
+
+    /**
+     * Generates an access token for the given user ID expiring at the given time.
+     *
+     * @param userId    user identifier (UUID)
+     * @param expiresAt expiration time
+     * @return signed JWT access token
+     */
+    private String generateToken(UUID userId, Instant expiresAt) {
         String jti = UUID.randomUUID().toString();
-        Instant expiresAt = Instant.now().plusMillis(props.getAccessExpirationMs());
-        return generateAccessToken(userId.toString(), jti, expiresAt);
+        Optional<User> user = userRepository.getUserById(userId);
+
+        return generateAccessToken(userId.toString(), jti, expiresAt,
+                user.map(User::getRole).orElse(null),
+                user.map(User::getTokenVersion).orElse(0));
     }
 
 
     /**
      * Generates an access token with the specified parameters.
      *
-     * @param subject   Subject of the token (user ID)
-     * @param jti       Unique token identifier
-     * @param expiresAt Expiration time
+     * @param subject      Subject of the token (user ID)
+     * @param jti          Unique token identifier
+     * @param expiresAt    Expiration time
+     * @param role         Role of the user, or null if not yet initialized
+     * @param tokenVersion Current token version of the user
      */
-    private String generateAccessToken(String subject, String jti, Instant expiresAt) {
+    private String generateAccessToken(String subject, String jti, Instant expiresAt, UserRole role, int tokenVersion) {
         JwtBuilder builder = Jwts.builder()
                 .setSubject(subject)
                 .setId(jti)
                 .setIssuer(props.getIssuer())
                 .setIssuedAt(Date.from(Instant.now()))
                 .setExpiration(Date.from(expiresAt))
-                .claim("type", "access");
+                .claim(VerifiedToken.CLAIM_TYPE, VerifiedToken.TYPE_ACCESS)
+                .claim(VerifiedToken.CLAIM_TOKEN_VERSION, tokenVersion);
 
+        if (role != null) {
+            builder.claim(VerifiedToken.CLAIM_ROLE, role.name());
+        }
 
         return builder.signWith(secretKey, SignatureAlgorithm.HS256).compact();
     }
 
 
     /**
-     * Generates a refresh token for the given user ID and role.
+     * Generates a refresh token for the given user ID, starting a new refresh token family.
      *
      * @param subject user identifier (UUID)
      * @return signed JWT refresh token
      */
     @Override
     public String generateRefreshToken(UUID subject) {
+        return generateRefreshToken(subject, Instant.now().plusMillis(props.getRefreshExpirationMs()));
+    }
+
+    /**
+     * Generates a refresh token expiring at the given time, starting a new refresh token family.
+     *
+     * @param subject   user identifier (UUID)
+     * @param expiresAt expiration time
+     * @return signed JWT refresh token
+     */
+    private String generateRefreshToken(UUID subject, Instant expiresAt) {
+        String familyId = UUID.randomUUID().toString();
         String jti = UUID.randomUUID().toString();
+
+        refreshTokenFamilyRepository.save(new RefreshTokenFamily(familyId, subject, jti, expiresAt));
+        return generateRefreshToken(subject.toString(), jti, expiresAt, familyId);
+    }
+
+    /**
+     * Exchanges the current refresh token of a family for a new token pair, replacing it in the family.
+     * The presented token is not blacklisted: presenting it again must reach the family check, so the reuse
+     * is detected. If the presented token is not the current one of its family, the family is revoked.
+     *
+     * @param refreshToken verified refresh token
+     * @return the new token pair, or empty if the token was reused or its family no longer exists
+     */
+    @Override
+    public Optional<TokenPair> rotateRefreshToken(VerifiedToken refreshToken) {
+        if (!refreshToken.isRefreshToken()) {
+            return Optional.empty();
+        }
+
+        Optional<String> familyId = refreshToken.familyId();
+        if (familyId.isEmpty()) {
+            // token issued before rotation was introduced: retire it and start a family
+            invalidateToken(refreshToken);
+            return Optional.of(generateTokenPair(refreshToken.userId()));
+        }
+
+        String nextJti = UUID.randomUUID().toString();
         Instant expiresAt = Instant.now().plusMillis(props.getRefreshExpirationMs());
-        return generateRefreshToken(subject.toString(), jti, expiresAt);
+        if (!refreshTokenFamilyRepository.rotate(familyId.get(), refreshToken.jti(), nextJti, expiresAt)) {
+            log.warn("Refresh token reuse detected: jti={}, family={}, user={}",
+                    refreshToken.jti(), familyId.get(), refreshToken.subject());
+            revokeFamily(familyId.get());
+            return Optional.empty();
+        }
+
+        Instant accessExpiresAt = Instant.now().plusMillis(props.getAccessExpirationMs());
+        return Optional.of(new TokenPair(
+                generateToken(refreshToken.userId(), accessExpiresAt), accessExpiresAt,
+                generateRefreshToken(refreshToken.subject(), nextJti, expiresAt, familyId.get()), expiresAt));
+    }
+
+    /**
+     * Removes the family and blacklists its current refresh token.
+     *
+     * @param familyId family identifier
+     */
+    private void revokeFamily(String familyId) {
+        refreshTokenFamilyRepository.remove(familyId).ifPresent(family -> {
+            addRevoked(family.currentJti(), family.expiresAt());
+            revokedTokenRepository.save(new RevokedToken(family.currentJti(), family.expiresAt(), Instant.now()));
+        });
     }
 
     /**
@@ -121,15 +288,17 @@ public class JwtServiceImpl implements IJwtService {
      * @param subject   Subject of the token (user ID)
      * @param jti       Unique token identifier
      * @param expiresAt Expiration time
+     * @param familyId  Refresh token family the token belongs to
      */
-    private String generateRefreshToken(String subject, String jti, Instant expiresAt) {
+    private String generateRefreshToken(String subject, String jti, Instant expiresAt, String familyId) {
         JwtBuilder builder = Jwts.builder()
                 .setSubject(subject)
                 .setId(jti)
                 .setIssuer(props.getIssuer())
                 .setIssuedAt(Date.from(Instant.now()))
                 .setExpiration(Date.from(expiresAt))
-                .claim("type", "refresh");
+                .claim(VerifiedToken.CLAIM_TYPE, VerifiedToken.TYPE_REFRESH)
+                .claim(VerifiedToken.CLAIM_FAMILY, familyId);
 
 
         return builder.signWith(secretKey, SignatureAlgorithm.HS256).compact();
@@ -137,153 +306,250 @@ public class JwtServiceImpl implements IJwtService {
 
 
     /**
-     * Validates the given JWT token.
+     * Verifies the given JWT token once - signature, issuer, expiration, revocation and, for access tokens,
+     * the token version of their user. The signature of a recently verified token is not checked again.
      *
      * @param token JWT token
-     * @return true if the token is valid, false otherwise
+     * @return the verified token, or empty if the token is not valid
      */
     @Override
-    public boolean validateToken(String token) {
-        try {
-            Jws<Claims> claims = parse(token);
-            String jti = claims.getBody().getId();
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
 
-            if (jti != null && isTokenInvalidated(jti)) {
-                log.warn("Token invalidated: jti={}", jti);
-                return false;
+        String digest = digest(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(digest);
+        if (verified == null || !verified.expiresAt().isAfter(Instant.now())) {
+            try {
+                verified = toVerifiedToken(parser.parseClaimsJws(token).getBody());
+            } catch (JwtException | IllegalArgumentException e) {
+                verifiedTokens.invalidate(digest);
+                log.warn("Invalid JWT token: {}", e.getMessage());
+                return Optional.empty();
             }
-            return claims.getBody().getExpiration().toInstant().isAfter(Instant.now());
-        } catch (JwtException | IllegalArgumentException e) {
-            log.warn("Invalid JWT token: {}", e.getMessage());
+            verifiedTokens.put(digest, verified);
+        }
+
+        if (verified.jti() != null && isTokenInvalidated(verified.jti())) {
+            log.warn("Token invalidated: jti={}", verified.jti());
+            return Optional.empty();
+        }
+        if (verified.isAccessToken() && !hasCurrentTokenVersion(verified)) {
+            log.warn("Token version is outdated: jti={}", verified.jti());
+            return Optional.empty();
+        }
+        return Optional.of(verified);
+    }
+
+    /**
+     * Checks that the token was issued for the user's current token version, i.e. the role claim is up to date.
+     * The user is served by the (cached) users repository.
+     *
+     * @param token verified token
+     * @return true if the token version matches the user's current one
+     */
+    private boolean hasCurrentTokenVersion(VerifiedToken token) {
+        if (!(token.claims().get(VerifiedToken.CLAIM_TOKEN_VERSION) instanceof Integer tokenVersion)) {
             return false;
         }
+        return userRepository.getUserById(token.userId())
+                .map(user -> user.getTokenVersion() == tokenVersion)
+                .orElse(false);
     }
 
     /**
-     * Parses the JWT token and returns the claims.
+     * Computes the cache key of a compact token.
      *
      * @param token JWT token
-     * @return Jws<Claims> object containing the token claims
+     * @return Base64 encoded SHA-256 digest of the token
      */
-    private Jws<Claims> parse(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .requireIssuer(props.getIssuer())
-                .build()
-                .parseClaimsJws(token);
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
+    /**
+     * @return hit/miss statistics of the verified tokens cache
+     */
+    public ExpiringLruCache.CacheStats getVerifiedTokenCacheStats() {
+        return verifiedTokens.stats();
+    }
 
     /**
-     * Extracts the subject (user ID) from a JWT token.
+     * Parses the JWT token (signature and issuer are verified, revocation is not).
      *
      * @param token JWT token
-     * @return the subject (user ID)
+     * @return the parsed token
      */
-    @Override
-    public String getSubjectFromToken(String token) {
-        return parse(token).getBody().getSubject();
+    private VerifiedToken parse(String token) {
+        return toVerifiedToken(parser.parseClaimsJws(token).getBody());
     }
 
     /**
-     * Extracts the user role from a JWT token.
-     *
-     * @param token JWT token
-     * @return the role (e.g. "ADMIN"), or empty if missing
+     * @param claims verified claims
+     * @return the verified token
+     * @throws MalformedJwtException if the token has no expiration (all issued tokens have one)
      */
-    public Optional<UserRole> getRoleFromToken(String token) {
-        String userId = getSubjectFromToken(token);
-        Optional<User> user = userRepository.getUserById(UUID.fromString(userId));
-        return user.map(User::getRole);
+    private static VerifiedToken toVerifiedToken(Claims claims) {
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("Token has no expiration");
+        }
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.getId(),
+                claims.get(VerifiedToken.CLAIM_TYPE, String.class),
+                claims.getExpiration().toInstant(),
+                claims
+        );
     }
 
 
     /**
-     * Extracts the JWT ID (jti) from a JWT token.
+     * Invalidates the given JWT token by adding its jti to the blacklist.
      *
-     * @param token JWT token
-     * @return Optional containing the jti if present, otherwise empty
+     * @param token the JWT token to invalidate
      */
-    private Optional<String> getJti(String token) {
+    @Override
+    public void invalidateToken(String token) {
         try {
-            return Optional.ofNullable(parse(token).getBody().getId());
-        } catch (Exception e) {
-            return Optional.empty();
+            invalidateToken(parse(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Not invalidating unparseable token: {}", e.getMessage());
         }
     }
 
     /**
-     * Extracts the expiration time from a JWT token.
+     * Invalidates the given verified token by adding its jti to the local blacklist and the shared store.
+     * Invalidating a refresh token also ends its family.
      *
-     * @param token JWT token
-     * @return expiration time as Instant
+     * @param token the verified token to invalidate
      */
-    public Instant getTokenExpirationMs(String token) {
-        return parse(token).getBody().getExpiration().toInstant();
+    @Override
+    public void invalidateToken(VerifiedToken token) {
+        if (token.jti() == null) {
+            return;
+        }
+        if (token.isRefreshToken()) {
+            token.familyId().ifPresent(refreshTokenFamilyRepository::remove);
+        }
+        addRevoked(token.jti(), token.expiresAt());
+        revokedTokenRepository.save(new RevokedToken(token.jti(), token.expiresAt(), Instant.now()));
+        log.info("Token invalidated: jti={}, exp={}", token.jti(), token.expiresAt());
     }
 
     /**
-     * Extracts the expiration time from a JWT token.
-     *
-     * @param token JWT token
-     * @return expiration time as Instant
+     * Pulls revocations made since the previous sync into the local blacklist.
+     * The window overlaps the previous one by {@link JwtProperties#getRevocationSyncOverlapMs()}, so
+     * revocations written with a skewed clock or committed late are not missed.
      */
-    public boolean isExpired(String token) {
-        return getTokenExpirationMs(token).isBefore(Instant.now());
-    }
+    @Override
+    public synchronized void syncRevokedTokens() {
+        Instant now = Instant.now();
+        Instant since = lastSync.equals(Instant.EPOCH) ? lastSync : lastSync.minusMillis(props.getRevocationSyncOverlapMs());
 
+        List<RevokedToken> revoked = revokedTokenRepository.getRevokedSince(since);
+        revoked.forEach(token -> addRevoked(token.jti(), token.expiresAt()));
+        lastSync = now;
+
+        log.debug("Synced {} revoked tokens, blacklist size={}", revoked.size(), blacklist.size());
+    }
 
     /**
-     * Invalidates the given JWT token by adding its jti to the blacklist.
+     * Adds a revoked token to the local blacklist and its filter.
      *
-     * @param token the JWT token to invalidate
+     * @param jti       unique token identifier
+     * @param expiresAt expiration time of the token
      */
-    @Override
-    public void invalidateToken(String token) {
-        getJti(token).ifPresent(jti -> {
-            Instant exp = getTokenExpirationMs(token);
-            blacklist.put(jti, exp);
-            log.info("Token invalidated: jti={}, exp={}", jti, exp);
-        });
+    private void addRevoked(String jti, Instant expiresAt) {
+        synchronized (revocationLock) {
+            blacklist.add(jti, expiresAt);
+            revokedFilter.put(jti);
+        }
     }
 
+    /**
+     * Sweeps expired entries from the blacklist and rebuilds the revocation filter from the remaining ones.
+     * The filter is sized for twice the current blacklist (at least the configured expected insertions).
+     */
     @Override
-    public boolean isTokenInvalidated(String jti) {
-        Instant exp = blacklist.get(jti);
-        if (exp == null) return false;
-
-        if (exp.isBefore(Instant.now())) {
-            blacklist.remove(jti);
-            return false;
+    public void rebuildRevocationFilter() {
+        int swept;
+        synchronized (revocationLock) {
+            swept = blacklist.sweep(Instant.now());
+
+            BloomFilter filter = new BloomFilter(
+                    Math.max(props.getRevocationFilterExpectedInsertions(), blacklist.size() * 2),
+                    props.getRevocationFilterFpp());
+            blacklist.jtis().forEach(filter::put);
+            revokedFilter = filter;
         }
-        return true;
+        log.debug("Revocation filter rebuilt: swept={}, blacklist={}, filter={}", swept, getBlacklistStats(), getRevocationFilterStats());
     }
 
     /**
-     * Parses the claims from the given JWT token.
+     * Checks the local blacklist. Tokens rejected by the filter are not looked up.
+     * The shared store is only read for tokens whose revocation might have been evicted from the full blacklist.
      *
-     * @param token JWT token
-     * @return Optional containing the Claims if parsing is successful, otherwise empty
+     * @param jti the unique token identifier
+     * @return true if the token has been invalidated and has not expired yet
      */
     @Override
-    public long getRemainingLifetime(String token) {
-        try {
-            return Math.max(0, getTokenExpirationMs(token).toEpochMilli() - Instant.now().toEpochMilli());
-        } catch (Exception e) {
-            return 0;
+    public boolean isTokenInvalidated(String jti) {
+        revocationChecks.increment();
+        Instant now = Instant.now();
+        if (revokedFilter.mightContain(jti)) {
+            filterPositives.increment();
+            if (blacklist.contains(jti, now)) {
+                return true;
+            }
+            falsePositives.increment();
         }
+
+        if (blacklist.mightBeEvicted(jti, now)) {
+            storeFallbacks.increment();
+            return revokedTokenRepository.isRevoked(jti);
+        }
+        return false;
     }
 
+    /**
+     * @return size and eviction counts of the local blacklist
+     */
+    public TokenBlacklist.BlacklistStats getBlacklistStats() {
+        return blacklist.stats();
+    }
 
-    @Override
-    public boolean isRefreshToken(String token) {
-        try {
-            Claims claims = parse(token).getBody();
-            String type = claims.get("type", String.class);
-            return "refresh".equals(type);
-        } catch (Exception e) {
-            log.warn("Cannot determine token type: {}", e.getMessage());
-            return false;
+    /**
+     * @return statistics of the revocation checks and their filter
+     */
+    public RevocationFilterStats getRevocationFilterStats() {
+        return new RevocationFilterStats(revocationChecks.sum(), filterPositives.sum(), falsePositives.sum(), storeFallbacks.sum(),
+                revokedFilter.expectedFpp());
+    }
+
+    /**
+     * Revocation filter statistics.
+     *
+     * @param checks          number of revocation checks
+     * @param filterPositives number of checks the filter did not rule out (looked up in the blacklist)
+     * @param falsePositives  number of looked up tokens that were not revoked (or whose revocation expired)
+     * @param storeFallbacks  number of checks answered by the shared store (revocation evicted from the full blacklist)
+     * @param expectedFpp     false-positive probability expected for the current filter
+     */
+    public record RevocationFilterStats(long checks, long filterPositives, long falsePositives, long storeFallbacks,
+                                        double expectedFpp) {
+
+        /**
+         * @return ratio of false positives to checks of not revoked tokens (0.0 if there was none)
+         */
+        public double falsePositiveRate() {
+            long negatives = checks - (filterPositives - falsePositives);
+            return negatives == 0 ? 0.0 : (double) falsePositives / negatives;
         }
     }
 }
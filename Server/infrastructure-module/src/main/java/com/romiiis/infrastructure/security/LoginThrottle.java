@@ -0,0 +1,124 @@
+package com.romiiis.infrastructure.security;
+
+import com.romiiis.infrastructure.cache.ExpiringLruCache;
+import com.romiiis.infrastructure.security.config.LoginThrottleProperties;
+import com.romiiis.port.ILoginThrottle;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Default implementation of ILoginThrottle, with in-memory striped failure counters per email and per client
+ * address. Both are checked without locks or allocation on the login path; counters are local to the instance.
+ * <p>
+ * The striped counters are shared by colliding keys, so a successful login cannot clear them. Instead, the email
+ * gets an exact success marker: for two windows (after which the striped counters have forgotten the failures
+ * before the success), the email is throttled only by its failures since the success. A login to one account
+ * therefore never lifts the block of another one.
+ *
+ * @author Roman Pejs
+ */
+@Slf4j
+public class LoginThrottle implements ILoginThrottle {
+
+    private final StripedFailureCounter emailFailures;
+    private final StripedFailureCounter ipFailures;
+    private final LongSupplier clock;
+
+    /**
+     * Exact failures of emails since their last successful login
+     */
+    private final ExpiringLruCache<String, FailuresSinceSuccess> successes;
+
+    private final int emailFreeAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+
+    /**
+     * Constructor
+     *
+     * @param props throttling limits
+     */
+    public LoginThrottle(LoginThrottleProperties props) {
+        this(props, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor with a custom time source (used by tests)
+     *
+     * @param props throttling limits
+     * @param clock source of the current epoch millis
+     */
+    LoginThrottle(LoginThrottleProperties props, LongSupplier clock) {
+        this.clock = clock;
+        this.emailFailures = new StripedFailureCounter(props.getWindow(), props.getEmailFreeAttempts(),
+                props.getBaseDelay(), props.getMaxDelay(), props.getStripes());
+        this.ipFailures = new StripedFailureCounter(props.getWindow(), props.getIpFreeAttempts(),
+                props.getBaseDelay(), props.getMaxDelay(), props.getStripes());
+        this.successes = new ExpiringLruCache<>(props.getSuccessMarkers(), props.getWindow().multipliedBy(2),
+                () -> clock.getAsLong() * 1_000_000);
+        this.emailFreeAttempts = props.getEmailFreeAttempts();
+        this.baseDelayMs = props.getBaseDelay().toMillis();
+        this.maxDelayMs = props.getMaxDelay().toMillis();
+    }
+
+    @Override
+    public boolean isBlocked(String email, String clientIp) {
+        long now = clock.getAsLong();
+        String key = normalize(email);
+        FailuresSinceSuccess sinceSuccess = successes.getIfPresent(key);
+        boolean emailBlocked = sinceSuccess != null ? sinceSuccess.isBlocked(now) : emailFailures.isBlocked(key, now);
+        return emailBlocked || (clientIp != null && ipFailures.isBlocked(clientIp, now));
+    }
+
+    @Override
+    public void recordFailure(String email, String clientIp) {
+        long now = clock.getAsLong();
+        String key = normalize(email);
+        int failures = emailFailures.recordFailure(key, now);
+        FailuresSinceSuccess sinceSuccess = successes.getIfPresent(key);
+        if (sinceSuccess != null) {
+            failures = sinceSuccess.recordFailure(now);
+        }
+        if (clientIp != null) {
+            ipFailures.recordFailure(clientIp, now);
+        }
+        log.debug("Failed login attempt {} for email {} from {}", failures, email, clientIp);
+    }
+
+    /**
+     * Starts counting the failures of the email exactly from zero, the shared striped counters are left intact.
+     *
+     * @param email email that logged in successfully
+     */
+    @Override
+    public void recordSuccess(String email) {
+        successes.put(normalize(email), new FailuresSinceSuccess());
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Exact failures of one email since its successful login, with the same backoff as the striped counters.
+     */
+    private final class FailuresSinceSuccess {
+        private int failures;
+        private long blockedUntil;
+
+        synchronized boolean isBlocked(long now) {
+            return now < blockedUntil;
+        }
+
+        synchronized int recordFailure(long now) {
+            failures++;
+            if (failures > emailFreeAttempts) {
+                int doublings = Math.min(failures - emailFreeAttempts - 1, 30);
+                blockedUntil = Math.max(blockedUntil, now + Math.min(maxDelayMs, baseDelayMs << doublings));
+            }
+            return failures;
+        }
+    }
+}
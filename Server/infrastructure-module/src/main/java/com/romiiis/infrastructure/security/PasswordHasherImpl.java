@@ -1,35 +1,183 @@
 package com.romiiis.infrastructure.security;
 
+import com.romiiis.exception.TooManyRequestsException;
+import com.romiiis.infrastructure.security.config.PasswordHasherProperties;
 import com.romiiis.port.IPasswordHasher;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
 /**
  * Default implementation of IPasswordHasher using Spring Security's PasswordEncoder.
+ * <p>
+ * Hashing is CPU-bound, so it runs on a dedicated bounded pool, which caps the number of concurrent hashes
+ * (and so the CPU they take) regardless of the number of request threads. The calling request thread still
+ * blocks until the result arrives (at most {@code timeout}), the work is not offloaded asynchronously.
+ * When all hashing threads are busy and their queue is full, the request is rejected right away
+ * with {@link TooManyRequestsException} (429) instead of joining the wait.
  */
 @Slf4j
-@RequiredArgsConstructor
-public class PasswordHasherImpl implements IPasswordHasher {
+public class PasswordHasherImpl implements IPasswordHasher, AutoCloseable {
 
     /**
      * Password encoder for hashing passwords.
      */
     private final PasswordEncoder passwordEncoder;
 
+    /**
+     * Bounded pool the hashing runs on.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Maximum time a caller waits for the result.
+     */
+    private final Duration timeout;
+
+    /**
+     * Latency counters (queue wait and hashing time in nanoseconds).
+     */
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+
+    /**
+     * Constructor
+     *
+     * @param passwordEncoder password encoder
+     * @param props           pool sizing and timeout
+     */
+    public PasswordHasherImpl(PasswordEncoder passwordEncoder, PasswordHasherProperties props) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = props.getTimeout();
+        this.executor = new ThreadPoolExecutor(props.getThreads(), props.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(props.getQueueCapacity()), new HasherThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
     /**
      * Hashes the given password.
      *
      * @param password The password to hash.
      * @return The hashed password.
+     * @throws TooManyRequestsException if the hashing pool is saturated
      */
     @Override
     public String hash(String password) {
-        return passwordEncoder.encode(password);
+        return execute(() -> passwordEncoder.encode(password));
     }
 
+    /**
+     * Verifies the given password against its hash.
+     *
+     * @param rawPassword    The password to verify.
+     * @param hashedPassword The hashed password.
+     * @return true if the password matches
+     * @throws TooManyRequestsException if the hashing pool is saturated
+     */
     @Override
     public boolean verify(String rawPassword, String hashedPassword) {
-        return passwordEncoder.matches(rawPassword, hashedPassword);
+        return execute(() -> passwordEncoder.matches(rawPassword, hashedPassword));
+    }
+
+    /**
+     * Runs the task on the hashing pool and waits for its result.
+     *
+     * @param task hashing task
+     * @return result of the task
+     */
+    private <T> T execute(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueNanos.add(startedAt - submittedAt);
+                try {
+                    return task.get();
+                } finally {
+                    hashNanos.add(System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing rejected: pool saturated (active={}, queued={})",
+                    executor.getActiveCount(), executor.getQueue().size());
+            throw new TooManyRequestsException();
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            log.warn("Password hashing timed out after {}", timeout);
+            throw new TooManyRequestsException();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * @return snapshot of the hashing pool statistics
+     */
+    public HasherStats getStats() {
+        long done = completed.sum();
+        return new HasherStats(done, rejected.sum(), timedOut.sum(),
+                done == 0 ? 0 : queueNanos.sum() / done / 1_000_000.0,
+                done == 0 ? 0 : hashNanos.sum() / done / 1_000_000.0,
+                executor.getActiveCount(), executor.getQueue().size());
+    }
+
+    /**
+     * Stops the hashing pool, letting already accepted tasks finish.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Hashing pool statistics.
+     *
+     * @param completed   number of finished hashes and verifications
+     * @param rejected    number of requests rejected because the pool was saturated
+     * @param timedOut    number of requests that gave up waiting for the result
+     * @param avgQueueMs  average time a task waited for a thread in milliseconds
+     * @param avgHashMs   average hashing time in milliseconds
+     * @param active      number of currently busy threads
+     * @param queued      number of currently waiting tasks
+     */
+    public record HasherStats(long completed, long rejected, long timedOut, double avgQueueMs, double avgHashMs,
+                              int active, int queued) {
+    }
+
+    /**
+     * Creates named daemon threads of the hashing pool.
+     */
+    private static final class HasherThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hasher-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
     }
 }
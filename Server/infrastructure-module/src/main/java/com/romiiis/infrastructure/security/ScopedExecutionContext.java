@@ -0,0 +1,57 @@
+package com.romiiis.infrastructure.security;
+
+import com.romiiis.domain.User;
+import com.romiiis.port.IExecutionContextProvider;
+
+/**
+ * Context storing current user in a {@link ScopedValue}.
+ * <p>
+ * The caller is bound for the duration of {@link #callAs}/{@link #runAs} only and the enclosing binding is
+ * back on exit, so a caller can never be left behind on a pooled (or virtual) thread. Tasks handed to other
+ * threads get the caller only when wrapped by {@link #propagate(Runnable)}.
+ * <p>
+ * {@code ScopedValue} is a preview API in Java 21: the class is only compiled with the {@code scoped-value}
+ * Maven profile, and the JVM has to be started with {@code --enable-preview}. It is selected by
+ * {@code app.execution-context=scoped}.
+ *
+ * @author Roman Pejs
+ */
+public class ScopedExecutionContext implements IExecutionContextProvider {
+
+    private static final ScopedValue<User> currentUser = ScopedValue.newInstance();
+
+    /**
+     * Not supported, a scoped value can only be bound for a scope.
+     *
+     * @throws UnsupportedOperationException always, use {@link #callAs} or {@link #runAs}
+     */
+    @Override
+    public void setCaller(User user) {
+        throw new UnsupportedOperationException("Scoped caller can only be bound by callAs/runAs");
+    }
+
+    @Override
+    public User getCaller() {
+        return currentUser.orElse(null);
+    }
+
+    /**
+     * Nothing to clear, the binding ends with its scope.
+     */
+    @Override
+    public void clear() {
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T, X extends Exception> T callAs(User caller, CallerCall<T, X> call) throws X {
+        try {
+            return ScopedValue.where(currentUser, caller).call(call::call);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            // The only checked exceptions are the ones thrown by the function
+            throw (X) e;
+        }
+    }
+}
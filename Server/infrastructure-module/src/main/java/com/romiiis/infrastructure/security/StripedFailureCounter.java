@@ -0,0 +1,206 @@
+package com.romiiis.infrastructure.security;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free counter of failures per key over a sliding window, with exponential backoff.
+ * <p>
+ * Keys are not stored: each key is hashed to one stripe in each of two rows (a count-min sketch), and the
+ * smaller of the two counts is used, so collisions rarely overcount. The hash is keyed by a random per-instance
+ * seed, so keys sharing stripes cannot be computed offline to block (or otherwise influence) a chosen key.
+ * Stripes are shared, so they are never cleared for one key; failures only leave them with the sliding window.
+ * Each stripe packs the window index, the count of the current window and the count of the previous window into
+ * a single long updated by CAS; the sliding count is the current count plus the previous count weighted by the
+ * unelapsed part of the window.
+ * <p>
+ * Once the sliding count exceeds {@code freeAttempts}, the key is blocked for {@code baseDelay} doubled by
+ * every further failure, up to {@code maxDelay}. Memory is fixed ({@code 2 rows x stripes x 2 longs}).
+ *
+ * @author Roman Pejs
+ */
+public class StripedFailureCounter {
+
+    private static final int ROWS = 2;
+    private static final int COUNT_BITS = 16;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final long windowMs;
+    private final int freeAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final int mask;
+
+    /**
+     * Random key of the stripe hash
+     */
+    private final long seed = new SecureRandom().nextLong();
+
+    /**
+     * Packed window counters (window index | current count | previous count), row-major
+     */
+    private final AtomicLongArray counters;
+
+    /**
+     * Epoch millis until which attempts are blocked, row-major
+     */
+    private final AtomicLongArray blockedUntil;
+
+    /**
+     * Constructor
+     *
+     * @param window       sliding window the failures are counted in
+     * @param freeAttempts failures allowed within the window before the key is blocked
+     * @param baseDelay    block after the first failure beyond the free attempts
+     * @param maxDelay     maximum block
+     * @param stripes      counters per row (rounded up to a power of two)
+     */
+    public StripedFailureCounter(Duration window, int freeAttempts, Duration baseDelay, Duration maxDelay, int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Number of stripes must be positive");
+        }
+        this.windowMs = Math.max(1, window.toMillis());
+        this.freeAttempts = freeAttempts;
+        this.baseDelayMs = baseDelay.toMillis();
+        this.maxDelayMs = maxDelay.toMillis();
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.mask = size - 1;
+        this.counters = new AtomicLongArray(ROWS * size);
+        this.blockedUntil = new AtomicLongArray(ROWS * size);
+    }
+
+    /**
+     * Checks whether the key is blocked.
+     *
+     * @param key the key
+     * @param now current epoch millis
+     * @return true if the key is blocked at the given time
+     */
+    public boolean isBlocked(String key, long now) {
+        long h = hash(key);
+        long until = Long.MAX_VALUE;
+        for (int row = 0; row < ROWS; row++) {
+            until = Math.min(until, blockedUntil.get(index(h, row)));
+        }
+        return now < until;
+    }
+
+    /**
+     * Records a failure of the key, blocking it if it exceeded the free attempts.
+     *
+     * @param key the key
+     * @param now current epoch millis
+     * @return sliding count of failures of the key including this one
+     */
+    public int recordFailure(String key, long now) {
+        long h = hash(key);
+        long window = now / windowMs;
+        double elapsed = (double) (now % windowMs) / windowMs;
+
+        int failures = Integer.MAX_VALUE;
+        for (int row = 0; row < ROWS; row++) {
+            int i = index(h, row);
+            long packed;
+            long updated;
+            do {
+                packed = counters.get(i);
+                updated = increment(packed, window);
+            } while (!counters.compareAndSet(i, packed, updated));
+            failures = Math.min(failures, slidingCount(updated, window, elapsed));
+        }
+
+        if (failures > freeAttempts) {
+            int doublings = Math.min(failures - freeAttempts - 1, 30);
+            long until = now + Math.min(maxDelayMs, baseDelayMs << doublings);
+            for (int row = 0; row < ROWS; row++) {
+                blockedUntil.accumulateAndGet(index(h, row), until, Math::max);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Returns the sliding count of failures of the key.
+     *
+     * @param key the key
+     * @param now current epoch millis
+     * @return sliding count of failures
+     */
+    public int failures(String key, long now) {
+        long h = hash(key);
+        long window = now / windowMs;
+        double elapsed = (double) (now % windowMs) / windowMs;
+
+        int failures = Integer.MAX_VALUE;
+        for (int row = 0; row < ROWS; row++) {
+            failures = Math.min(failures, slidingCount(counters.get(index(h, row)), window, elapsed));
+        }
+        return failures;
+    }
+
+    /**
+     * Increments the current count, rolling the windows over if the stored one is outdated.
+     */
+    private static long increment(long packed, long window) {
+        long stored = packed >>> (2 * COUNT_BITS);
+        long current = (packed >>> COUNT_BITS) & COUNT_MASK;
+        long previous;
+        if (stored == (window & 0xFFFFFFFFL)) {
+            previous = packed & COUNT_MASK;
+            current = Math.min(current + 1, COUNT_MASK);
+        } else {
+            previous = stored == ((window - 1) & 0xFFFFFFFFL) ? current : 0;
+            current = 1;
+        }
+        return ((window & 0xFFFFFFFFL) << (2 * COUNT_BITS)) | (current << COUNT_BITS) | previous;
+    }
+
+    /**
+     * Sliding count: the current window plus the unelapsed share of the previous one.
+     */
+    private static int slidingCount(long packed, long window, double elapsed) {
+        long stored = packed >>> (2 * COUNT_BITS);
+        long current = (packed >>> COUNT_BITS) & COUNT_MASK;
+        long previous = packed & COUNT_MASK;
+        if (stored == (window & 0xFFFFFFFFL)) {
+            return (int) (current + previous * (1 - elapsed));
+        }
+        if (stored == ((window - 1) & 0xFFFFFFFFL)) {
+            return (int) (current * (1 - elapsed));
+        }
+        return 0;
+    }
+
+    /**
+     * Index of the key's stripe in the row, taken from a different half of the hash for each row.
+     */
+    private int index(long h, int row) {
+        int rowHash = (int) (row == 0 ? h : h >>> 32);
+        return row * (mask + 1) + (rowHash & mask);
+    }
+
+    /**
+     * Hash of the key's characters keyed by the seed: every character is mixed into the state by the
+     * MurmurHash3 64-bit finalizer, so the stripes of a key depend on the (secret) seed.
+     */
+    private long hash(String key) {
+        long h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h = mix(h ^ key.charAt(i));
+        }
+        return mix(h ^ key.length());
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
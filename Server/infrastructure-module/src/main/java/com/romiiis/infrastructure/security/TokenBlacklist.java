@@ -0,0 +1,216 @@
+package com.romiiis.infrastructure.security;
+
+import com.romiiis.infrastructure.cache.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-memory blacklist of revoked tokens (jti -> expiration time), indexed by expiration.
+ * <p>
+ * Entries are grouped into buckets of {@code bucketWidth} by their expiration time, so {@link #sweep(Instant)}
+ * drops all expired entries by walking only the expired buckets, instead of relying on each jti being checked
+ * again after it expires. Once {@code maxSize} is reached, the entries expiring soonest are evicted first.
+ * <p>
+ * An evicted revocation may still be valid, so the blacklist no longer has the complete answer for it. Evicted jtis
+ * are kept in a Bloom filter until the last of them expires: {@link #mightBeEvicted} tells the caller to ask the
+ * shared store instead of treating a miss as "not revoked". Reaching the capacity is logged as an error, as every
+ * such check then costs a store read.
+ * <p>
+ * Lookups are lock-free; writes and sweeps are serialized.
+ *
+ * @author Roman Pejs
+ */
+@Slf4j
+public class TokenBlacklist {
+
+    /**
+     * False-positive probability of the evicted jtis filter (at {@code maxSize} evictions)
+     */
+    private static final double EVICTED_FPP = 0.01;
+
+    private final int maxSize;
+    private final long bucketWidthMs;
+
+    /**
+     * Revoked tokens (jti -> expiration time)
+     */
+    private final Map<String, Instant> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Jtis by expiration bucket (expiration epoch millis / bucket width), guarded by this
+     */
+    private final NavigableMap<Long, Set<String>> buckets = new TreeMap<>();
+
+    /**
+     * Jtis evicted while still valid, and the latest expiration among them
+     */
+    private volatile BloomFilter evicted;
+    private volatile Instant evictedUntil = Instant.EPOCH;
+
+    private final LongAdder expiredEvictions = new LongAdder();
+    private final LongAdder capacityEvictions = new LongAdder();
+
+    /**
+     * Constructor
+     *
+     * @param maxSize     maximum number of revoked tokens kept
+     * @param bucketWidth expiration time range of a single bucket
+     */
+    public TokenBlacklist(int maxSize, Duration bucketWidth) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Blacklist size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.bucketWidthMs = Math.max(1, bucketWidth.toMillis());
+        this.evicted = new BloomFilter(maxSize, EVICTED_FPP);
+    }
+
+    /**
+     * Adds a revoked token, replacing its previous expiration time.
+     * Evicts the soonest expiring entries if the blacklist is full.
+     *
+     * @param jti       unique token identifier
+     * @param expiresAt expiration time of the token
+     */
+    public synchronized void add(String jti, Instant expiresAt) {
+        Instant previous = entries.put(jti, expiresAt);
+        if (previous != null) {
+            removeFromBucket(jti, previous);
+        }
+        buckets.computeIfAbsent(bucketOf(expiresAt), bucket -> new HashSet<>()).add(jti);
+
+        while (entries.size() > maxSize) {
+            evictSoonestExpiring();
+        }
+    }
+
+    /**
+     * Checks whether the token is revoked and its revocation has not expired yet.
+     *
+     * @param jti unique token identifier
+     * @param now current time
+     * @return true if the token is revoked
+     */
+    public boolean contains(String jti, Instant now) {
+        Instant expiresAt = entries.get(jti);
+        return expiresAt != null && expiresAt.isAfter(now);
+    }
+
+    /**
+     * Tells whether a still valid revocation of the token might have been evicted because the blacklist was full.
+     * If so, a miss of {@link #contains} is not conclusive and the shared store must be asked.
+     *
+     * @param jti unique token identifier
+     * @param now current time
+     * @return false if the token was definitely not evicted while still revoked
+     */
+    public boolean mightBeEvicted(String jti, Instant now) {
+        return now.isBefore(evictedUntil) && evicted.mightContain(jti);
+    }
+
+    /**
+     * Removes all entries that expired before the given time.
+     * Once all evicted revocations expired too, their filter is dropped.
+     *
+     * @param now current time
+     * @return number of removed entries
+     */
+    public synchronized int sweep(Instant now) {
+        int removed = 0;
+        Iterator<Map.Entry<Long, Set<String>>> expired = buckets.headMap(bucketOf(now), true).entrySet().iterator();
+        while (expired.hasNext()) {
+            Set<String> jtis = expired.next().getValue();
+            Iterator<String> it = jtis.iterator();
+            while (it.hasNext()) {
+                String jti = it.next();
+                if (!entries.get(jti).isAfter(now)) {
+                    entries.remove(jti);
+                    it.remove();
+                    removed++;
+                }
+            }
+            if (jtis.isEmpty()) {
+                expired.remove();
+            }
+        }
+        expiredEvictions.add(removed);
+
+        if (!now.isBefore(evictedUntil) && evicted.insertions() > 0) {
+            evicted = new BloomFilter(maxSize, EVICTED_FPP);
+            log.info("All revocations evicted from the full blacklist expired, the blacklist is complete again");
+        }
+        return removed;
+    }
+
+    /**
+     * @return snapshot of the revoked jtis
+     */
+    public Set<String> jtis() {
+        return Set.copyOf(entries.keySet());
+    }
+
+    /**
+     * @return number of revoked tokens (including not yet swept expired ones)
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return snapshot of the blacklist statistics
+     */
+    public BlacklistStats stats() {
+        return new BlacklistStats(entries.size(), expiredEvictions.sum(), capacityEvictions.sum());
+    }
+
+    private void evictSoonestExpiring() {
+        Map.Entry<Long, Set<String>> soonest = buckets.firstEntry();
+        Iterator<String> it = soonest.getValue().iterator();
+        String jti = it.next();
+        Instant expiresAt = entries.remove(jti);
+        it.remove();
+
+        Instant now = Instant.now();
+        if (expiresAt.isAfter(now)) {
+            if (!now.isBefore(evictedUntil)) {
+                log.error("Revoked tokens blacklist is full ({} entries), still valid revocations are evicted and their "
+                        + "checks fall back to the shared store - increase the blacklist size", maxSize);
+            }
+            evicted.put(jti);
+            if (expiresAt.isAfter(evictedUntil)) {
+                evictedUntil = expiresAt;
+            }
+        }
+        if (soonest.getValue().isEmpty()) {
+            buckets.remove(soonest.getKey());
+        }
+        capacityEvictions.increment();
+    }
+
+    private void removeFromBucket(String jti, Instant expiresAt) {
+        long bucket = bucketOf(expiresAt);
+        Set<String> jtis = buckets.get(bucket);
+        if (jtis != null && jtis.remove(jti) && jtis.isEmpty()) {
+            buckets.remove(bucket);
+        }
+    }
+
+    private long bucketOf(Instant time) {
+        return Math.floorDiv(time.toEpochMilli(), bucketWidthMs);
+    }
+
+    /**
+     * Blacklist statistics.
+     *
+     * @param size              number of revoked tokens
+     * @param expiredEvictions  number of entries removed by sweeps after they expired
+     * @param capacityEvictions number of not yet expired entries evicted because the blacklist was full
+     */
+    public record BlacklistStats(int size, long expiredEvictions, long capacityEvictions) {
+    }
+}
@@ -27,4 +27,19 @@ public class JwtProperties {
 
     // Issuer of the JWT tokens
     private String issuer;
+
+    // Maximum number of verified tokens kept in memory to skip repeated signature verification
+    private int verifiedTokenCacheSize = 10_000;
+
+    // Overlap of consecutive revocation syncs in milliseconds, covering clock skew between instances
+    private long revocationSyncOverlapMs = 30_000;
+
+    // Number of revoked tokens the revocation filter is sized for (grows with the blacklist on rebuild)
+    private int revocationFilterExpectedInsertions = 100_000;
+
+    // False-positive probability of the revocation filter at its expected number of revoked tokens
+    private double revocationFilterFpp = 0.01;
+
+    // Maximum number of revoked tokens kept in memory, the soonest expiring ones are evicted beyond it
+    private int blacklistMaxSize = 200_000;
 }
@@ -0,0 +1,40 @@
+package com.romiiis.infrastructure.security.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for login throttling.
+ * This class maps properties prefixed with "app.login-throttle" from the application configuration.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.login-throttle")
+@Getter
+@Setter
+public class LoginThrottleProperties {
+
+    // Sliding window in which failed login attempts are counted
+    private Duration window = Duration.ofMinutes(15);
+
+    // Failed attempts for one email allowed within the window before attempts are delayed
+    private int emailFreeAttempts = 5;
+
+    // Failed attempts from one client address allowed within the window (higher, addresses may be shared)
+    private int ipFreeAttempts = 20;
+
+    // Delay after the first failure beyond the free attempts, doubled with each further failure
+    private Duration baseDelay = Duration.ofSeconds(1);
+
+    // Maximum delay between attempts
+    private Duration maxDelay = Duration.ofMinutes(15);
+
+    // Number of counters per hash row (rounded up to a power of two), trading memory for fewer collisions
+    private int stripes = 65_536;
+
+    // Emails whose successful login is remembered (for two windows), their failures are then counted exactly
+    private int successMarkers = 100_000;
+}
@@ -0,0 +1,31 @@
+package com.romiiis.infrastructure.security.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for password hashing.
+ * This class maps properties prefixed with "app.password" from the application configuration.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.password")
+@Getter
+@Setter
+public class PasswordHasherProperties {
+
+    // BCrypt cost factor (log2 of the number of rounds), each increment doubles the hashing time
+    private int bcryptCost = 10;
+
+    // Number of threads hashing and verifying passwords
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    // Number of hashing tasks waiting for a thread, beyond which requests are rejected with 429
+    private int queueCapacity = 64;
+
+    // Maximum time a request waits for its password to be hashed or verified
+    private Duration timeout = Duration.ofSeconds(5);
+}
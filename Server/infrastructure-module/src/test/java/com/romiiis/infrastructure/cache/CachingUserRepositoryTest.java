@@ -0,0 +1,128 @@
+package com.romiiis.infrastructure.cache;
+
+import com.romiiis.domain.User;
+import com.romiiis.domain.UserRole;
+import com.romiiis.filter.BulkField;
+import com.romiiis.filter.BulkUpdate;
+import com.romiiis.filter.UsersFilter;
+import com.romiiis.repository.IUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingUserRepositoryTest {
+
+    private IUserRepository delegate;
+    private CachingUserRepository repository;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(IUserRepository.class);
+        repository = new CachingUserRepository(delegate, 100, Duration.ofMinutes(5));
+        user = User.createCustomer("John", "john@test.com");
+        when(delegate.getUserById(user.getId())).thenReturn(Optional.of(user));
+    }
+
+    @DisplayName("Repeated lookups of the same user hit the database once")
+    @Test
+    void repeatedLookupsAreCached() {
+        assertEquals(user.getId(), repository.getUserById(user.getId()).orElseThrow().getId());
+        assertEquals(user.getId(), repository.getUserById(user.getId()).orElseThrow().getId());
+        assertEquals(UserRole.CUSTOMER, repository.getRoleById(user.getId()));
+
+        verify(delegate, times(1)).getUserById(user.getId());
+        verify(delegate, never()).getRoleById(any());
+        assertEquals(2, repository.getStats().hits());
+        assertEquals(1, repository.getStats().misses());
+    }
+
+    @DisplayName("Changes of a returned user are not visible to other lookups before saving")
+    @Test
+    void returnedUsersAreCopies() {
+        User first = repository.getUserById(user.getId()).orElseThrow();
+        first.withHashedPassword("unsaved");
+
+        User second = repository.getUserById(user.getId()).orElseThrow();
+        assertNotSame(first, second);
+        assertNull(second.getHashedPassword());
+    }
+
+    @DisplayName("Saving a user invalidates the cached user")
+    @Test
+    void saveInvalidatesUser() {
+        repository.getUserById(user.getId());
+        repository.save(user);
+        repository.getUserById(user.getId());
+
+        verify(delegate, times(2)).getUserById(user.getId());
+    }
+
+    @DisplayName("Bulk update invalidates all cached users")
+    @Test
+    void updateManyInvalidatesAll() {
+        repository.getUserById(user.getId());
+        repository.updateMany(new UsersFilter(), new BulkUpdate<User>().set(BulkField.USER_NAME, "Jane"));
+        repository.getUserById(user.getId());
+
+        verify(delegate, times(2)).getUserById(user.getId());
+    }
+
+    @DisplayName("Missing users are not cached")
+    @Test
+    void missingUserIsNotCached() {
+        UUID missing = UUID.randomUUID();
+        when(delegate.getUserById(missing)).thenReturn(Optional.empty());
+
+        assertTrue(repository.getUserById(missing).isEmpty());
+        assertTrue(repository.getUserById(missing).isEmpty());
+
+        verify(delegate, times(2)).getUserById(missing);
+    }
+
+    @DisplayName("Cache entries expire after TTL and the least recently used entry is evicted")
+    @Test
+    void entriesExpireAndAreEvicted() {
+        AtomicLong now = new AtomicLong();
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(2, Duration.ofSeconds(10), now::get);
+
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.getIfPresent("a");
+        cache.put("c", "3");
+
+        assertNull(cache.getIfPresent("b"));
+        assertEquals("1", cache.getIfPresent("a"));
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertNull(cache.getIfPresent("a"));
+        assertEquals(2, cache.stats().evictions());
+    }
+
+    @DisplayName("A large full cache is trimmed below its size, keeping the recently accessed entries")
+    @Test
+    void largeCacheIsTrimmedWithSlack() {
+        AtomicLong now = new AtomicLong();
+        ExpiringLruCache<Integer, String> cache = new ExpiringLruCache<>(200, Duration.ofSeconds(10), now::get);
+        for (int i = 0; i < 200; i++) {
+            cache.put(i, "v" + i);
+            now.incrementAndGet();
+        }
+        cache.getIfPresent(0);
+
+        cache.put(200, "v200");
+
+        assertEquals(180, cache.size());
+        assertEquals("v0", cache.getIfPresent(0));
+        assertNull(cache.getIfPresent(1));
+        assertEquals(21, cache.stats().evictions());
+    }
+}
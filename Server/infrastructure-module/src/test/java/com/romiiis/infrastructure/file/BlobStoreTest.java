@@ -0,0 +1,125 @@
+package com.romiiis.infrastructure.file;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlobStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path projects;
+    private BlobStore blobStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        projects = Files.createDirectories(tempDir.resolve("files"));
+        blobStore = new BlobStore(tempDir.resolve("blobs"), Duration.ofHours(1));
+    }
+
+    @DisplayName("store should keep one blob for the same content stored several times")
+    @Test
+    void store_shouldDeduplicateContent() throws Exception {
+        Path first = projects.resolve("first");
+        Path second = projects.resolve("second");
+
+        String firstDigest = blobStore.store(new ByteArrayInputStream("Same document".getBytes()), first);
+        String secondDigest = blobStore.store(new ByteArrayInputStream("Same document".getBytes()), second);
+
+        assertEquals(firstDigest, secondDigest);
+        assertTrue(Files.isSameFile(first, second));
+        assertTrue(Files.isSameFile(first, blobStore.blobPath(firstDigest)));
+        assertEquals("Same document", Files.readString(second));
+        assertEquals(new BlobStore.BlobStats(1, 1, 0), blobStore.getStats());
+    }
+
+    @DisplayName("store should replace the content of the target")
+    @Test
+    void store_shouldReplaceTarget() throws Exception {
+        Path target = projects.resolve("translated");
+
+        blobStore.store(new ByteArrayInputStream("Draft".getBytes()), target);
+        blobStore.store(new ByteArrayInputStream("Final".getBytes()), target);
+
+        assertEquals("Final", Files.readString(target));
+        try (var files = Files.list(projects)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @DisplayName("store should keep the content while another instance collects the same blob")
+    @Test
+    void store_shouldSurviveCollectionByAnotherInstance() throws Exception {
+        BlobStore otherInstance = new BlobStore(tempDir.resolve("blobs"), Duration.ofHours(1));
+        AtomicBoolean storing = new AtomicBoolean(true);
+        AtomicReference<Exception> collectorFailure = new AtomicReference<>();
+        Thread collector = new Thread(() -> {
+            try {
+                while (storing.get()) {
+                    otherInstance.collectGarbage();
+                }
+            } catch (IOException | RuntimeException e) {
+                collectorFailure.set(e);
+            }
+        });
+        collector.start();
+        try {
+            for (int i = 0; i < 200; i++) {
+                Path target = projects.resolve("upload-" + i);
+                blobStore.store(new ByteArrayInputStream("Shared document".getBytes()), target);
+                assertEquals("Shared document", Files.readString(target));
+                // Unreferenced again, so the other instance may collect it before the next upload links it
+                Files.delete(target);
+            }
+        } finally {
+            storing.set(false);
+            collector.join();
+        }
+        assertNull(collectorFailure.get());
+    }
+
+    @DisplayName("collectGarbage should delete only blobs no longer referenced")
+    @Test
+    void collectGarbage_shouldDeleteUnreferencedBlobs() throws Exception {
+        Path kept = projects.resolve("kept");
+        Path removed = projects.resolve("removed");
+        String keptDigest = blobStore.store(new ByteArrayInputStream("Kept".getBytes()), kept);
+        String removedDigest = blobStore.store(new ByteArrayInputStream("Removed".getBytes()), removed);
+        Files.delete(removed);
+
+        assertEquals(1, blobStore.collectGarbage());
+
+        assertTrue(Files.exists(blobStore.blobPath(keptDigest)));
+        assertFalse(Files.exists(blobStore.blobPath(removedDigest)));
+        assertEquals("Kept", Files.readString(kept));
+        assertEquals(0, blobStore.collectGarbage());
+    }
+
+    @DisplayName("collectGarbage should delete abandoned temporary files only")
+    @Test
+    void collectGarbage_shouldDeleteAbandonedTempFiles() throws Exception {
+        Path tempFiles = Files.createDirectories(tempDir.resolve("blobs").resolve("tmp"));
+        Path abandoned = Files.writeString(tempFiles.resolve("blob1.part"), "partial");
+        Files.setLastModifiedTime(abandoned, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        Path inProgress = Files.writeString(tempFiles.resolve("blob2.part"), "partial");
+
+        blobStore.collectGarbage();
+
+        assertFalse(Files.exists(abandoned));
+        assertTrue(Files.exists(inProgress));
+    }
+}
@@ -0,0 +1,151 @@
+package com.romiiis.infrastructure.file;
+
+import com.romiiis.configuration.ResourceHeader;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+class CompressingFileSystemServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FileSystemServiceImpl storage;
+    private UUID projectId;
+
+    @BeforeEach
+    void setUp() {
+        storage = new FileSystemServiceImpl(Path.of(System.getProperty("user.dir")).relativize(tempDir).toString());
+        projectId = UUID.randomUUID();
+    }
+
+    @DisplayName("Compressed file should be stored smaller and read back decoded")
+    @Test
+    void saveAndGet_roundTrip() throws Exception {
+        var service = new CompressingFileSystemService(storage, true, 6);
+        byte[] content = "Hello translated world! ".repeat(1000).getBytes();
+
+        service.saveTranslatedFile(projectId, content);
+        ResourceHeader header = service.getTranslatedFile(projectId);
+
+        Assertions.assertArrayEquals(content, header.resourceData());
+        ResourceHeader.Encoding encoding = header.encoding();
+        Assertions.assertNotNull(encoding);
+        Assertions.assertEquals("gzip", encoding.name());
+        Assertions.assertEquals(content.length, encoding.decodedLength());
+        Assertions.assertTrue(Files.size(header.file()) < content.length);
+        Assertions.assertEquals(Files.size(header.file()),
+                encoding.offset() + encoding.length() + CompressingFileSystemService.TRAILER_LENGTH);
+    }
+
+    @DisplayName("Coded bytes of a compressed file should be a valid gzip member")
+    @Test
+    void get_codedBytesAreGzip() throws Exception {
+        var service = new CompressingFileSystemService(storage, true, 9);
+        byte[] content = new byte[200_000];
+        new Random(7).nextBytes(content);
+
+        service.saveOriginalFile(projectId, new ByteArrayInputStream(content));
+        ResourceHeader header = service.getOriginalFile(projectId);
+        ResourceHeader.Encoding encoding = header.encoding();
+
+        byte[] stored = Files.readAllBytes(header.file());
+        byte[] coded = Arrays.copyOfRange(stored, (int) encoding.offset(),
+                (int) (encoding.offset() + encoding.length()));
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(coded))) {
+            Assertions.assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+    @DisplayName("Files stored before the framing should be read as they are")
+    @Test
+    void get_unframedFile() throws Exception {
+        // Raw content starting with the gzip magic must not be mistaken for a compressed file
+        byte[] content = {0x1f, (byte) 0x8b, 8, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14};
+        storage.saveOriginalFile(projectId, content);
+
+        var service = new CompressingFileSystemService(storage, true, 6);
+        ResourceHeader header = service.getOriginalFile(projectId);
+
+        Assertions.assertNull(header.encoding());
+        Assertions.assertArrayEquals(content, header.resourceData());
+        Assertions.assertArrayEquals(content, Files.readAllBytes(header.file()));
+    }
+
+    @DisplayName("Files stored before the framing starting with the frame magic should be read as they are")
+    @Test
+    void get_unframedFileStartingWithMagic() throws Exception {
+        byte[] gzipCodec = "PIAZ\u0001\0\0\0 user data, not a gzip member".getBytes();
+        byte[] unknownCodec = "PIAZ\u0007\0\0\0 user data".getBytes();
+        storage.saveOriginalFile(projectId, gzipCodec);
+        storage.saveTranslatedFile(projectId, unknownCodec);
+
+        var service = new CompressingFileSystemService(storage, true, 6);
+        ResourceHeader original = service.getOriginalFile(projectId);
+        ResourceHeader translated = service.getTranslatedFile(projectId);
+
+        Assertions.assertNull(original.encoding());
+        Assertions.assertArrayEquals(gzipCodec, original.resourceData());
+        Assertions.assertNull(translated.encoding());
+        Assertions.assertArrayEquals(unknownCodec, translated.resourceData());
+    }
+
+    @DisplayName("Files stored without compression should be framed as is, whatever data they start with")
+    @Test
+    void saveAndGet_identity() throws Exception {
+        byte[] content = "PIAZ\u0001\0\0\0 starts like a framed file".getBytes();
+        new CompressingFileSystemService(storage, false, 6).saveOriginalFile(projectId, content);
+
+        for (boolean compress : new boolean[]{false, true}) {
+            ResourceHeader header = new CompressingFileSystemService(storage, compress, 6).getOriginalFile(projectId);
+
+            ResourceHeader.Encoding encoding = header.encoding();
+            Assertions.assertNotNull(encoding);
+            Assertions.assertTrue(encoding.isIdentity());
+            Assertions.assertEquals(content.length, encoding.length());
+            Assertions.assertEquals(content.length, encoding.decodedLength());
+            Assertions.assertArrayEquals(content, header.resourceData());
+            Assertions.assertArrayEquals(content, Arrays.copyOfRange(Files.readAllBytes(header.file()),
+                    (int) encoding.offset(), (int) (encoding.offset() + encoding.length())));
+        }
+    }
+
+    @DisplayName("Compressed files should stay readable when the compression is disabled")
+    @Test
+    void get_compressedFileWithCompressionDisabled() throws Exception {
+        byte[] content = "Compressed before".getBytes();
+        new CompressingFileSystemService(storage, true, 6).saveOriginalFile(projectId, content);
+
+        ResourceHeader header = new CompressingFileSystemService(storage, false, 6).getOriginalFile(projectId);
+
+        Assertions.assertNotNull(header.encoding());
+        Assertions.assertArrayEquals(content, header.resourceData());
+    }
+
+    @DisplayName("Gzip encoding stream read byte by byte should decode to the source")
+    @Test
+    void gzipEncodingInputStream_smallReads() throws IOException {
+        byte[] content = "abcabcabc-".repeat(5000).getBytes();
+        var encoded = new ByteArrayOutputStream();
+        try (var gzip = new GzipEncodingInputStream(new ByteArrayInputStream(content), 6)) {
+            for (int b = gzip.read(); b >= 0; b = gzip.read()) {
+                encoded.write(b);
+            }
+            Assertions.assertEquals(content.length, gzip.bytesRead());
+        }
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(encoded.toByteArray()))) {
+            Assertions.assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+}
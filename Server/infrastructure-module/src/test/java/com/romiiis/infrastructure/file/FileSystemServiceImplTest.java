@@ -2,13 +2,21 @@ package com.romiiis.infrastructure.file;
 
 import com.romiiis.configuration.ResourceHeader;
 import com.romiiis.exception.FileNotFoundException;
+import com.romiiis.exception.FileStorageException;
 import org.junit.jupiter.api.*;
 
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
 import java.util.UUID;
 
 /**
@@ -72,6 +80,79 @@ class FileSystemServiceImplTest {
         Assertions.assertArrayEquals(content, result.resourceData());
     }
 
+    @DisplayName("getOriginalFile should return a file-backed header without reading the file")
+    @Test
+    void getOriginalFile_returnsFileBackedHeader() throws Exception {
+        UUID projectId = UUID.randomUUID();
+        byte[] content = "Hello World!".getBytes();
+        fileSystemService.saveOriginalFile(projectId, content);
+
+        ResourceHeader result = fileSystemService.getOriginalFile(projectId);
+
+        Assertions.assertNotNull(result.file());
+        Assertions.assertEquals(content.length, Files.size(result.file()));
+        Files.write(result.file(), "Changed".getBytes());
+        Assertions.assertArrayEquals("Changed".getBytes(), result.resourceData());
+    }
+
+    @DisplayName("getOriginalFile should return the digest stored when the file was saved")
+    @Test
+    void getOriginalFile_returnsStoredDigest() throws Exception {
+        UUID projectId = UUID.randomUUID();
+        byte[] content = "Hello World!".getBytes();
+        fileSystemService.saveOriginalFile(projectId, content);
+
+        ResourceHeader result = fileSystemService.getOriginalFile(projectId);
+
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        Assertions.assertEquals(expected, result.digest());
+    }
+
+    @DisplayName("getOriginalFile should not return a digest that does not match the file")
+    @Test
+    void getOriginalFile_ignoresStaleDigest() throws Exception {
+        UUID projectId = UUID.randomUUID();
+        fileSystemService.saveOriginalFile(projectId, "Hello World!".getBytes());
+        Path file = fileSystemService.getOriginalFile(projectId).file();
+
+        Files.write(file, "Replaced behind the service's back".getBytes());
+
+        Assertions.assertNull(fileSystemService.getOriginalFile(projectId).digest());
+    }
+
+    @DisplayName("saveOriginalFile should store the same document of several projects once")
+    @Test
+    void saveOriginalFile_deduplicatesContent() throws Exception {
+        UUID firstProject = UUID.randomUUID();
+        UUID secondProject = UUID.randomUUID();
+        byte[] content = "Same source document".getBytes();
+
+        fileSystemService.saveOriginalFile(firstProject, content);
+        fileSystemService.saveOriginalFile(secondProject, content);
+
+        Path first = fileSystemService.getOriginalFile(firstProject).file();
+        Path second = fileSystemService.getOriginalFile(secondProject).file();
+        Assertions.assertTrue(Files.isSameFile(first, second));
+        Assertions.assertEquals(1, fileSystemService.getBlobStats().deduplicated());
+    }
+
+    @DisplayName("collectGarbage should keep content until no project references it")
+    @Test
+    void collectGarbage_keepsReferencedContent() throws Exception {
+        UUID firstProject = UUID.randomUUID();
+        UUID secondProject = UUID.randomUUID();
+        byte[] content = "Shared document".getBytes();
+        fileSystemService.saveOriginalFile(firstProject, content);
+        fileSystemService.saveOriginalFile(secondProject, content);
+
+        fileSystemService.deleteProjectFolder(firstProject.toString());
+        Assertions.assertEquals(0, fileSystemService.collectGarbage());
+        Assertions.assertArrayEquals(content, fileSystemService.getOriginalFile(secondProject).resourceData());
+
+        fileSystemService.deleteProjectFolder(secondProject.toString());
+        Assertions.assertEquals(1, fileSystemService.collectGarbage());
+    }
+
     @DisplayName("getOriginalFile should throw FileNotFoundException if file does not exist")
     @Test
     void getOriginalFile_shouldThrow_whenMissing() {
@@ -85,4 +166,38 @@ class FileSystemServiceImplTest {
         UUID projectId = UUID.randomUUID();
         Assertions.assertThrows(FileNotFoundException.class, () -> fileSystemService.getTranslatedFile(projectId));
     }
+
+    @DisplayName("saveOriginalFile should stream large content to the file")
+    @Test
+    void saveOriginalFile_streamsContent() throws Exception {
+        UUID projectId = UUID.randomUUID();
+        byte[] content = new byte[3 * 1024 * 1024 + 7];
+        new Random(42).nextBytes(content);
+
+        fileSystemService.saveOriginalFile(projectId, new ByteArrayInputStream(content));
+
+        Assertions.assertArrayEquals(content, fileSystemService.getOriginalFile(projectId).resourceData());
+    }
+
+    @DisplayName("saveTranslatedFile should keep the previous file and leave no partial file when the stream fails")
+    @Test
+    void saveTranslatedFile_shouldKeepPrevious_whenStreamFails() throws Exception {
+        UUID projectId = UUID.randomUUID();
+        byte[] previous = "Previous translation".getBytes();
+        fileSystemService.saveTranslatedFile(projectId, previous);
+
+        InputStream failing = new SequenceInputStream(new ByteArrayInputStream(new byte[8192]), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+
+        Assertions.assertThrows(FileStorageException.class, () -> fileSystemService.saveTranslatedFile(projectId, failing));
+        Assertions.assertArrayEquals(previous, fileSystemService.getTranslatedFile(projectId).resourceData());
+        try (var files = Files.list(Path.of(System.getProperty("user.dir"), "tempTestDir", "files", projectId.toString()))) {
+            Assertions.assertEquals(List.of("translated", "translated.sha256"),
+                    files.map(path -> path.getFileName().toString()).sorted().toList());
+        }
+    }
 }
@@ -0,0 +1,322 @@
+package com.romiiis.infrastructure.security;
+
+import com.romiiis.domain.User;
+import com.romiiis.domain.UserRole;
+import com.romiiis.infrastructure.security.config.JwtProperties;
+import com.romiiis.port.IExecutionContextProvider;
+import com.romiiis.repository.IRefreshTokenFamilyRepository;
+import com.romiiis.repository.IRevokedTokenRepository;
+import com.romiiis.repository.IUserRepository;
+import com.romiiis.security.RefreshTokenFamily;
+import com.romiiis.security.RevokedToken;
+import com.romiiis.security.TokenPair;
+import com.romiiis.security.VerifiedToken;
+import com.romiiis.service.api.IUserService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class JwtServiceImplTest {
+
+    private IUserRepository userRepository;
+    private IRevokedTokenRepository revokedTokenRepository;
+    private IRefreshTokenFamilyRepository refreshTokenFamilyRepository;
+    private JwtServiceImpl jwtService;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties props = new JwtProperties();
+        props.setSecret("test-secret-key-that-is-long-enough-for-hs256!");
+        props.setIssuer("piae-api");
+        props.setAccessExpirationMs(900_000);
+        props.setRefreshExpirationMs(3_600_000);
+
+        userRepository = mock(IUserRepository.class);
+        revokedTokenRepository = mock(IRevokedTokenRepository.class);
+        refreshTokenFamilyRepository = mock(IRefreshTokenFamilyRepository.class);
+        jwtService = new JwtServiceImpl(props, mock(IUserService.class), userRepository, revokedTokenRepository,
+                refreshTokenFamilyRepository, mock(IExecutionContextProvider.class));
+    }
+
+    @DisplayName("Role is read from the token claims without a role lookup")
+    @Test
+    void roleIsReadFromClaims() {
+        User translator = User.createTranslator("Eva", "eva@test.com", Set.of(Locale.GERMAN));
+        when(userRepository.getUserById(translator.getId())).thenReturn(Optional.of(translator));
+
+        String token = jwtService.generateToken(translator.getId());
+
+        VerifiedToken verified = jwtService.verify(token).orElseThrow();
+        assertEquals(Optional.of(UserRole.TRANSLATOR), verified.role());
+        assertEquals(translator.getId().toString(), verified.subject());
+        verify(userRepository, never()).getRoleById(any());
+    }
+
+    @DisplayName("Access token issued before a role change is rejected")
+    @Test
+    void tokenWithOutdatedVersionIsRejected() {
+        User user = User.createUser("John", "john@test.com", "hash");
+        when(userRepository.getUserById(user.getId())).thenReturn(Optional.of(user));
+
+        String staleToken = jwtService.generateToken(user.getId());
+        assertEquals(Optional.empty(), jwtService.verify(staleToken).orElseThrow().role());
+
+        user.initializeUser(UserRole.CUSTOMER, Set.of());
+
+        assertTrue(jwtService.verify(staleToken).isEmpty());
+        String freshToken = jwtService.generateToken(user.getId());
+        assertEquals(Optional.of(UserRole.CUSTOMER), jwtService.verify(freshToken).orElseThrow().role());
+    }
+
+    @DisplayName("Refresh token stays valid after a role change")
+    @Test
+    void refreshTokenIsNotVersioned() {
+        User user = User.createUser("John", "john@test.com", "hash");
+        when(userRepository.getUserById(user.getId())).thenReturn(Optional.of(user));
+
+        String refreshToken = jwtService.generateRefreshToken(user.getId());
+        user.initializeUser(UserRole.CUSTOMER, Set.of());
+
+        assertTrue(jwtService.verify(refreshToken).orElseThrow().isRefreshToken());
+    }
+
+    @DisplayName("verify() returns all claims of a valid token at once")
+    @Test
+    void verifyReturnsClaims() {
+        User admin = User.createAdmin("Admin", "admin@test.com");
+        when(userRepository.getUserById(admin.getId())).thenReturn(Optional.of(admin));
+
+        VerifiedToken token = jwtService.verify(jwtService.generateToken(admin.getId())).orElseThrow();
+
+        assertEquals(admin.getId(), token.userId());
+        assertTrue(token.isAccessToken());
+        assertNotNull(token.jti());
+        assertEquals(Optional.of(UserRole.ADMINISTRATOR), token.role());
+        assertTrue(token.remainingLifetimeMs() > 0);
+    }
+
+    @DisplayName("Token pair carries the expiration times of its tokens")
+    @Test
+    void tokenPairCarriesExpirations() {
+        User user = User.createCustomer("John", "john@test.com");
+        when(userRepository.getUserById(user.getId())).thenReturn(Optional.of(user));
+
+        TokenPair pair = jwtService.generateTokenPair(user.getId());
+
+        // Token expiration has a precision of seconds
+        Instant access = jwtService.verify(pair.accessToken()).orElseThrow().expiresAt();
+        Instant refresh = jwtService.verify(pair.refreshToken()).orElseThrow().expiresAt();
+        assertEquals(access, pair.accessExpiresAt().truncatedTo(ChronoUnit.SECONDS));
+        assertEquals(refresh, pair.refreshExpiresAt().truncatedTo(ChronoUnit.SECONDS));
+        assertTrue(pair.refreshExpiresAt().isAfter(pair.accessExpiresAt()));
+    }
+
+    @DisplayName("verify() rejects invalidated and malformed tokens")
+    @Test
+    void verifyRejectsInvalidTokens() {
+        User user = User.createCustomer("John", "john@test.com");
+        when(userRepository.getUserById(user.getId())).thenReturn(Optional.of(user));
+        String refreshToken = jwtService.generateRefreshToken(user.getId());
+
+        jwtService.invalidateToken(jwtService.verify(refreshToken).orElseThrow());
+
+        assertTrue(jwtService.verify(refreshToken).isEmpty());
+        assertTrue(jwtService.verify("not-a-token").isEmpty());
+    }
+
+    @DisplayName("verify() rejects a correctly signed token without expiration")
+    @Test
+    void verifyRejectsTokenWithoutExpiration() {
+        String token = Jwts.builder()
+                .setSubject(UUID.randomUUID().toString())
+                .setIssuer("piae-api")
+                .claim(VerifiedToken.CLAIM_TYPE, VerifiedToken.TYPE_ACCESS)
+                .signWith(Keys.hmacShaKeyFor("test-secret-key-that-is-long-enough-for-hs256!".getBytes(StandardCharsets.UTF_8)),
+                        SignatureAlgorithm.HS256)
+                .compact();
+
+        assertTrue(jwtService.verify(token).isEmpty());
+    }
+
+    @DisplayName("Repeated verification is served from the cache but still honours invalidation")
+    @Test
+    void repeatedVerificationIsCached() {
+        User user = User.createCustomer("John", "john@test.com");
+        when(userRepository.getUserById(user.getId())).thenReturn(Optional.of(user));
+        String token = jwtService.generateToken(user.getId());
+
+        assertTrue(jwtService.verify(token).isPresent());
+        assertTrue(jwtService.verify(token).isPresent());
+        assertEquals(1, jwtService.getVerifiedTokenCacheStats().hits());
+
+        jwtService.invalidateToken(token);
+
+        assertTrue(jwtService.verify(token).isEmpty());
+    }
+
+    @DisplayName("Invalidated token is written to the shared store")
+    @Test
+    void invalidationIsShared() {
+        User user = User.createCustomer("John", "john@test.com");
+        when(userRepository.getUserById(user.getId())).thenReturn(Optional.of(user));
+        VerifiedToken token = jwtService.verify(jwtService.generateToken(user.getId())).orElseThrow();
+
+        jwtService.invalidateToken(token);
+
+        ArgumentCaptor<RevokedToken> captor = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(captor.capture());
+        assertEquals(token.jti(), captor.getValue().jti());
+        assertEquals(token.expiresAt(), captor.getValue().expiresAt());
+    }
+
+    @DisplayName("Revocation evicted from the full blacklist is still rejected by asking the shared store")
+    @Test
+    void evictedRevocationFallsBackToStore() {
+        JwtProperties props = new JwtProperties();
+        props.setSecret("test-secret-key-that-is-long-enough-for-hs256!");
+        props.setIssuer("piae-api");
+        props.setAccessExpirationMs(900_000);
+        props.setRefreshExpirationMs(3_600_000);
+        props.setBlacklistMaxSize(1);
+        JwtServiceImpl smallService = new JwtServiceImpl(props, mock(IUserService.class), userRepository,
+                revokedTokenRepository, refreshTokenFamilyRepository, mock(IExecutionContextProvider.class));
+
+        User user = User.createCustomer("John", "john@test.com");
+        when(userRepository.getUserById(user.getId())).thenReturn(Optional.of(user));
+        VerifiedToken access = smallService.verify(smallService.generateToken(user.getId())).orElseThrow();
+        VerifiedToken refresh = smallService.verify(smallService.generateRefreshToken(user.getId())).orElseThrow();
+        when(revokedTokenRepository.isRevoked(access.jti())).thenReturn(true);
+
+        smallService.invalidateToken(access);
+        smallService.invalidateToken(refresh);
+        smallService.rebuildRevocationFilter();
+
+        assertTrue(smallService.isTokenInvalidated(access.jti()));
+        assertTrue(smallService.isTokenInvalidated(refresh.jti()));
+        assertEquals(1, smallService.getRevocationFilterStats().storeFallbacks());
+    }
+
+    @DisplayName("Tokens revoked by another instance are rejected after a sync, without a store read per check")
+    @Test
+    void revocationsOfOtherInstancesAreSynced() {
+        User user = User.createCustomer("John", "john@test.com");
+        when(userRepository.getUserById(user.getId())).thenReturn(Optional.of(user));
+        String token = jwtService.generateToken(user.getId());
+        VerifiedToken verified = jwtService.verify(token).orElseThrow();
+
+        when(revokedTokenRepository.getRevokedSince(Instant.EPOCH))
+                .thenReturn(List.of(new RevokedToken(verified.jti(), verified.expiresAt(), Instant.now())));
+        jwtService.syncRevokedTokens();
+
+        assertTrue(jwtService.verify(token).isEmpty());
+        assertTrue(jwtService.isTokenInvalidated(verified.jti()));
+        verify(revokedTokenRepository, times(1)).getRevokedSince(any());
+    }
+
+    @DisplayName("Consecutive syncs pull only recent revocations, with an overlap")
+    @Test
+    void syncPullsOverlappingWindow() {
+        Instant before = Instant.now();
+        jwtService.syncRevokedTokens();
+        jwtService.syncRevokedTokens();
+        Instant after = Instant.now();
+
+        ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+        verify(revokedTokenRepository, times(2)).getRevokedSince(since.capture());
+        assertEquals(Instant.EPOCH, since.getAllValues().get(0));
+        Instant second = since.getAllValues().get(1);
+        assertFalse(second.isBefore(before.minusSeconds(30)));
+        assertFalse(second.isAfter(after.minusSeconds(30)));
+    }
+
+    @DisplayName("Revocation checks of not revoked tokens are answered by the filter")
+    @Test
+    void revocationFilterRulesOutUnrevokedTokens() {
+        User user = User.createCustomer("John", "john@test.com");
+        when(userRepository.getUserById(user.getId())).thenReturn(Optional.of(user));
+        VerifiedToken revoked = jwtService.verify(jwtService.generateToken(user.getId())).orElseThrow();
+        jwtService.invalidateToken(revoked);
+        long checksBefore = jwtService.getRevocationFilterStats().checks();
+
+        for (int i = 0; i < 1_000; i++) {
+            assertFalse(jwtService.isTokenInvalidated(UUID.randomUUID().toString()));
+        }
+        assertTrue(jwtService.isTokenInvalidated(revoked.jti()));
+
+        JwtServiceImpl.RevocationFilterStats stats = jwtService.getRevocationFilterStats();
+        assertEquals(1_001, stats.checks() - checksBefore);
+        assertEquals(1, stats.filterPositives() - stats.falsePositives());
+        assertTrue(stats.falsePositiveRate() < 0.01);
+    }
+
+    @DisplayName("Rebuilding the revocation filter keeps revoked tokens and drops expired ones")
+    @Test
+    void rebuildKeepsRevokedTokens() {
+        when(revokedTokenRepository.getRevokedSince(any())).thenReturn(List.of(
+                new RevokedToken("revoked", Instant.now().plusSeconds(60), Instant.now()),
+                new RevokedToken("expired", Instant.now().minusSeconds(1), Instant.now())));
+        jwtService.syncRevokedTokens();
+
+        jwtService.rebuildRevocationFilter();
+
+        assertTrue(jwtService.isTokenInvalidated("revoked"));
+        assertFalse(jwtService.isTokenInvalidated("expired"));
+    }
+
+    @DisplayName("Refresh token starts a family and is rotated to the next token of the family")
+    @Test
+    void refreshTokenIsRotated() {
+        User user = User.createCustomer("John", "john@test.com");
+        when(userRepository.getUserById(user.getId())).thenReturn(Optional.of(user));
+        VerifiedToken refreshToken = jwtService.verify(jwtService.generateRefreshToken(user.getId())).orElseThrow();
+
+        ArgumentCaptor<RefreshTokenFamily> family = ArgumentCaptor.forClass(RefreshTokenFamily.class);
+        verify(refreshTokenFamilyRepository).save(family.capture());
+        assertEquals(Optional.of(family.getValue().familyId()), refreshToken.familyId());
+        assertEquals(refreshToken.jti(), family.getValue().currentJti());
+
+        when(refreshTokenFamilyRepository.rotate(eq(family.getValue().familyId()), eq(refreshToken.jti()), any(), any()))
+                .thenReturn(true);
+        TokenPair rotated = jwtService.rotateRefreshToken(refreshToken).orElseThrow();
+
+        VerifiedToken next = jwtService.verify(rotated.refreshToken()).orElseThrow();
+        assertEquals(refreshToken.familyId(), next.familyId());
+        assertNotEquals(refreshToken.jti(), next.jti());
+        verify(refreshTokenFamilyRepository).rotate(eq(family.getValue().familyId()), eq(refreshToken.jti()), eq(next.jti()), any());
+        assertTrue(jwtService.verify(rotated.accessToken()).isPresent());
+    }
+
+    @DisplayName("Reusing a rotated refresh token revokes its whole family")
+    @Test
+    void refreshTokenReuseRevokesFamily() {
+        User user = User.createCustomer("John", "john@test.com");
+        VerifiedToken reused = jwtService.verify(jwtService.generateRefreshToken(user.getId())).orElseThrow();
+        String familyId = reused.familyId().orElseThrow();
+        RefreshTokenFamily family = new RefreshTokenFamily(familyId, user.getId(), "current-jti", Instant.now().plusSeconds(60));
+        when(refreshTokenFamilyRepository.rotate(eq(familyId), eq(reused.jti()), any(), any())).thenReturn(false);
+        when(refreshTokenFamilyRepository.remove(familyId)).thenReturn(Optional.of(family));
+
+        assertTrue(jwtService.rotateRefreshToken(reused).isEmpty());
+
+        verify(refreshTokenFamilyRepository).remove(familyId);
+        assertTrue(jwtService.isTokenInvalidated("current-jti"));
+        verify(revokedTokenRepository).save(any());
+    }
+}
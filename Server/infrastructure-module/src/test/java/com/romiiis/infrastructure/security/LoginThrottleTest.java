@@ -0,0 +1,126 @@
+package com.romiiis.infrastructure.security;
+
+import com.romiiis.infrastructure.security.config.LoginThrottleProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        LoginThrottleProperties props = new LoginThrottleProperties();
+        props.setWindow(Duration.ofMinutes(15));
+        props.setEmailFreeAttempts(3);
+        props.setIpFreeAttempts(5);
+        props.setBaseDelay(Duration.ofSeconds(1));
+        props.setMaxDelay(Duration.ofSeconds(8));
+        props.setStripes(1024);
+        throttle = new LoginThrottle(props, now::get);
+    }
+
+    @DisplayName("Email is blocked with a doubling delay once the free attempts are used")
+    @Test
+    void exponentialBackoffPerEmail() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("john@test.com", null);
+            assertFalse(throttle.isBlocked("john@test.com", null));
+        }
+
+        throttle.recordFailure("John@Test.com", null);
+        assertTrue(throttle.isBlocked("john@test.com", null));
+        now.addAndGet(1_000);
+        assertFalse(throttle.isBlocked("john@test.com", null));
+
+        throttle.recordFailure("john@test.com", null);
+        now.addAndGet(1_000);
+        assertTrue(throttle.isBlocked("john@test.com", null));
+        now.addAndGet(1_000);
+        assertFalse(throttle.isBlocked("john@test.com", null));
+
+        for (int i = 0; i < 10; i++) {
+            throttle.recordFailure("john@test.com", null);
+        }
+        now.addAndGet(7_999);
+        assertTrue(throttle.isBlocked("john@test.com", null));
+        now.addAndGet(1);
+        assertFalse(throttle.isBlocked("john@test.com", null), "delay is capped");
+
+        assertFalse(throttle.isBlocked("eva@test.com", null));
+    }
+
+    @DisplayName("Client address is blocked after failures across many emails")
+    @Test
+    void blockPerClientAddress() {
+        for (int i = 0; i < 6; i++) {
+            throttle.recordFailure("user" + i + "@test.com", "10.0.0.1");
+        }
+
+        assertTrue(throttle.isBlocked("new@test.com", "10.0.0.1"));
+        assertFalse(throttle.isBlocked("new@test.com", "10.0.0.2"));
+    }
+
+    @DisplayName("Successful login clears the failures of the email")
+    @Test
+    void successResets() {
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure("john@test.com", null);
+        }
+        throttle.recordSuccess("john@test.com");
+
+        assertFalse(throttle.isBlocked("john@test.com", null));
+        throttle.recordFailure("john@test.com", null);
+        assertFalse(throttle.isBlocked("john@test.com", null));
+    }
+
+    @DisplayName("Failures older than the window are forgotten")
+    @Test
+    void slidingWindowExpires() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("john@test.com", null);
+        }
+        now.addAndGet(Duration.ofMinutes(31).toMillis());
+
+        throttle.recordFailure("john@test.com", null);
+        assertFalse(throttle.isBlocked("john@test.com", null));
+    }
+
+    @DisplayName("Successful login of one email does not lift the block of another email")
+    @Test
+    void successDoesNotResetOtherEmails() {
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure("victim@test.com", null);
+        }
+        assertTrue(throttle.isBlocked("victim@test.com", null));
+
+        for (int i = 0; i < 1000; i++) {
+            throttle.recordSuccess("attacker" + i + "@test.com");
+        }
+
+        assertTrue(throttle.isBlocked("victim@test.com", null));
+    }
+
+    @DisplayName("Failures after a successful login are throttled again")
+    @Test
+    void failuresAfterSuccessAreThrottled() {
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure("john@test.com", null);
+        }
+        throttle.recordSuccess("john@test.com");
+
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("john@test.com", null);
+        }
+        assertFalse(throttle.isBlocked("john@test.com", null));
+        throttle.recordFailure("john@test.com", null);
+        assertTrue(throttle.isBlocked("john@test.com", null));
+    }
+}
@@ -0,0 +1,51 @@
+package com.romiiis.infrastructure.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Measures BCrypt hashing time per cost factor, to pick {@code app.password.bcrypt-cost}.
+ * Not a unit test; run its main method on hardware comparable to production,
+ * optionally with the minimal and maximal cost to measure as arguments (default 8 - 14).
+ * <p>
+ * Pick the highest cost whose average stays within the login latency budget (typically 50 - 250 ms);
+ * the hashing pool throughput is then roughly {@code threads * 1000 / avg ms} logins per second.
+ *
+ * @author Roman Pejs
+ */
+public final class PasswordHasherBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 10;
+
+    private PasswordHasherBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int minCost = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int maxCost = args.length > 1 ? Integer.parseInt(args[1]) : 14;
+
+        System.out.printf("%-6s %12s %12s%n", "cost", "hash ms", "verify ms");
+        for (int cost = minCost; cost <= maxCost; cost++) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+            String hash = encoder.encode("benchmark-password");
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                encoder.matches("benchmark-password", hash);
+            }
+
+            long hashNanos = 0;
+            long verifyNanos = 0;
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                long start = System.nanoTime();
+                hash = encoder.encode("benchmark-password");
+                hashNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                encoder.matches("benchmark-password", hash);
+                verifyNanos += System.nanoTime() - start;
+            }
+            System.out.printf("%-6d %12.1f %12.1f%n", cost,
+                    hashNanos / MEASURED_ITERATIONS / 1_000_000.0,
+                    verifyNanos / MEASURED_ITERATIONS / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.romiiis.infrastructure.security;
+
+import com.romiiis.exception.TooManyRequestsException;
+import com.romiiis.infrastructure.security.config.PasswordHasherProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherImplTest {
+
+    private PasswordHasherImpl hasher;
+
+    @AfterEach
+    void tearDown() {
+        hasher.close();
+    }
+
+    @DisplayName("Passwords are hashed and verified on the hashing pool")
+    @Test
+    void hashAndVerify() {
+        hasher = new PasswordHasherImpl(new BCryptPasswordEncoder(4), props(2, 4, Duration.ofSeconds(5)));
+
+        String hash = hasher.hash("secret");
+
+        assertTrue(hasher.verify("secret", hash));
+        assertFalse(hasher.verify("wrong", hash));
+        assertEquals(3, hasher.getStats().completed());
+    }
+
+    @DisplayName("Requests are rejected right away when the pool and its queue are full")
+    @Test
+    void saturatedPoolRejects() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        hasher = new PasswordHasherImpl(blockingEncoder(started, release), props(1, 1, Duration.ofSeconds(5)));
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.hash("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.hash("b"));
+        while (hasher.getStats().queued() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> hasher.hash("c"));
+        assertEquals(1, hasher.getStats().rejected());
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @DisplayName("Caller stops waiting after the timeout")
+    @Test
+    void slowHashTimesOut() {
+        CountDownLatch release = new CountDownLatch(1);
+        hasher = new PasswordHasherImpl(blockingEncoder(new CountDownLatch(1), release), props(1, 1, Duration.ofMillis(50)));
+
+        assertThrows(TooManyRequestsException.class, () -> hasher.hash("a"));
+        assertEquals(1, hasher.getStats().timedOut());
+        release.countDown();
+    }
+
+    private static PasswordHasherProperties props(int threads, int queueCapacity, Duration timeout) {
+        PasswordHasherProperties props = new PasswordHasherProperties();
+        props.setThreads(threads);
+        props.setQueueCapacity(queueCapacity);
+        props.setTimeout(timeout);
+        return props;
+    }
+
+    /**
+     * Encoder blocking until released, to keep the hashing threads busy
+     */
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+}
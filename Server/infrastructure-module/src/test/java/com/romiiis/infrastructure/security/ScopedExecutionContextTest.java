@@ -0,0 +1,66 @@
+package com.romiiis.infrastructure.security;
+
+import com.romiiis.domain.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScopedExecutionContextTest {
+
+    private final User customer = User.createCustomer("John", "john@test.com");
+    private final User admin = User.createAdmin("Admin", "admin@test.com");
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final ScopedExecutionContext context = new ScopedExecutionContext();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        context.clear();
+    }
+
+    @DisplayName("Caller is bound for the scope only and nested scopes restore the enclosing caller")
+    @Test
+    void callerIsScoped() {
+        context.runAs(customer, () -> {
+            assertEquals(customer, context.getCaller());
+            context.runAs(admin, () -> assertEquals(admin, context.getCaller()));
+            assertEquals(customer, context.getCaller());
+        });
+
+        assertNull(context.getCaller());
+    }
+
+    @DisplayName("Caller is restored when the scope throws")
+    @Test
+    void callerIsRestoredOnException() {
+        assertThrows(IllegalStateException.class, () -> context.runAs(customer, () -> {
+            throw new IllegalStateException();
+        }));
+
+        assertNull(context.getCaller());
+    }
+
+    @DisplayName("Propagated tasks run with the submitting caller and leave the worker thread clean")
+    @Test
+    void callerIsPropagated() throws Exception {
+        Future<User> propagated = context.callAs(customer,
+                () -> executor.submit(context.propagate(context::getCaller)));
+        Future<User> plain = executor.submit(context::getCaller);
+
+        assertEquals(customer, propagated.get());
+        assertNull(plain.get());
+    }
+
+    @DisplayName("Caller cannot be set outside of a scope")
+    @Test
+    void setCallerIsNotSupported() {
+        assertThrows(UnsupportedOperationException.class, () -> context.setCaller(customer));
+        assertNull(context.getCaller());
+    }
+}
@@ -0,0 +1,89 @@
+package com.romiiis.infrastructure.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBlacklistTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    @DisplayName("Sweep removes expired entries that are never checked again")
+    @Test
+    void sweepRemovesExpiredEntries() {
+        TokenBlacklist blacklist = new TokenBlacklist(100, Duration.ofMinutes(1));
+        blacklist.add("expired-long-ago", NOW.minus(Duration.ofHours(1)));
+        blacklist.add("expired", NOW.minusSeconds(1));
+        blacklist.add("valid", NOW.plusSeconds(1));
+        blacklist.add("valid-later", NOW.plus(Duration.ofHours(1)));
+
+        assertEquals(2, blacklist.sweep(NOW));
+
+        assertEquals(2, blacklist.size());
+        assertTrue(blacklist.contains("valid", NOW));
+        assertTrue(blacklist.contains("valid-later", NOW));
+        assertFalse(blacklist.contains("expired", NOW));
+        assertEquals(new TokenBlacklist.BlacklistStats(2, 2, 0), blacklist.stats());
+    }
+
+    @DisplayName("Expired entries are not reported as revoked before they are swept")
+    @Test
+    void expiredEntriesAreNotRevoked() {
+        TokenBlacklist blacklist = new TokenBlacklist(100, Duration.ofMinutes(1));
+        blacklist.add("jti", NOW.plusSeconds(10));
+
+        assertTrue(blacklist.contains("jti", NOW));
+        assertFalse(blacklist.contains("jti", NOW.plusSeconds(10)));
+    }
+
+    @DisplayName("Soonest expiring entries are evicted once the blacklist is full")
+    @Test
+    void capacityEvictsSoonestExpiring() {
+        TokenBlacklist blacklist = new TokenBlacklist(2, Duration.ofMinutes(1));
+        blacklist.add("late", NOW.plus(Duration.ofHours(2)));
+        blacklist.add("soon", NOW.plus(Duration.ofMinutes(5)));
+        blacklist.add("middle", NOW.plus(Duration.ofHours(1)));
+
+        assertEquals(2, blacklist.size());
+        assertFalse(blacklist.contains("soon", NOW));
+        assertTrue(blacklist.contains("middle", NOW));
+        assertTrue(blacklist.contains("late", NOW));
+        assertEquals(1, blacklist.stats().capacityEvictions());
+    }
+
+    @DisplayName("Re-adding a token moves it to its new expiration")
+    @Test
+    void readdMovesEntry() {
+        TokenBlacklist blacklist = new TokenBlacklist(100, Duration.ofMinutes(1));
+        blacklist.add("jti", NOW.minusSeconds(60));
+        blacklist.add("jti", NOW.plusSeconds(60));
+
+        assertEquals(0, blacklist.sweep(NOW));
+        assertTrue(blacklist.contains("jti", NOW));
+        assertEquals(0, blacklist.sweep(NOW.plusSeconds(59)));
+        assertEquals(1, blacklist.sweep(NOW.plusSeconds(60)));
+        assertEquals(0, blacklist.size());
+    }
+
+    @DisplayName("Still valid revocations evicted by capacity are reported until they expire")
+    @Test
+    void evictedValidRevocationsAreReported() {
+        Instant now = Instant.now();
+        TokenBlacklist blacklist = new TokenBlacklist(1, Duration.ofMinutes(1));
+        blacklist.add("first", now.plus(Duration.ofMinutes(5)));
+        blacklist.add("second", now.plus(Duration.ofHours(1)));
+
+        assertFalse(blacklist.contains("first", now));
+        assertTrue(blacklist.mightBeEvicted("first", now));
+        assertFalse(blacklist.mightBeEvicted("second", now));
+
+        Instant afterExpiration = now.plus(Duration.ofMinutes(5));
+        assertFalse(blacklist.mightBeEvicted("first", afterExpiration));
+        blacklist.sweep(afterExpiration);
+        assertFalse(blacklist.mightBeEvicted("first", now));
+    }
+}
@@ -0,0 +1,38 @@
+package com.romiiis.configuration;
+
+import com.romiiis.infrastructure.cache.CachingUserRepository;
+import com.romiiis.infrastructure.cache.ExpiringLruCache;
+import com.romiiis.infrastructure.security.JwtServiceImpl;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically logs the hit/miss statistics of the in-memory caches on the authentication path
+ * (users by ID and verified tokens), so that their sizes can be tuned.
+ *
+ * @author Roman Pejs
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheStatsLoggingJob {
+
+    private final CachingUserRepository cachingUserRepository;
+    private final JwtServiceImpl jwtService;
+
+    /**
+     * Logs the statistics accumulated since startup.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.stats-log-ms:300000}", initialDelayString = "${app.cache.stats-log-ms:300000}")
+    public void logStats() {
+        report("users", cachingUserRepository.getStats());
+        report("verified tokens", jwtService.getVerifiedTokenCacheStats());
+    }
+
+    private static void report(String cache, ExpiringLruCache.CacheStats stats) {
+        log.info("Cache of {}: {} hits, {} misses (hit rate {}), {} evictions", cache,
+                stats.hits(), stats.misses(), String.format("%.3f", stats.hitRate()), stats.evictions());
+    }
+}
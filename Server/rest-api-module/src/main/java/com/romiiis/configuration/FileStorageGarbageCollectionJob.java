@@ -0,0 +1,30 @@
+package com.romiiis.configuration;
+
+import com.romiiis.port.IFileSystemService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically deletes stored file contents no longer referenced by any project
+ * (e.g. after a project folder was deleted or a translated file was replaced).
+ *
+ * @author Roman Pejs
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FileStorageGarbageCollectionJob {
+
+    private final IFileSystemService fileSystemService;
+
+    /**
+     * Collects the unreferenced contents.
+     */
+    @Scheduled(cron = "${fs.gc-cron:0 30 3 * * *}")
+    public void collect() {
+        int deleted = fileSystemService.collectGarbage();
+        log.debug("File storage garbage collection deleted {} items", deleted);
+    }
+}
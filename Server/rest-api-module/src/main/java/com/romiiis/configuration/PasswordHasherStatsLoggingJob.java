@@ -0,0 +1,44 @@
+package com.romiiis.configuration;
+
+import com.romiiis.infrastructure.security.PasswordHasherImpl;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically logs the latency and rejection statistics of the password hashing pool,
+ * so that its threads, queue and BCrypt cost can be tuned.
+ *
+ * @author Roman Pejs
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PasswordHasherStatsLoggingJob {
+
+    private final PasswordHasherImpl passwordHasher;
+
+    /**
+     * Rejected and timed out requests at the previous run
+     */
+    private long lastFailed;
+
+    /**
+     * Logs the statistics accumulated since startup, as a warning if requests were rejected or timed out since the previous run.
+     */
+    @Scheduled(fixedDelayString = "${app.password.stats-log-ms:300000}", initialDelayString = "${app.password.stats-log-ms:300000}")
+    public void logStats() {
+        PasswordHasherImpl.HasherStats stats = passwordHasher.getStats();
+        String message = "Password hashing: {} completed, {} rejected, {} timed out, avg queue {} ms, avg hash {} ms, {} active, {} queued";
+        Object[] args = {stats.completed(), stats.rejected(), stats.timedOut(), String.format("%.1f", stats.avgQueueMs()),
+                String.format("%.1f", stats.avgHashMs()), stats.active(), stats.queued()};
+        long failed = stats.rejected() + stats.timedOut();
+        if (failed > lastFailed) {
+            log.warn(message, args);
+        } else {
+            log.info(message, args);
+        }
+        lastFailed = failed;
+    }
+}
@@ -0,0 +1,53 @@
+package com.romiiis.configuration;
+
+import com.romiiis.port.IJwtService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically pulls tokens revoked by other application instances into the local blacklist,
+ * so a logout on one instance revokes the token on all of them without a database read per request.
+ * Also runs on startup to restore the revocations made before a restart.
+ * <p>
+ * Periodically sweeps expired revocations from the local blacklist and rebuilds the filter in front
+ * of the revocation checks as well, keeping the blacklist bounded and the filter's false-positive rate low.
+ *
+ * @author Roman Pejs
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RevokedTokenSyncJob implements ApplicationRunner {
+
+    private final IJwtService jwtService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        sync();
+    }
+
+    /**
+     * Syncs the revoked tokens. A failed sync is retried in the next period, as the window of the
+     * next sync starts at the last successful one.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-sync-ms:5000}", initialDelayString = "${app.jwt.revocation-sync-ms:5000}")
+    public void sync() {
+        try {
+            jwtService.syncRevokedTokens();
+        } catch (RuntimeException e) {
+            log.error("Failed to sync revoked tokens: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sweeps the blacklist and rebuilds the revocation filter.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-filter-rebuild-ms:60000}", initialDelayString = "${app.jwt.revocation-filter-rebuild-ms:60000}")
+    public void sweep() {
+        jwtService.rebuildRevocationFilter();
+    }
+}
@@ -1,32 +1,86 @@
 package com.romiiis.configuration;
 
+import com.romiiis.infrastructure.cache.CachingUserRepository;
+import com.romiiis.infrastructure.file.CompressingFileSystemService;
 import com.romiiis.infrastructure.file.FileSystemServiceImpl;
 import com.romiiis.infrastructure.mail.EmailService;
 import com.romiiis.infrastructure.security.JwtServiceImpl;
+import com.romiiis.infrastructure.security.LoginThrottle;
 import com.romiiis.infrastructure.security.PasswordHasherImpl;
 import com.romiiis.infrastructure.security.config.JwtProperties;
+import com.romiiis.infrastructure.security.config.LoginThrottleProperties;
+import com.romiiis.infrastructure.security.config.PasswordHasherProperties;
 import com.romiiis.port.*;
 import com.romiiis.repository.IFeedbackRepository;
 import com.romiiis.repository.IProjectRepository;
+import com.romiiis.repository.IRefreshTokenFamilyRepository;
+import com.romiiis.repository.IRevokedTokenRepository;
 import com.romiiis.repository.IUserRepository;
 import com.romiiis.port.IExecutionContextProvider;
 import com.romiiis.infrastructure.security.ExecutionContext;
 
 import com.romiiis.service.impl.*;
 import com.romiiis.service.api.*;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
 public class ServiceConfiguration {
 
+    /**
+     * Caller context, thread-local ({@code thread-local}) or ScopedValue-based ({@code scoped}),
+     * switchable so both variants can be benchmarked on the same build.
+     * The scoped one needs the scoped-value Maven profile and the JVM started with --enable-preview.
+     */
+    @Bean
+    public IExecutionContextProvider callerContextProvider(@Value("${app.execution-context:thread-local}") String mode) {
+        return switch (mode) {
+            case "thread-local" -> new ExecutionContext();
+            case "scoped" -> scopedExecutionContext();
+            default -> throw new IllegalStateException("Unknown app.execution-context: " + mode);
+        };
+    }
+
+    /**
+     * Creates the ScopedValue-based context, compiled only with the scoped-value profile (preview API).
+     */
+    private static IExecutionContextProvider scopedExecutionContext() {
+        try {
+            return (IExecutionContextProvider) Class.forName("com.romiiis.infrastructure.security.ScopedExecutionContext")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | UnsupportedClassVersionError e) {
+            throw new IllegalStateException("app.execution-context=scoped needs the build with -Pscoped-value "
+                    + "and the JVM started with --enable-preview", e);
+        }
+    }
+
+    /**
+     * Propagates the caller to @Async tasks (e.g. the email listeners), picked up by the auto-configured
+     * application task executor that runs them (see @EnableAsync on the application).
+     */
     @Bean
-    public IExecutionContextProvider callerContextProvider() {
-        return new ExecutionContext();
+    public TaskDecorator callerPropagatingTaskDecorator(IExecutionContextProvider callerContextProvider) {
+        return callerContextProvider::propagate;
+    }
+
+    /**
+     * Users repository used by the application - caches users by ID in front of the MongoDB repository
+     */
+    @Bean
+    @Primary
+    public CachingUserRepository cachingUserRepository(@Qualifier("userRepositoryImpl") IUserRepository userRepository,
+                                                       @Value("${app.cache.users.max-size:10000}") int maxSize,
+                                                       @Value("${app.cache.users.ttl:PT5M}") Duration ttl) {
+        return new CachingUserRepository(userRepository, maxSize, ttl);
     }
 
     @Bean
@@ -35,8 +89,8 @@ public class ServiceConfiguration {
     }
 
     @Bean
-    public IAuthService authService(IUserService userService, IUserRepository userRepository, IJwtService jwtService, IPasswordHasher passwordHasher, IExecutionContextProvider callerContextProvider) {
-        return new AuthServiceImpl(userService, userRepository, passwordHasher, callerContextProvider);
+    public IAuthService authService(IUserService userService, IUserRepository userRepository, IJwtService jwtService, IPasswordHasher passwordHasher, ILoginThrottle loginThrottle, IExecutionContextProvider callerContextProvider) {
+        return new AuthServiceImpl(userService, userRepository, passwordHasher, loginThrottle, callerContextProvider);
     }
 
     @Bean
@@ -45,8 +99,11 @@ public class ServiceConfiguration {
     }
 
     @Bean
-    public IFileSystemService fileSystemService(@Value("${fs.root:./}") String rootDir) {
-        return new FileSystemServiceImpl(rootDir);
+    public IFileSystemService fileSystemService(@Value("${fs.root:./}") String rootDir,
+                                                @Value("${fs.compression.enabled:false}") boolean compress,
+                                                @Value("${fs.compression.level:6}") int compressionLevel) {
+        // Always decorated, so new files are framed and compressed files stay readable when the compression is disabled
+        return new CompressingFileSystemService(new FileSystemServiceImpl(rootDir), compress, compressionLevel);
     }
 
     @Bean
@@ -55,24 +112,29 @@ public class ServiceConfiguration {
     }
 
     @Bean
-    public IProjectWFService projectWorkflowService(IFileSystemService fsService, IProjectService projectService, IFeedbackService feedbackService, IExecutionContextProvider callerContextProvider, IDomainEventPublisher domainEventPublisher) {
-        return new ProjectWFServiceImpl(fsService, projectService, feedbackService, callerContextProvider, domainEventPublisher);
+    public IProjectWFService projectWorkflowService(IFileSystemService fsService, IProjectService projectService, IFeedbackService feedbackService, IUserRepository userRepository, IExecutionContextProvider callerContextProvider, IDomainEventPublisher domainEventPublisher) {
+        return new ProjectWFServiceImpl(fsService, projectService, feedbackService, userRepository, callerContextProvider, domainEventPublisher);
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHasherProperties props) {
+        return new BCryptPasswordEncoder(props.getBcryptCost());
     }
 
 
     @Bean
-    public IPasswordHasher passwordHasher(PasswordEncoder passwordEncoder) {
-        return new PasswordHasherImpl(passwordEncoder);
+    public PasswordHasherImpl passwordHasher(PasswordEncoder passwordEncoder, PasswordHasherProperties props) {
+        return new PasswordHasherImpl(passwordEncoder, props);
+    }
+
+    @Bean
+    public ILoginThrottle loginThrottle(LoginThrottleProperties props) {
+        return new LoginThrottle(props);
     }
 
     @Bean
-    public IJwtService jwtService(JwtProperties props, IUserService userService, IExecutionContextProvider callerContextProvider, IUserRepository userRepository) {
-        return new JwtServiceImpl(props, userService, userRepository, callerContextProvider);
+    public JwtServiceImpl jwtService(JwtProperties props, IUserService userService, IExecutionContextProvider callerContextProvider, IUserRepository userRepository, IRevokedTokenRepository revokedTokenRepository, IRefreshTokenFamilyRepository refreshTokenFamilyRepository) {
+        return new JwtServiceImpl(props, userService, userRepository, revokedTokenRepository, refreshTokenFamilyRepository, callerContextProvider);
     }
 
     @Bean
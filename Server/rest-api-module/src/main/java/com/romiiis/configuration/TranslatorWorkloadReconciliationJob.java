@@ -0,0 +1,42 @@
+package com.romiiis.configuration;
+
+import com.romiiis.repository.IUserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically rebuilds the active projects counters of translators from the projects,
+ * correcting any drift of the incrementally maintained counters (e.g. after a failed write).
+ * Also runs on startup to backfill the counters of existing translators.
+ *
+ * @author Roman Pejs
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TranslatorWorkloadReconciliationJob implements ApplicationRunner {
+
+    private final IUserRepository userRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        reconcile();
+    }
+
+    /**
+     * Reconciles the counters, logging how many of them had drifted.
+     */
+    @Scheduled(cron = "${app.workload.reconcile-cron:0 0 3 * * *}")
+    public void reconcile() {
+        int corrected = userRepository.reconcileActiveProjects();
+        if (corrected > 0) {
+            log.warn("Corrected active projects counter of {} translators", corrected);
+        } else {
+            log.debug("Active projects counters of translators are consistent");
+        }
+    }
+}
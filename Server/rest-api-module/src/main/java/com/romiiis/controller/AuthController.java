@@ -7,6 +7,8 @@ import com.romiiis.model.AuthJWTResponseDTO;
 import com.romiiis.model.LoginUserRequestDTO;
 import com.romiiis.model.RegisterUserRequestDTO;
 import com.romiiis.port.IJwtService;
+import com.romiiis.security.TokenPair;
+import com.romiiis.security.VerifiedToken;
 import com.romiiis.service.api.IAuthService;
 import com.romiiis.util.AuthCookieUtil;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,7 +20,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 
-import java.util.UUID;
+import java.util.Optional;
 
 /**
  * Controller for authentication-related operations such as user login and registration.
@@ -55,7 +57,9 @@ public class AuthController extends AbstractController implements AuthApi {
 
         User user = authService.login(
                 loginUserRequestDTO.getEmailAddress(),
-                loginUserRequestDTO.getPassword()
+                loginUserRequestDTO.getPassword(),
+                // Direct peer address, see server.forward-headers-strategy in application.properties
+                getCurrentRequest().getRemoteAddr()
         );
 
         var tokens = jwtService.generateTokenPair(user.getId());
@@ -98,6 +102,7 @@ public class AuthController extends AbstractController implements AuthApi {
 
     /**
      * Handles token refresh requests.
+     * The refresh token is rotated - it is exchanged for a new pair and cannot be used again.
      *
      * @return a ResponseEntity containing the new JWT tokens if successful,
      * or an unauthorized status if the refresh token is invalid
@@ -108,15 +113,18 @@ public class AuthController extends AbstractController implements AuthApi {
         HttpServletResponse response = getCurrentResponse();
 
         String refreshToken = cookiesUtil.extractRefreshToken(request);
-        if (refreshToken == null || !jwtService.validateToken(refreshToken) || !jwtService.isRefreshToken(refreshToken)) {
+        Optional<VerifiedToken> verified = refreshToken == null ? Optional.empty() : jwtService.verify(refreshToken);
+        if (verified.isEmpty() || !verified.get().isRefreshToken()) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        UUID userId = UUID.fromString(jwtService.getSubjectFromToken(refreshToken));
-
-        var tokens = jwtService.generateTokenPair(userId);
+        Optional<TokenPair> tokens = jwtService.rotateRefreshToken(verified.get());
+        if (tokens.isEmpty()) {
+            cookiesUtil.clearCookies(response);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
 
-        cookiesUtil.setCookies(response, tokens);
+        cookiesUtil.setCookies(response, tokens.get());
 
 
         return ResponseEntity.ok().build();
@@ -1,24 +1,37 @@
 package com.romiiis.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.romiiis.configuration.ResourceHeader;
 import com.romiiis.domain.Project;
+import com.romiiis.exception.FileStorageException;
+import com.romiiis.filter.ProjectsCursor;
 import com.romiiis.filter.ProjectsFilter;
 import com.romiiis.mapper.CommonMapper;
 import com.romiiis.mapper.ProjectMapper;
+import com.romiiis.model.ExportFormatDTO;
 import com.romiiis.model.ProjectDTO;
 import com.romiiis.model.ProjectStateDTO;
 import com.romiiis.service.api.IProjectService;
+import com.romiiis.util.ProjectExportStream;
+import com.romiiis.util.FileDownload;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Controller for project-related endpoints
@@ -28,30 +41,81 @@ import java.util.UUID;
 @Slf4j
 public class ProjectController extends AbstractController implements ProjectsApi {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    /**
+     * The original file never changes after the project is created, the translated one can be uploaded again
+     */
+    private static final CacheControl ORIGINAL_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+    private static final CacheControl TRANSLATED_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     /**
      * Services
      */
     private final IProjectService projectService;
     private final ProjectMapper projectMapper;
     private final CommonMapper commonMapper;
+    private final ObjectMapper objectMapper;
 
     /**
      * Lists all projects with optional filtering by state, language code, and feedback presence.
+     * When a limit is given, the projects are paged (newest first) and the cursor of the next page
+     * is returned in the X-Next-Cursor header.
      *
      * @param state        Filter projects by their state. (optional)
      * @param languageCode (optional)
      * @param hasFeedback  (optional)
+     * @param limit        Maximum number of projects in the page. (optional)
+     * @param cursor       Cursor of the page to return. (optional)
      * @return A ResponseEntity containing a list of ProjectDTOs.
      */
     @Override
-    public ResponseEntity<List<ProjectDTO>> listAllProjects(ProjectStateDTO state, String languageCode, Boolean hasFeedback) {
+    public ResponseEntity<List<ProjectDTO>> listAllProjects(ProjectStateDTO state, String languageCode, Boolean hasFeedback,
+                                                            Integer limit, String cursor) {
         ProjectsFilter filter = new ProjectsFilter()
                 .setHasFeedback(hasFeedback)
                 .setLanguageCode(languageCode)
-                .setStatus(commonMapper.mapProjectStateDTOToDomain(state));
+                .setStatus(commonMapper.mapProjectStateDTOToDomain(state))
+                .setLimit(limit)
+                .setCursor(ProjectsCursor.decode(cursor));
 
         var projects = projectService.getAllProjectsWithFeedback(filter);
-        return ResponseEntity.ok(projectMapper.mapListWrapperProjectFeedbackToDTO(projects));
+        var response = ResponseEntity.ok();
+
+        // Full page means there may be more projects behind it
+        if (filter.isPaged() && projects.size() == limit) {
+            response.header(NEXT_CURSOR_HEADER, ProjectsCursor.after(projects.getLast().getProject()).encode());
+        }
+
+        return response.body(projectMapper.mapListWrapperProjectFeedbackToDTO(projects));
+    }
+
+    /**
+     * Exports all projects matching the filters as NDJSON (default) or CSV.
+     * The export is streamed from a database cursor while the response is written.
+     *
+     * @param format       Format of the export. (optional)
+     * @param state        Filter projects by their state. (optional)
+     * @param languageCode (optional)
+     * @return A ResponseEntity streaming the export.
+     */
+    @Override
+    public ResponseEntity<Resource> exportProjects(ExportFormatDTO format, ProjectStateDTO state, String languageCode) {
+        ProjectsFilter filter = new ProjectsFilter()
+                .setLanguageCode(languageCode)
+                .setStatus(commonMapper.mapProjectStateDTOToDomain(state));
+
+        Stream<Project> projects = projectService.exportProjects(filter);
+        boolean csv = format == ExportFormatDTO.CSV;
+        ProjectExportStream export = csv
+                ? ProjectExportStream.csv(projects)
+                : ProjectExportStream.ndjson(projects, projectMapper, objectMapper);
+
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .header("Content-Disposition", "attachment; filename=\"projects." + (csv ? "csv" : "ndjson") + "\"")
+                .body(new InputStreamResource(export));
     }
 
     /**
@@ -104,11 +168,7 @@ public class ProjectController extends AbstractController implements ProjectsApi
         ResourceHeader resHeader = projectService.getOriginalFile(id);
         Project project = projectService.getProjectById(id);
 
-        Resource resource =projectMapper.headerToResource(resHeader);
-
-        return ResponseEntity.ok()
-                .header("Content-Disposition", "attachment; filename=\"" + project.getOriginalFileName() + "\"")
-                .body(resource);
+        return fileResponse(resHeader, project.getOriginalFileName(), ORIGINAL_CACHE_CONTROL);
     }
 
     /**
@@ -122,15 +182,45 @@ public class ProjectController extends AbstractController implements ProjectsApi
 
         ResourceHeader resHeader = projectService.getTranslatedFile(id);
         Project project = projectService.getProjectById(id);
-        Resource resource =projectMapper.headerToResource(resHeader);
 
         if (project.getTranslatedFileName().isEmpty()) {
             log.error("Translated file for project ID {} not found", id);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
 
-        return ResponseEntity.ok()
-                .header("Content-Disposition", "attachment; filename=\"" + project.getTranslatedFileName() + "\"")
-                .body(resource);
+        return fileResponse(resHeader, project.getTranslatedFileName(), TRANSLATED_CACHE_CONTROL);
+    }
+
+    /**
+     * Writes the download response of a project file.
+     * <p>
+     * File-backed resources are written with validators and byte ranges (see {@link FileDownload}),
+     * other resources are streamed as a whole. The content is never read into memory.
+     *
+     * @param resHeader    header of the file
+     * @param fileName     name the file is downloaded as
+     * @param cacheControl caching of the file by the client
+     * @return download response, or null if it has already been written
+     */
+    private ResponseEntity<Resource> fileResponse(ResourceHeader resHeader, String fileName, CacheControl cacheControl) {
+        if (resHeader.file() == null) {
+            return ResponseEntity.ok()
+                    .header("Content-Disposition", "attachment; filename=\"" + fileName + "\"")
+                    .body(projectMapper.headerToResource(resHeader));
+        }
+
+        HttpServletResponse response = getCurrentResponse();
+        try {
+            FileDownload.write(getCurrentRequest(), response, resHeader, fileName, cacheControl);
+        } catch (IOException e) {
+            if (response.isCommitted()) {
+                // The client went away while the file was being sent
+                log.debug("Download of file {} aborted: {}", fileName, e.getMessage());
+                return null;
+            }
+            log.error("Error sending file {}: {}", fileName, e.getMessage());
+            throw new FileStorageException("Error accessing file " + fileName);
+        }
+        return null;
     }
 }
@@ -7,7 +7,9 @@ import com.romiiis.mapper.UserMapper;
 import com.romiiis.model.InitializeUserRequestDTO;
 import com.romiiis.model.UserDTO;
 import com.romiiis.model.UserRoleDTO;
+import com.romiiis.port.IJwtService;
 import com.romiiis.service.api.IUserService;
+import com.romiiis.util.AuthCookieUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -27,6 +29,8 @@ public class UserController extends AbstractController implements UsersApi {
     private final IUserService userService;
     private final UserMapper userMapper;
     private final CommonMapper commonMapper;
+    private final IJwtService jwtService;
+    private final AuthCookieUtil cookiesUtil;
 
 
     /**
@@ -60,6 +64,7 @@ public class UserController extends AbstractController implements UsersApi {
 
     /**
      * Changes the role and languages of a user.
+     * Tokens issued before carry the old role and are no longer accepted, so a new token pair is issued.
      *
      * @param id                         The UUID of the user to be updated.
      * @param initializeUserRequestDTO   The request DTO containing the new role and languages.
@@ -72,6 +77,8 @@ public class UserController extends AbstractController implements UsersApi {
                 commonMapper.mapUserRoleDTOToDomain(initializeUserRequestDTO.getRole()),
                 commonMapper.mapListStringToSetLocale(initializeUserRequestDTO.getLanguages()));
 
+        cookiesUtil.setCookies(getCurrentResponse(), jwtService.generateTokenPair(id));
+
         return ResponseEntity.ok().build();
     }
 }
@@ -6,10 +6,10 @@ import com.romiiis.domain.WrapperProjectFeedback;
 import com.romiiis.model.ProjectDTO;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 
-import java.io.IOException;
 import java.util.List;
 
 /**
@@ -73,13 +73,21 @@ public interface ProjectMapper {
     Project mapDTOToDomain(ProjectDTO projectDTO);
 
     // --- Resource → ResourceHeader ---
-    @Mapping(target = "resourceName", expression = "java(resource.getFilename())")
-    @Mapping(target = "resourceData", expression = "java(readBytes(resource))")
-    ResourceHeader resourceToHeader(Resource resource);
+    // The content stays in the resource and is streamed on demand, never read into memory here
+    default ResourceHeader resourceToHeader(Resource resource) {
+        if (resource == null) {
+            return null;
+        }
+        return new ResourceHeader(resource.getFilename(), resource::getInputStream);
+    }
 
     // --- ResourceHeader → Resource ---
+    // File-backed headers become file resources, streamed (and sliced into ranges) straight from the file
     default Resource headerToResource(ResourceHeader header) {
-        return new ByteArrayResource(header.resourceData()) {
+        if (header.file() != null && header.encoding() == null) {
+            return new FileSystemResource(header.file());
+        }
+        return new InputStreamResource(header::openStream) {
             @Override
             public String getFilename() {
                 return header.resourceName();
@@ -87,13 +95,4 @@ public interface ProjectMapper {
         };
     }
 
-    default byte[] readBytes(Resource resource) {
-        try (var input = resource.getInputStream()) {
-            return input.readAllBytes();
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read resource bytes for " + resource.getFilename(), e);
-        }
-    }
-
-
 }
@@ -3,6 +3,7 @@ package com.romiiis.mapper;
 import com.romiiis.domain.User;
 import com.romiiis.model.UserDTO;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import java.util.List;
 
@@ -23,6 +24,18 @@ public interface UserMapper {
     UserDTO mapDomainToDTO(User domain);
 
 
+    /**
+     * Maps a UserDTO to a (partially filled) domain User object.
+     * Credentials and the token version are never part of the DTO.
+     *
+     * @param dto the UserDTO to be mapped
+     * @return the mapped User domain object
+     */
+    @Mapping(target = "hashedPassword", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
+    User mapDTOToDomain(UserDTO dto);
+
+
     /**
      * Maps a list of domain User objects to a list of UserDTOs.
      *
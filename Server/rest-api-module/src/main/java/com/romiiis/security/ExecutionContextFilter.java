@@ -43,7 +43,8 @@ public class ExecutionContextFilter extends OncePerRequestFilter {
                 if (userService.isEmpty()) {
                     log.warn("Authenticated user with ID {} not found in database", userId);
                 } else {
-                    callerContextProvider.setCaller(userService.get());
+                    doFilterAs(userService.get(), request, response, filterChain);
+                    return;
                 }
             }
 
@@ -52,4 +53,20 @@ public class ExecutionContextFilter extends OncePerRequestFilter {
             callerContextProvider.clear();
         }
     }
+
+    /**
+     * Continues the chain with the caller bound for its duration (a scope, so it works with any context).
+     * The chain's I/O and servlet exceptions are rethrown as they are.
+     */
+    private void doFilterAs(User caller, HttpServletRequest request, HttpServletResponse response,
+                            FilterChain filterChain) throws ServletException, IOException {
+        try {
+            callerContextProvider.<Exception>runAs(caller, () -> filterChain.doFilter(request, response));
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            // Not thrown by the chain
+            throw new IllegalStateException(e);
+        }
+    }
 }
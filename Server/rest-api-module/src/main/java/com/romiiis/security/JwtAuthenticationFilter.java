@@ -7,6 +7,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
@@ -23,7 +24,10 @@ import java.util.Optional;
 
 /**
  * JWT filter that validates tokens and populates SecurityContext with user identity and role.
+ * The token is verified once and authorities are built from its claims, without a database lookup.
+ * Only access tokens are accepted, refresh tokens are rejected.
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -69,14 +73,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        if (!jwtService.validateToken(jwt)) {
+        Optional<VerifiedToken> verified = jwtService.verify(jwt);
+        if (verified.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        // Refresh tokens are long-lived and not bound to the token version, they only authorize a refresh
+        if (!verified.get().isAccessToken()) {
+            log.warn("Rejected a non-access token used as a bearer token: jti={}", verified.get().jti());
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             return;
         }
 
-        final String userId = jwtService.getSubjectFromToken(jwt);
-        Optional<UserRole> roleOpt = jwtService.getRoleFromToken(jwt);
-        final String role = roleOpt.map(UserRole::name).orElse(null);
+        final String userId = verified.get().subject();
+        final String role = verified.get().role().map(UserRole::name).orElse(null);
 
         if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             Collection<? extends GrantedAuthority> authorities = role != null
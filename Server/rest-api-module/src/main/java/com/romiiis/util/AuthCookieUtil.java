@@ -1,17 +1,17 @@
 package com.romiiis.util;
 
 import com.romiiis.security.TokenPair;
-import com.romiiis.port.IJwtService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
 
 /**
@@ -19,11 +19,8 @@ import java.util.Arrays;
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class AuthCookieUtil {
 
-    private final IJwtService jwtService;
-
     @Value("${accesstoken.name}")
     private String accessTokenCookieName;
 
@@ -38,8 +35,9 @@ public class AuthCookieUtil {
      */
     public void setCookies(HttpServletResponse response, TokenPair tokens) {
 
-        long accessLifetime = jwtService.getRemainingLifetime(tokens.accessToken());
-        long refreshLifetime = jwtService.getRemainingLifetime(tokens.refreshToken());
+        Instant now = Instant.now();
+        long accessLifetime = Math.max(0, Duration.between(now, tokens.accessExpiresAt()).toMillis());
+        long refreshLifetime = Math.max(0, Duration.between(now, tokens.refreshExpiresAt()).toMillis());
 
         long accessCookieMaxAge = (accessLifetime * 2) / 1000;
         long refreshCookieMaxAge = (refreshLifetime + accessLifetime) / 1000;
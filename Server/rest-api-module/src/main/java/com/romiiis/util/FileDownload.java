@@ -0,0 +1,240 @@
+package com.romiiis.util;
+
+import com.romiiis.configuration.ResourceHeader;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Writes a file-backed resource as a download response, with validators and byte ranges.
+ * <p>
+ * The digest of the file is its strong entity tag, so {@code If-None-Match}/{@code If-Modified-Since}
+ * are answered with 304 without touching the file. A single {@code Range} (honoured only while the
+ * {@code If-Range} validator still matches) is answered with 206; multiple ranges are answered with the
+ * whole file. The body is handed to the container to be sent with sendfile when it supports it, otherwise
+ * it is copied from the file channel in the container's buffer.
+ * <p>
+ * Data framed in the file without a coding is sent from its offset. A file stored with a content coding is
+ * sent as it is stored to clients accepting the coding (ranges then apply to the coded bytes, as the coded
+ * representation has its own entity tag), and is decoded while it is streamed to other clients. Decoded
+ * responses are always sent whole ({@code Accept-Ranges: none}): a range of the decoded data could only be
+ * reached by decoding everything before it, so a resumed download would cost the CPU of the whole file
+ * again for every range.
+ *
+ * @author Roman Pejs
+ */
+public final class FileDownload {
+
+    private FileDownload() {
+    }
+
+    /**
+     * Writes the download response of the file.
+     *
+     * @param request      current request
+     * @param response     current response
+     * @param resHeader    header of the file, must be file-backed
+     * @param fileName     name the file is downloaded as
+     * @param cacheControl caching of the file by the client
+     * @throws IOException if the file cannot be read or the response written
+     */
+    public static void write(HttpServletRequest request, HttpServletResponse response, ResourceHeader resHeader,
+                             String fileName, CacheControl cacheControl) throws IOException {
+        Path file = resHeader.file();
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        long lastModified = attrs.lastModifiedTime().toMillis();
+        String etag = resHeader.digest() == null ? null : "\"" + resHeader.digest();
+
+        // Position of the representation in the file, and its length; no offset when it is decoded
+        ResourceHeader.Encoding encoding = resHeader.encoding();
+        boolean decode = false;
+        long offset = 0;
+        long length = attrs.size();
+        if (encoding != null && encoding.isIdentity()) {
+            offset = encoding.offset();
+            length = encoding.length();
+        } else if (encoding != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (accepts(request, encoding.name())) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.name());
+                etag = etag == null ? null : etag + "-" + encoding.name();
+                offset = encoding.offset();
+                length = encoding.length();
+            } else {
+                decode = true;
+                length = encoding.decodedLength();
+            }
+        }
+        etag = etag == null ? null : etag + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, decode ? "none" : "bytes");
+
+        // Answers conditional requests (304/412) and sets the ETag and Last-Modified headers
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        long start = 0;
+        long end = length;
+        HttpRange range = decode ? null : requestedRange(request, etag, lastModified);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length) + 1;
+            } catch (IllegalArgumentException e) {
+                start = end;
+            }
+            if (start >= end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+        }
+
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(end - start);
+
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+
+        if (decode) {
+            try (InputStream in = resHeader.openStream()) {
+                OutputStream out = response.getOutputStream();
+                byte[] buffer = new byte[8192];
+                long remaining = length;
+                while (remaining > 0) {
+                    int n = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                    if (n < 0) {
+                        throw new EOFException("Decoded content of " + fileName + " is shorter than its length");
+                    }
+                    out.write(buffer, 0, n);
+                    remaining -= n;
+                }
+            }
+            return;
+        }
+
+        if (SendfileSupport.offer(request, file, offset + start, offset + end)) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = offset + start;
+            while (position < offset + end) {
+                long transferred = channel.transferTo(position, offset + end - position, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    /**
+     * Checks that the client accepts the content coding: listed itself, or matched by {@code *}, with a
+     * non-zero quality.
+     */
+    private static boolean accepts(HttpServletRequest request, String coding) {
+        Boolean wildcard = null;
+        for (Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+             headers != null && headers.hasMoreElements(); ) {
+            for (String entry : headers.nextElement().split(",")) {
+                String[] parts = entry.split(";");
+                String name = parts[0].trim();
+                boolean accepted = quality(parts) > 0;
+                if (name.equalsIgnoreCase(coding) || name.equalsIgnoreCase("x-" + coding)) {
+                    return accepted;
+                }
+                if (name.equals("*")) {
+                    wildcard = accepted;
+                }
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    /**
+     * Returns the quality parameter of an Accept-Encoding entry, 1 if missing or invalid.
+     */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2));
+                } catch (NumberFormatException e) {
+                    return 1;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Returns the single byte range to send, null to send the whole file.
+     */
+    private static HttpRange requestedRange(HttpServletRequest request, String etag, long lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || !HttpMethod.GET.matches(request.getMethod())) {
+            return null;
+        }
+
+        // The range only applies to the representation the client already has part of
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRangeMatches(ifRange, etag, lastModified)) {
+            return null;
+        }
+
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            // An invalid range is ignored
+            return null;
+        }
+    }
+
+    /**
+     * Checks the If-Range validator: an entity tag (compared strongly) or the exact modification date.
+     */
+    private static boolean ifRangeMatches(String ifRange, String etag, long lastModified) {
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            long date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return date / 1000 == lastModified / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.romiiis.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.romiiis.domain.Project;
+import com.romiiis.domain.User;
+import com.romiiis.mapper.ProjectMapper;
+
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Input stream producing an export of projects (NDJSON or CSV) from a lazily fetched stream of projects.
+ * Projects are formatted one line at a time while the response is written, so only the current line
+ * is held in memory no matter how many projects are exported.
+ * <p>
+ * Closing this input stream closes the project stream and releases its database cursor.
+ *
+ * @author Roman Pejs
+ */
+public class ProjectExportStream extends InputStream {
+
+    /**
+     * Columns of the CSV export
+     */
+    private static final String CSV_HEADER = String.join(",", "id", "state", "targetLanguage",
+            "customerId", "customerEmail", "translatorId", "translatorEmail",
+            "originalFileName", "translatedFileName", "createdAt");
+
+    /**
+     * First characters of CSV values a spreadsheet evaluates as a formula (CSV injection)
+     */
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final Stream<Project> projects;
+    private final Iterator<Project> iterator;
+    private final Function<Project, String> formatter;
+
+    /**
+     * Current line and the position of the next byte to read in it
+     */
+    private byte[] line;
+    private int position;
+
+    private ProjectExportStream(Stream<Project> projects, Function<Project, String> formatter, String header) {
+        this.projects = projects;
+        this.iterator = projects.iterator();
+        this.formatter = formatter;
+        this.line = header == null ? null : toLine(header);
+    }
+
+    /**
+     * Creates an export with one JSON project (same shape as in the projects list) per line.
+     *
+     * @param projects     projects to export
+     * @param mapper       mapper of projects to DTOs
+     * @param objectMapper JSON serializer
+     * @return NDJSON export
+     */
+    public static ProjectExportStream ndjson(Stream<Project> projects, ProjectMapper mapper, ObjectMapper objectMapper) {
+        return new ProjectExportStream(projects, project -> {
+            try {
+                return objectMapper.writeValueAsString(mapper.mapDomainToDTO(project));
+            } catch (JsonProcessingException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, null);
+    }
+
+    /**
+     * Creates a CSV export with a header row.
+     *
+     * @param projects projects to export
+     * @return CSV export
+     */
+    public static ProjectExportStream csv(Stream<Project> projects) {
+        return new ProjectExportStream(projects, ProjectExportStream::toCsvRow, CSV_HEADER);
+    }
+
+    @Override
+    public int read() {
+        if (!fill()) {
+            return -1;
+        }
+        return line[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        if (length == 0) {
+            return 0;
+        }
+
+        int read = 0;
+        while (read < length && fill()) {
+            int count = Math.min(length - read, line.length - position);
+            System.arraycopy(line, position, buffer, offset + read, count);
+            position += count;
+            read += count;
+        }
+        return read == 0 ? -1 : read;
+    }
+
+    @Override
+    public void close() {
+        projects.close();
+    }
+
+    /**
+     * Makes sure there are unread bytes in the current line, formatting the next project if needed.
+     *
+     * @return false if all projects were read
+     */
+    private boolean fill() {
+        while (line == null || position >= line.length) {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            line = toLine(formatter.apply(iterator.next()));
+            position = 0;
+        }
+        return true;
+    }
+
+    private static byte[] toLine(String text) {
+        return (text + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String toCsvRow(Project project) {
+        User customer = project.getCustomer();
+        User translator = project.getTranslator();
+        return Stream.of(
+                        project.getId(),
+                        project.getState(),
+                        project.getTargetLanguage() == null ? null : project.getTargetLanguage().toLanguageTag(),
+                        customer == null ? null : customer.getId(),
+                        customer == null ? null : customer.getEmailAddress(),
+                        translator == null ? null : translator.getId(),
+                        translator == null ? null : translator.getEmailAddress(),
+                        project.getOriginalFileName(),
+                        project.getTranslatedFileName(),
+                        project.getCreatedAt())
+                .map(ProjectExportStream::toCsvValue)
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Formats a CSV value, quoting it if it contains a separator, quote or line break.
+     * Values a spreadsheet would evaluate as a formula (e.g. customer's file names starting with {@code =})
+     * are prefixed with {@code '}, so they are shown as text.
+     *
+     * @param value value to format, may be null
+     * @return CSV value
+     */
+    private static String toCsvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
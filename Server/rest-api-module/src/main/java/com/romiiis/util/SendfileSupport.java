@@ -0,0 +1,53 @@
+package com.romiiis.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Hands files over to the servlet container to be sent with {@code sendfile}.
+ * <p>
+ * Tomcat sends the file named by the request attributes straight from the page cache to the socket
+ * once the response is committed, so the body never passes through the JVM. The response must have
+ * its {@code Content-Length} set and no body written by the application.
+ *
+ * @author Roman Pejs
+ */
+@Slf4j
+public final class SendfileSupport {
+
+    static final String SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    static final String FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    static final String START_ATTR = "org.apache.tomcat.sendfile.start";
+    static final String END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private SendfileSupport() {
+    }
+
+    /**
+     * Offers a part of the file to the container, if it supports sendfile.
+     *
+     * @param request current request
+     * @param file    file to send
+     * @param start   position of the first byte to send
+     * @param end     position after the last byte to send
+     * @return true if the container will send the file, false if the body has to be written
+     */
+    public static boolean offer(HttpServletRequest request, Path file, long start, long end) {
+        if (!Boolean.TRUE.equals(request.getAttribute(SUPPORT_ATTR))) {
+            return false;
+        }
+        try {
+            // The container only accepts canonical paths
+            request.setAttribute(FILENAME_ATTR, file.toRealPath().toString());
+        } catch (IOException | SecurityException e) {
+            log.warn("Cannot send {} with sendfile: {}", file, e.getMessage());
+            return false;
+        }
+        request.setAttribute(START_ATTR, start);
+        request.setAttribute(END_ATTR, end);
+        return true;
+    }
+}
@@ -1,8 +1,11 @@
 package com.romiiis.controller;
 
+import com.jayway.jsonpath.JsonPath;
 import com.romiiis.domain.Project;
 import com.romiiis.domain.User;
 import com.romiiis.filter.ProjectsFilter;
+import com.romiiis.infrastructure.file.CompressingFileSystemService;
+import com.romiiis.infrastructure.file.FileSystemServiceImpl;
 import com.romiiis.repository.IProjectRepository;
 import com.romiiis.repository.IUserRepository;
 import com.romiiis.port.IExecutionContextProvider;
@@ -15,7 +18,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -23,12 +28,14 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.util.FileSystemUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -126,6 +133,120 @@ class ProjectControllerTest {
                 .andExpect(jsonPath("$.targetLanguage").value("en"));
     }
 
+    @DisplayName("GET /projects/export streams all projects as CSV for admin")
+    @Test
+    void exportProjects_shouldStreamCsv() throws Exception {
+        projectRepository.save(new Project(customer, Locale.ENGLISH, "first.txt"));
+        projectRepository.save(new Project(customer, Locale.GERMAN, "second, draft.txt"));
+        projectRepository.save(new Project(customer, Locale.FRENCH, "=HYPERLINK(\"http://evil\",\"x\").txt"));
+
+        User admin = userService.createNewAdmin("Admin", "admin@test.com", "securePassword");
+        callerContextProvider.setCaller(admin);
+
+        String csv = mockMvc.perform(get("/projects/export").param("format", "CSV"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = csv.lines().toList();
+        assertThat(lines).hasSize(4);
+        assertThat(lines.getFirst()).startsWith("id,state,targetLanguage");
+        assertThat(csv).contains("\"second, draft.txt\"");
+        // Formula is neutralized, then quoted because of its quotes and comma
+        assertThat(csv).contains(",\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\").txt\",");
+    }
+
+    @DisplayName("GET /projects/{id}/original supports conditional and range requests")
+    @Test
+    void downloadOriginalContent_shouldSupportConditionalAndRangeRequests() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "content",
+                "example.txt",
+                MediaType.TEXT_PLAIN_VALUE,
+                "Hello test project!".getBytes(StandardCharsets.UTF_8)
+        );
+        String created = mockMvc.perform(multipart("/projects")
+                        .file(file)
+                        .param("languageCode", "en")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String path = "/projects/" + JsonPath.read(created, "$.id") + "/original";
+
+        MockHttpServletResponse full = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"example.txt\""))
+                .andExpect(content().string("Hello test project!"))
+                .andReturn().getResponse();
+        String etag = full.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        assertThat(full.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get(path).header(HttpHeaders.RANGE, "bytes=6-9").header(HttpHeaders.IF_RANGE, etag))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 6-9/19"))
+                .andExpect(content().string("test"));
+
+        mockMvc.perform(get(path).header(HttpHeaders.RANGE, "bytes=6-9").header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Hello test project!"));
+
+        mockMvc.perform(get(path).header(HttpHeaders.RANGE, "bytes=100-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */19"));
+    }
+
+    @DisplayName("GET /projects/{id}/original sends the compressed file to clients accepting gzip")
+    @Test
+    void downloadOriginalContent_shouldSendGzipToAcceptingClients() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "content",
+                "example.txt",
+                MediaType.TEXT_PLAIN_VALUE,
+                "Hello test project!".getBytes(StandardCharsets.UTF_8)
+        );
+        String created = mockMvc.perform(multipart("/projects")
+                        .file(file)
+                        .param("languageCode", "en")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = JsonPath.read(created, "$.id");
+        String path = "/projects/" + id + "/original";
+
+        // Compression is disabled by default, the file is stored compressed as if it was enabled
+        new CompressingFileSystemService(new FileSystemServiceImpl(fsRoot), true, 6)
+                .saveOriginalFile(UUID.fromString(id), "Hello test project!".getBytes(StandardCharsets.UTF_8));
+
+        MockHttpServletResponse gzip = mockMvc.perform(get(path).header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse();
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(gzip.getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("Hello test project!");
+        }
+
+        MockHttpServletResponse identity = mockMvc.perform(get(path).header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string("Hello test project!"))
+                .andReturn().getResponse();
+        assertThat(identity.getHeader(HttpHeaders.ETAG)).isNotEqualTo(gzip.getHeader(HttpHeaders.ETAG));
+        assertThat(identity.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("none");
+
+        // Decoded content is always sent whole
+        mockMvc.perform(get(path).header(HttpHeaders.RANGE, "bytes=6-9"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().string("Hello test project!"));
+    }
+
     @Value("${fs.root}")
     String fsRoot;
     @AfterEach
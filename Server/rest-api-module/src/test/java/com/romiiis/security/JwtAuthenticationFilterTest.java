@@ -0,0 +1,79 @@
+package com.romiiis.security;
+
+import com.romiiis.port.IJwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private IJwtService jwtService;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = mock(IJwtService.class);
+        filter = new JwtAuthenticationFilter(jwtService);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @DisplayName("Access token authenticates the request with the role from its claims")
+    @Test
+    void accessTokenIsAccepted() throws Exception {
+        String userId = UUID.randomUUID().toString();
+        when(jwtService.verify("access")).thenReturn(Optional.of(token(userId, VerifiedToken.TYPE_ACCESS)));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(bearer("access"), response, chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo(userId);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+                .extracting(Object::toString).containsExactly("ROLE_CUSTOMER");
+    }
+
+    @DisplayName("Refresh token used as a bearer token is rejected")
+    @Test
+    void refreshTokenIsRejected() throws Exception {
+        when(jwtService.verify("refresh")).thenReturn(Optional.of(token(UUID.randomUUID().toString(), VerifiedToken.TYPE_REFRESH)));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(bearer("refresh"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(chain.getRequest()).isNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/projects");
+        request.setServletPath("/projects");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private static VerifiedToken token(String userId, String type) {
+        return new VerifiedToken(userId, UUID.randomUUID().toString(), type, Instant.now().plusSeconds(60),
+                Map.of(VerifiedToken.CLAIM_ROLE, "CUSTOMER"));
+    }
+}
@@ -1,7 +1,9 @@
 package com.romiiis.configuration;
 
+import com.romiiis.filter.ProjectsCursor;
 import com.romiiis.filter.ProjectsFilter;
 import org.bson.Document;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 
@@ -14,6 +16,11 @@ public class ProjectMongoFilter {
 
     static MongoTemplate mongoTemplate;
 
+    /**
+     * Order used for keyset pagination, backed by the createdAt/_id indexes on ProjectDB
+     */
+    public static final Sort PAGE_SORT = Sort.by(Sort.Direction.DESC, "createdAt", "_id");
+
     /**
      * Converts a ProjectsFilter object to a MongoDB Criteria object.
      *
@@ -38,11 +45,20 @@ public class ProjectMongoFilter {
 
 
         if (filter.getCustomerId() != null) {
-            finalCriteria = finalCriteria.and("customer.$id").is(filter.getCustomerId());
+            finalCriteria = finalCriteria.and("customer._id").is(filter.getCustomerId());
         }
 
         if (filter.getTranslatorId() != null) {
-            finalCriteria = finalCriteria.and("translator.$id").is(filter.getTranslatorId());
+            finalCriteria = finalCriteria.and("translator._id").is(filter.getTranslatorId());
+        }
+
+        // Seek past the last project of the previous page (ordered by createdAt desc, _id desc)
+        ProjectsCursor cursor = filter.getCursor();
+        if (filter.isPaged() && cursor != null) {
+            finalCriteria = finalCriteria.orOperator(
+                    Criteria.where("createdAt").lt(cursor.createdAt()),
+                    Criteria.where("createdAt").is(cursor.createdAt()).and("_id").lt(cursor.id())
+            );
         }
 
 
@@ -0,0 +1,176 @@
+package com.romiiis.configuration;
+
+import com.mongodb.DBRef;
+import com.romiiis.model.ProjectDB;
+import com.romiiis.model.UserDB;
+import com.romiiis.model.UserSnapshotDB;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * One-off migration replacing the legacy {@code @DBRef} customer/translator references
+ * of stored projects with embedded user snapshots, and adding the user's creation time to snapshots
+ * embedded before it was part of them.
+ * <p>
+ * Runs on startup and is idempotent - once all projects are migrated, it only performs two (empty) queries.
+ *
+ * @author Roman Pejs
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectUserSnapshotMigration implements ApplicationRunner {
+
+    private static final List<String> USER_FIELDS = List.of("customer", "translator");
+    static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int migrated = migrate();
+        if (migrated > 0) {
+            log.info("Migrated {} projects to embedded user snapshots", migrated);
+        }
+    }
+
+    /**
+     * Migrates all projects still holding a DBRef to a user, then all snapshots without the user's creation time.
+     * Projects are read through a cursor and rewritten batch by batch, so only one batch is held in memory.
+     *
+     * @return number of migrated projects
+     */
+    public int migrate() {
+        int migrated = migrate(
+                field -> Criteria.where(field + ".$ref").exists(true),
+                value -> value instanceof DBRef ref ? (UUID) ref.getId() : null,
+                (update, field, userId, user) -> update.set(field, toSnapshot(userId, user)));
+
+        // References are replaced first, so the remaining user fields are snapshots (a DBRef has no _id)
+        migrated += migrate(
+                field -> Criteria.where(field + "._id").exists(true).and(field + ".createdAt").exists(false),
+                value -> value instanceof Document snapshot && !snapshot.containsKey("createdAt")
+                        ? (UUID) snapshot.get("_id") : null,
+                // Written even when unknown (dangling reference), so the snapshot is not matched again
+                (update, field, userId, user) -> update.set(field + ".createdAt", user != null ? user.getCreatedAt() : null));
+        return migrated;
+    }
+
+    /**
+     * Migrates the user fields of all projects matching the criteria of a field.
+     *
+     * @param criteria criteria of a user field to migrate
+     * @param userId   ID of the user in a field value, null if the value needs no migration
+     * @param update   adds the migration of a field to the project update
+     * @return number of migrated projects
+     */
+    private int migrate(Function<String, Criteria> criteria, Function<Object, UUID> userId, FieldUpdate update) {
+        String collection = mongoTemplate.getCollectionName(ProjectDB.class);
+        Query query = new Query(new Criteria().orOperator(USER_FIELDS.stream().map(criteria).toList()));
+        query.fields().include(USER_FIELDS.toArray(String[]::new));
+        query.cursorBatchSize(BATCH_SIZE);
+
+        int migrated = 0;
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        try (Stream<Document> projects = mongoTemplate.stream(query, Document.class, collection)) {
+            for (Document project : (Iterable<Document>) projects::iterator) {
+                batch.add(project);
+                if (batch.size() == BATCH_SIZE) {
+                    migrateBatch(batch, userId, update);
+                    migrated += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            migrateBatch(batch, userId, update);
+            migrated += batch.size();
+        }
+        return migrated;
+    }
+
+    /**
+     * Migrates the user fields of one batch of projects using a single users query and a single bulk write.
+     *
+     * @param projects raw project documents
+     * @param userId   ID of the user in a field value, null if the value needs no migration
+     * @param update   adds the migration of a field to the project update
+     */
+    private void migrateBatch(List<Document> projects, Function<Object, UUID> userId, FieldUpdate update) {
+        Set<UUID> userIds = new HashSet<>();
+        for (Document project : projects) {
+            for (String field : USER_FIELDS) {
+                UUID id = userId.apply(project.get(field));
+                if (id != null) {
+                    userIds.add(id);
+                }
+            }
+        }
+
+        Query usersQuery = new Query(Criteria.where("_id").in(userIds));
+        usersQuery.fields().include("name", "emailAddress", "role", "createdAt");
+        Map<UUID, UserDB> users = mongoTemplate.find(usersQuery, UserDB.class).stream()
+                .collect(Collectors.toMap(UserDB::getId, Function.identity()));
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProjectDB.class);
+        for (Document project : projects) {
+            Update projectUpdate = new Update();
+            for (String field : USER_FIELDS) {
+                UUID id = userId.apply(project.get(field));
+                if (id != null) {
+                    update.add(projectUpdate, field, id, users.get(id));
+                }
+            }
+            bulk.updateOne(new Query(Criteria.where("_id").is(project.get("_id"))), projectUpdate);
+        }
+        bulk.execute();
+    }
+
+    /**
+     * Migration of one user field of a project.
+     */
+    @FunctionalInterface
+    private interface FieldUpdate {
+
+        /**
+         * @param update project update to add the migration to
+         * @param field  user field
+         * @param userId ID of the user in the field
+         * @param user   current user, null if it no longer exists
+         */
+        void add(Update update, String field, UUID userId, UserDB user);
+    }
+
+    /**
+     * Builds the snapshot of a referenced user. Dangling references keep at least the user ID.
+     *
+     * @param id   referenced user ID
+     * @param user referenced user, or null if it no longer exists
+     * @return user snapshot
+     */
+    private static UserSnapshotDB toSnapshot(UUID id, UserDB user) {
+        UserSnapshotDB snapshot = new UserSnapshotDB();
+        snapshot.setId(id);
+        if (user != null) {
+            snapshot.setName(user.getName());
+            snapshot.setEmailAddress(user.getEmailAddress());
+            snapshot.setRole(user.getRole());
+            snapshot.setCreatedAt(user.getCreatedAt());
+        }
+        return snapshot;
+    }
+}
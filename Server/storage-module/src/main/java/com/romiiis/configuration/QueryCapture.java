@@ -0,0 +1,74 @@
+package com.romiiis.configuration;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Records the query commands the current thread sends to MongoDB, so that {@link QueryPlanVerifier}
+ * can explain the queries exactly as the repositories build them.
+ * <p>
+ * Registered with the Mongo client only while the query plan verification is enabled. Commands of other
+ * threads, and commands sent while no recording is active, are ignored.
+ *
+ * @author Roman Pejs
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.verify-query-plans", havingValue = "true")
+public class QueryCapture implements CommandListener, MongoClientSettingsBuilderCustomizer {
+
+    /**
+     * Commands reading documents through a query plan
+     */
+    private static final Set<String> QUERY_COMMANDS = Set.of("find", "aggregate", "count");
+
+    /**
+     * Session and transaction fields, not accepted inside an explained command
+     */
+    private static final Set<String> SESSION_FIELDS = Set.of("lsid", "txnNumber", "autocommit", "startTransaction");
+
+    private final ThreadLocal<List<BsonDocument>> recording = new ThreadLocal<>();
+
+    @Override
+    public void customize(MongoClientSettings.Builder builder) {
+        builder.addCommandListener(this);
+    }
+
+    /**
+     * Runs the action and returns the query commands it sent.
+     *
+     * @param action action querying the database on the current thread
+     * @return sent query commands, without the session and generic ({@code $}-prefixed) fields
+     */
+    public List<BsonDocument> record(Runnable action) {
+        List<BsonDocument> commands = new ArrayList<>();
+        recording.set(commands);
+        try {
+            action.run();
+        } finally {
+            recording.remove();
+        }
+        return commands;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        List<BsonDocument> commands = recording.get();
+        if (commands == null || !QUERY_COMMANDS.contains(event.getCommandName())) {
+            return;
+        }
+
+        // The event document is only valid during the callback
+        BsonDocument command = event.getCommand().clone();
+        command.keySet().removeIf(field -> field.startsWith("$") || SESSION_FIELDS.contains(field));
+        commands.add(command);
+    }
+}
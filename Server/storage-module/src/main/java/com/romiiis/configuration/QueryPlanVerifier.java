@@ -0,0 +1,201 @@
+package com.romiiis.configuration;
+
+import com.romiiis.domain.Project;
+import com.romiiis.domain.ProjectState;
+import com.romiiis.domain.UserRole;
+import com.romiiis.filter.ProjectsCursor;
+import com.romiiis.filter.ProjectsFilter;
+import com.romiiis.filter.UsersFilter;
+import com.romiiis.repository.impl.FeedbackRepositoryImpl;
+import com.romiiis.repository.impl.ProjectRepositoryImpl;
+import com.romiiis.repository.impl.RevokedTokenRepositoryImpl;
+import com.romiiis.repository.impl.UserRepositoryImpl;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Runs {@code explain} on the queries issued by the repositories and reports the ones that
+ * fall back to a collection scan (COLLSCAN) - i.e. are not backed by an index.
+ * <p>
+ * Each probe calls a read method of a repository, and the commands it sends are captured by
+ * {@link QueryCapture} and explained as they are, so the verified queries cannot drift from the code.
+ * Only reads are probed, the verification must not change any data.
+ * <p>
+ * Enabled on startup by {@code app.storage.verify-query-plans=true}; the application then
+ * refuses to start with a missing index. Also used by the storage tests.
+ *
+ * @author Roman Pejs
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.verify-query-plans", havingValue = "true")
+public class QueryPlanVerifier implements ApplicationRunner {
+
+    private static final String COLLSCAN = "COLLSCAN";
+    private static final String WINNING_PLAN = "winningPlan";
+
+    private final MongoTemplate mongoTemplate;
+    private final QueryCapture queryCapture;
+    private final ProjectRepositoryImpl projectRepository;
+    private final UserRepositoryImpl userRepository;
+    private final FeedbackRepositoryImpl feedbackRepository;
+    private final RevokedTokenRepositoryImpl revokedTokenRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> scans = findCollectionScans();
+        if (!scans.isEmpty()) {
+            throw new IllegalStateException("Queries without index support (COLLSCAN): " + scans);
+        }
+        log.info("All repository queries are backed by indexes");
+    }
+
+    /**
+     * Runs all probes, explains the queries they issue and returns the names of the probes
+     * with a query falling back to a collection scan.
+     *
+     * @return names of probes with unindexed queries, empty if all are backed by indexes
+     */
+    public List<String> findCollectionScans() {
+        List<String> scans = new ArrayList<>();
+        for (Probe probe : probes()) {
+            List<BsonDocument> commands = queryCapture.record(probe.call());
+            if (commands.isEmpty()) {
+                throw new IllegalStateException("No query captured for '" + probe.name()
+                        + "', the query capture is not registered with the Mongo client");
+            }
+            for (BsonDocument command : commands) {
+                if (usesCollectionScan(explain(command))) {
+                    log.warn("Query of '{}' falls back to COLLSCAN: {}", probe.name(), command.toJson());
+                    scans.add(probe.name());
+                    break;
+                }
+            }
+        }
+        return scans;
+    }
+
+    /**
+     * Read methods of the repositories, called with arbitrary values.
+     * Concrete values do not matter, only the queried fields and sort.
+     *
+     * @return list of probes
+     */
+    private List<Probe> probes() {
+        UUID anyId = UUID.randomUUID();
+        String anyEmail = "user@example.com";
+        List<Probe> probes = new ArrayList<>();
+
+        // Projects
+        ProjectsFilter byCustomer = new ProjectsFilter();
+        byCustomer.setCustomerId(anyId);
+        ProjectsFilter byTranslator = new ProjectsFilter();
+        byTranslator.setTranslatorId(anyId);
+        ProjectsFilter page = new ProjectsFilter().setLimit(20).setCursor(new ProjectsCursor(Instant.now(), anyId));
+
+        probes.add(new Probe("projects by customer", () -> projectRepository.getAll(byCustomer)));
+        probes.add(new Probe("projects by translator", () -> projectRepository.getAll(byTranslator)));
+        probes.add(new Probe("projects by state", () -> projectRepository.getAll(new ProjectsFilter().setStatus(ProjectState.CREATED))));
+        probes.add(new Probe("projects by language", () -> projectRepository.getAll(new ProjectsFilter().setLanguageCode("de"))));
+        probes.add(new Probe("projects page", () -> projectRepository.getAll(page)));
+        probes.add(new Probe("projects with feedback page", () -> projectRepository.getAllWithFeedback(page)));
+        probes.add(new Probe("projects export", () -> {
+            try (Stream<Project> projects = projectRepository.streamAll(new ProjectsFilter())) {
+                projects.findFirst();
+            }
+        }));
+        probes.add(new Probe("projects of translator count", () -> projectRepository.countProjectsWithTranslator(anyId)));
+
+        // Users
+        probes.add(new Probe("user by email", () -> userRepository.getUserByEmail(anyEmail)));
+        probes.add(new Probe("password hash by email", () -> userRepository.getUserPasswordHash(anyEmail)));
+        probes.add(new Probe("OAuth user by email", () -> userRepository.loggedUsingOAuth(anyEmail)));
+        probes.add(new Probe("translators by language", () -> userRepository.getTranslatorsIdsByLanguage(Locale.GERMAN)));
+        probes.add(new Probe("least loaded translator", () -> userRepository.getLeastLoadedTranslator(Locale.GERMAN)));
+        probes.add(new Probe("users by role", () -> userRepository.getAllUsers(new UsersFilter().setRole(UserRole.TRANSLATOR))));
+
+        // Feedbacks
+        probes.add(new Probe("feedback by project", () -> {
+            feedbackRepository.getFeedbackByProjectId(anyId);
+            feedbackRepository.getAllFeedbackForProjectIds(List.of(anyId));
+        }));
+
+        // Revoked tokens
+        probes.add(new Probe("revoked tokens since", () -> revokedTokenRepository.getRevokedSince(Instant.now())));
+
+        return probes;
+    }
+
+    /**
+     * Explains the captured command against the database it was sent to.
+     *
+     * @param command captured query command
+     * @return explain output
+     */
+    private Document explain(BsonDocument command) {
+        return mongoTemplate.getDb().runCommand(new BsonDocument("explain", command)
+                .append("verbosity", new BsonString("queryPlanner")));
+    }
+
+    /**
+     * Checks the winning plans of the explain output (one per pipeline stage reading a collection)
+     * for a collection scan.
+     *
+     * @param node explain output node (document, list or value)
+     * @return true if any winning plan scans the collection
+     */
+    private static boolean usesCollectionScan(Object node) {
+        if (node instanceof Document document) {
+            if (containsStage(document.get(WINNING_PLAN), COLLSCAN)) {
+                return true;
+            }
+            return document.values().stream().anyMatch(QueryPlanVerifier::usesCollectionScan);
+        }
+        if (node instanceof Collection<?> collection) {
+            return collection.stream().anyMatch(QueryPlanVerifier::usesCollectionScan);
+        }
+        return false;
+    }
+
+    /**
+     * Recursively searches the plan tree for the given stage.
+     *
+     * @param node  plan node (document, list or value)
+     * @param stage stage name
+     * @return true if any node of the plan is the given stage
+     */
+    private static boolean containsStage(Object node, String stage) {
+        if (node instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (node instanceof Collection<?> collection) {
+            return collection.stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+
+    /**
+     * Repository call whose queries are verified.
+     *
+     * @param name human-readable name of the probe
+     * @param call calls the repository
+     */
+    private record Probe(String name, Runnable call) {
+    }
+}
@@ -1,10 +1,16 @@
 package com.romiiis.configuration;
 
 import com.romiiis.filter.UsersFilter;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.query.Criteria;
 
 public class UserMongoFilter {
 
+    /**
+     * Least loaded translators first (ties broken by ID), backed by the role/languages/activeProjects index on UserDB
+     */
+    public static final Sort LEAST_LOADED_SORT = Sort.by(Sort.Direction.ASC, "activeProjects", "_id");
+
     public static Criteria toCriteria(UsersFilter filter) {
 
         // If no filter criteria are provided, return an empty Criteria
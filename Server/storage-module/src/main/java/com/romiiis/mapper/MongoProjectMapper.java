@@ -3,7 +3,9 @@ package com.romiiis.mapper;
 import com.romiiis.domain.Project;
 import com.romiiis.domain.WrapperProjectFeedback;
 import com.romiiis.model.ProjectDB;
+import com.romiiis.model.ProjectWithFeedbackDB;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import java.util.List;
 
@@ -39,4 +41,22 @@ public interface MongoProjectMapper {
      */
     List<Project> mapDBListToDomain(List<ProjectDB> projectDBs);
 
+    /**
+     * Maps an aggregated project/feedback row to a WrapperProjectFeedback object.
+     *
+     * @param row the aggregated row to be mapped
+     * @return the mapped WrapperProjectFeedback object
+     */
+    @Mapping(target = "project", source = ".")
+    @Mapping(target = "feedback", source = "feedback")
+    WrapperProjectFeedback mapDBToWrapper(ProjectWithFeedbackDB row);
+
+    /**
+     * Maps a list of aggregated project/feedback rows to a list of WrapperProjectFeedback objects.
+     *
+     * @param rows the list of aggregated rows to be mapped
+     * @return the list of mapped WrapperProjectFeedback objects
+     */
+    List<WrapperProjectFeedback> mapDBListToWrapper(List<ProjectWithFeedbackDB> rows);
+
 }
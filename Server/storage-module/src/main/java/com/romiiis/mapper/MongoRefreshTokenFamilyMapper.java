@@ -0,0 +1,28 @@
+package com.romiiis.mapper;
+
+import com.romiiis.model.RefreshTokenFamilyDB;
+import com.romiiis.security.RefreshTokenFamily;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper interface for converting between RefreshTokenFamily and RefreshTokenFamilyDB objects.
+ * Uses MapStruct for automatic implementation generation.
+ */
+@Mapper(componentModel = "spring")
+public interface MongoRefreshTokenFamilyMapper {
+
+    /**
+     * Maps a RefreshTokenFamilyDB object to a RefreshTokenFamily object.
+     * @param familyDB the familyDB object to be mapped
+     * @return the mapped RefreshTokenFamily object
+     */
+    RefreshTokenFamily mapDBToDomain(RefreshTokenFamilyDB familyDB);
+
+    /**
+     * Maps a RefreshTokenFamily object to a RefreshTokenFamilyDB object.
+     * @param family the family object to be mapped
+     * @return the mapped RefreshTokenFamilyDB object
+     */
+    RefreshTokenFamilyDB mapDomainToDB(RefreshTokenFamily family);
+
+}
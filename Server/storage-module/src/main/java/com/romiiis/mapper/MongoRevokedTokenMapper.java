@@ -0,0 +1,28 @@
+package com.romiiis.mapper;
+
+import com.romiiis.model.RevokedTokenDB;
+import com.romiiis.security.RevokedToken;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper interface for converting between RevokedToken and RevokedTokenDB objects.
+ * Uses MapStruct for automatic implementation generation.
+ */
+@Mapper(componentModel = "spring")
+public interface MongoRevokedTokenMapper {
+
+    /**
+     * Maps a RevokedTokenDB object to a RevokedToken object.
+     * @param revokedTokenDB the revokedTokenDB object to be mapped
+     * @return the mapped RevokedToken object
+     */
+    RevokedToken mapDBToDomain(RevokedTokenDB revokedTokenDB);
+
+    /**
+     * Maps a RevokedToken object to a RevokedTokenDB object.
+     * @param revokedToken the revokedToken object to be mapped
+     * @return the mapped RevokedTokenDB object
+     */
+    RevokedTokenDB mapDomainToDB(RevokedToken revokedToken);
+
+}
@@ -4,6 +4,7 @@ import com.romiiis.domain.User;
 import com.romiiis.domain.UserRole;
 import com.romiiis.model.UserDB;
 import com.romiiis.model.UserRoleDB;
+import com.romiiis.model.UserSnapshotDB;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -29,6 +30,7 @@ public interface MongoUserMapper {
      * @param user the user object to be mapped
      * @return the mapped UserDB object
      */
+    @Mapping(target = "activeProjects", ignore = true)
     UserDB mapDomainToDB(User user);
 
     /**
@@ -39,6 +41,25 @@ public interface MongoUserMapper {
      */
     List<User> mapDBListToDomain(List<UserDB> userDBs);
 
+    /**
+     * Maps a User object to a UserSnapshotDB object embedded in other documents.
+     *
+     * @param user the user object to be mapped
+     * @return the mapped UserSnapshotDB object
+     */
+    UserSnapshotDB mapDomainToSnapshot(User user);
+
+    /**
+     * Maps an embedded UserSnapshotDB object to a (partially filled) User object.
+     *
+     * @param snapshot the snapshot to be mapped
+     * @return the mapped User object
+     */
+    @Mapping(target = "languages", ignore = true)
+    @Mapping(target = "hashedPassword", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
+    User mapSnapshotToDomain(UserSnapshotDB snapshot);
+
     /**
      * Maps a UserRoleDB object to a UserRole object.
      *
@@ -4,6 +4,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -16,6 +17,7 @@ import java.util.UUID;
  * Represents feedback given by a customer for a completed project
  */
 @Document(collection = "feedbacks")
+@CompoundIndex(name = "projectId_createdAt", def = "{ 'projectId': 1, 'createdAt': -1 }")
 @Data
 @NoArgsConstructor
 public class FeedbackDB {
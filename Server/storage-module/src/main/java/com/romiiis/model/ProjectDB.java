@@ -3,7 +3,8 @@ package com.romiiis.model;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -12,21 +13,27 @@ import java.util.UUID;
 
 /**
  * ProjectDB entity representing a translation project in the database.
- * Contains references to customer and translator, language details, files, state, and timestamps.
+ * Contains embedded snapshots of the customer and translator, language details, files, state, and timestamps.
  *
  * @author Roman Pejs
  */
 @Document(collection = "projects")
+@CompoundIndexes({
+        @CompoundIndex(name = "createdAt_id", def = "{ 'createdAt': -1, '_id': -1 }"),
+        @CompoundIndex(name = "customer_createdAt_id", def = "{ 'customer._id': 1, 'createdAt': -1, '_id': -1 }"),
+        @CompoundIndex(name = "translator_createdAt_id", def = "{ 'translator._id': 1, 'createdAt': -1, '_id': -1 }"),
+        @CompoundIndex(name = "translator_state", def = "{ 'translator._id': 1, 'state': 1 }"),
+        @CompoundIndex(name = "state_createdAt_id", def = "{ 'state': 1, 'createdAt': -1, '_id': -1 }"),
+        @CompoundIndex(name = "targetLanguage_createdAt_id", def = "{ 'targetLanguage': 1, 'createdAt': -1, '_id': -1 }")
+})
 @Data
 @NoArgsConstructor
 public class ProjectDB {
     @Id
     protected UUID id;
 
-    @DBRef
-    protected UserDB customer;
-    @DBRef
-    protected UserDB translator;
+    protected UserSnapshotDB customer;
+    protected UserSnapshotDB translator;
 
     protected Locale targetLanguage;
     protected String originalFileName;
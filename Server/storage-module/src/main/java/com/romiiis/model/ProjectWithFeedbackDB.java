@@ -0,0 +1,19 @@
+package com.romiiis.model;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aggregation row of a project joined with its latest feedback.
+ * Not stored on its own - produced by the project/feedback $lookup.
+ *
+ * @author Roman Pejs
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class ProjectWithFeedbackDB extends ProjectDB {
+
+    private FeedbackDB feedback;
+}
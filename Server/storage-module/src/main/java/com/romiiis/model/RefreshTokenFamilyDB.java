@@ -0,0 +1,28 @@
+package com.romiiis.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Refresh token family database entity
+ * Documents are removed by the TTL index once the current refresh token expires
+ */
+@Document(collection = "refreshTokenFamilies")
+@Data
+@NoArgsConstructor
+public class RefreshTokenFamilyDB {
+    @Id
+    private String familyId;
+
+    private UUID userId;
+    private String currentJti;
+
+    @Indexed(name = "expiresAt_ttl", expireAfter = "0s")
+    private Instant expiresAt;
+}
@@ -0,0 +1,27 @@
+package com.romiiis.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Revoked token database entity
+ * Documents are removed by the TTL index once the token expires
+ */
+@Document(collection = "revokedTokens")
+@Data
+@NoArgsConstructor
+public class RevokedTokenDB {
+    @Id
+    private String jti;
+
+    @Indexed(name = "expiresAt_ttl", expireAfter = "0s")
+    private Instant expiresAt;
+
+    @Indexed(name = "revokedAt")
+    private Instant revokedAt;
+}
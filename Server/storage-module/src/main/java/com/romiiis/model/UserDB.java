@@ -3,6 +3,8 @@ package com.romiiis.model;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -16,6 +18,7 @@ import java.util.UUID;
  * @author Roman Pejs
  */
 @Document(collection = "users")
+@CompoundIndex(name = "role_languages_activeProjects", def = "{ 'role': 1, 'languages': 1, 'activeProjects': 1, '_id': 1 }")
 @Data
 @NoArgsConstructor
 public class UserDB {
@@ -24,10 +27,17 @@ public class UserDB {
     private UUID id;
 
     private String name;
+    @Indexed
     private String emailAddress;
     private UserRoleDB role;
     private Set<Locale> languages;
     private Instant createdAt;
 
     private String hashedPassword;
+    private Integer tokenVersion;
+
+    /**
+     * Number of active projects of a translator, maintained by the repository (not part of the domain user)
+     */
+    private Integer activeProjects;
 }
@@ -0,0 +1,33 @@
+package com.romiiis.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Compact copy of a user embedded in other documents (e.g. the customer and translator of a project).
+ * Holds only the fields needed to render the owning document, so it can be read without
+ * an extra lookup into the users collection.
+ * <p>
+ * The snapshot is kept in sync by {@link com.romiiis.repository.impl.UserRepositoryImpl#save}.
+ * <p>
+ * Embedding is the only storage mode of project users, there is no switch back to references:
+ * the project filters, indexes and the feedback join all match on {@code customer._id}/{@code translator._id},
+ * so supporting both layouts would double every query, and
+ * {@link com.romiiis.configuration.ProjectUserSnapshotMigration} converts the old layout on startup anyway.
+ *
+ * @author Roman Pejs
+ */
+@Data
+@NoArgsConstructor
+public class UserSnapshotDB {
+
+    private UUID id;
+
+    private String name;
+    private String emailAddress;
+    private UserRoleDB role;
+    private Instant createdAt;
+}
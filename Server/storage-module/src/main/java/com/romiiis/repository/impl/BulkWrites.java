@@ -0,0 +1,173 @@
+package com.romiiis.repository.impl;
+
+import com.romiiis.configuration.BulkWriteResult;
+import com.romiiis.exception.MyIllegalParametersException;
+import com.romiiis.filter.BulkField;
+import com.romiiis.filter.BulkUpdate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Shared execution of batched, unordered bulk writes for the repositories.
+ * <p>
+ * Writes are sent in batches of {@link #BATCH_SIZE}. Because the batches are unordered,
+ * a failing write (e.g. duplicate key) does not stop the remaining ones - it is reported
+ * in the result together with its position in the requested list.
+ *
+ * @author Roman Pejs
+ */
+@Slf4j
+final class BulkWrites {
+
+    /**
+     * Maximum number of writes sent to the database in one round trip
+     */
+    static final int BATCH_SIZE = 500;
+
+    private BulkWrites() {
+    }
+
+    /**
+     * Executes one write per item in unordered batches.
+     *
+     * @param mongoTemplate template used to create the bulk operations
+     * @param entityClass   mapped entity (collection) written to
+     * @param items         items to write
+     * @param operation     adds the write of one item to the bulk
+     * @param <T>           item type
+     * @return per-batch statistics and failed writes
+     */
+    static <T> BulkWriteResult execute(MongoTemplate mongoTemplate, Class<?> entityClass, List<T> items,
+                                       BiConsumer<BulkOperations, T> operation) {
+        List<BulkWriteResult.Batch> batches = new ArrayList<>();
+        List<BulkWriteResult.Failure> failures = new ArrayList<>();
+
+        for (int from = 0; from < items.size(); from += BATCH_SIZE) {
+            List<T> chunk = items.subList(from, Math.min(from + BATCH_SIZE, items.size()));
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass);
+            chunk.forEach(item -> operation.accept(bulk, item));
+
+            long start = System.nanoTime();
+            int written;
+            try {
+                written = written(bulk.execute());
+            } catch (BulkOperationException ex) {
+                written = written(ex.getResult());
+                int offset = from;
+                ex.getErrors().forEach(error ->
+                        failures.add(new BulkWriteResult.Failure(offset + error.getIndex(), error.getMessage())));
+            }
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            BulkWriteResult.Batch batch = new BulkWriteResult.Batch(chunk.size(), written, elapsedMs);
+            batches.add(batch);
+            log.debug("Bulk write to {}: batch of {} wrote {} documents in {} ms ({} docs/s)",
+                    entityClass.getSimpleName(), batch.size(), batch.written(), batch.elapsedMs(), Math.round(batch.throughput()));
+        }
+
+        BulkWriteResult result = new BulkWriteResult(items.size(), batches, failures);
+        if (result.isComplete()) {
+            log.info("Bulk write to {}: {} of {} writes in {} batches, {} ms ({} docs/s)", entityClass.getSimpleName(),
+                    result.written(), result.requested(), batches.size(), result.elapsedMs(), Math.round(result.throughput()));
+        } else {
+            log.warn("Bulk write to {}: {} of {} writes failed, first error: {}", entityClass.getSimpleName(),
+                    failures.size(), result.requested(), failures.getFirst().message());
+        }
+        return result;
+    }
+
+    /**
+     * Executes multi-document updates one by one, each reported as its own batch.
+     * A failing update does not stop the others; its failure has no index, as it is not a write of a listed item.
+     *
+     * @param mongoTemplate template used to run the updates
+     * @param entityClass   mapped entity (collection) updated
+     * @param targets       targets of the individual updates
+     * @param query         matches the documents of a target
+     * @param changes       changes applied to all matched documents
+     * @param onUpdated     notified of each target that succeeded and the number of documents it matched
+     * @param <T>           target type
+     * @return per-update statistics and failed updates
+     */
+    static <T> BulkWriteResult executeUpdates(MongoTemplate mongoTemplate, Class<?> entityClass, List<T> targets,
+                                              Function<T, Query> query, Update changes, ObjIntConsumer<T> onUpdated) {
+        List<BulkWriteResult.Batch> batches = new ArrayList<>();
+        List<BulkWriteResult.Failure> failures = new ArrayList<>();
+
+        for (T target : targets) {
+            long start = System.nanoTime();
+            int matched;
+            try {
+                matched = (int) mongoTemplate.updateMulti(query.apply(target), changes, entityClass).getMatchedCount();
+            } catch (DataAccessException ex) {
+                failures.add(new BulkWriteResult.Failure(null, ex.getMessage()));
+                matched = -1;
+            }
+            batches.add(new BulkWriteResult.Batch(1, Math.max(matched, 0), (System.nanoTime() - start) / 1_000_000));
+            if (matched >= 0) {
+                onUpdated.accept(target, matched);
+            }
+        }
+
+        BulkWriteResult result = new BulkWriteResult(targets.size(), batches, failures);
+        if (result.isComplete()) {
+            log.info("Bulk update of {}: {} documents by {} updates in {} ms", entityClass.getSimpleName(),
+                    result.written(), targets.size(), result.elapsedMs());
+        } else {
+            log.warn("Bulk update of {}: {} of {} updates failed, first error: {}", entityClass.getSimpleName(),
+                    failures.size(), targets.size(), failures.getFirst().message());
+        }
+        return result;
+    }
+
+    /**
+     * Translates the domain changes to a Mongo update.
+     *
+     * @param changes     domain changes
+     * @param fields      stored field of each domain field that can be bulk updated
+     * @param valueMapper maps domain values to their stored form (e.g. users to snapshots)
+     * @param <E>         updated entity
+     * @return update setting the changed fields, null values unset the field
+     * @throws MyIllegalParametersException if there are no changes, or a changed field cannot be bulk updated
+     */
+    static <E> Update toUpdate(BulkUpdate<E> changes, Map<BulkField<E, ?>, String> fields, UnaryOperator<Object> valueMapper) {
+        if (changes.isEmpty()) {
+            throw new MyIllegalParametersException("Bulk update has no changes");
+        }
+
+        Update update = new Update();
+        changes.getChanges().forEach((field, value) -> {
+            String stored = fields.get(field);
+            if (stored == null) {
+                throw new MyIllegalParametersException("Field " + field + " cannot be bulk updated");
+            }
+            if (value == null) {
+                update.unset(stored);
+            } else {
+                update.set(stored, valueMapper.apply(value));
+            }
+        });
+        return update;
+    }
+
+    /**
+     * @param result driver result of one batch
+     * @return number of inserted, matched or upserted documents
+     */
+    private static int written(com.mongodb.bulk.BulkWriteResult result) {
+        return result.getInsertedCount() + result.getMatchedCount() + result.getUpserts().size();
+    }
+}
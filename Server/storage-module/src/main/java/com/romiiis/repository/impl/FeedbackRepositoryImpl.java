@@ -1,14 +1,26 @@
 package com.romiiis.repository.impl;
 
+import com.romiiis.configuration.BulkWriteResult;
 import com.romiiis.domain.Feedback;
+import com.romiiis.exception.MyIllegalParametersException;
+import com.romiiis.filter.BulkField;
+import com.romiiis.filter.BulkUpdate;
 import com.romiiis.mapper.MongoFeedbackMapper;
+import com.romiiis.model.FeedbackDB;
 import com.romiiis.repository.IFeedbackRepository;
 import com.romiiis.repository.mongo.MongoFeedbackRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.UnaryOperator;
 
 @Repository
 @RequiredArgsConstructor
@@ -16,6 +28,12 @@ public class FeedbackRepositoryImpl implements IFeedbackRepository {
 
     private final MongoFeedbackRepository mongoFeedbackRepository;
     private final MongoFeedbackMapper mapper;
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Stored fields of the feedback fields that can be bulk updated
+     */
+    private static final Map<BulkField<Feedback, ?>, String> BULK_FIELDS = Map.of(BulkField.FEEDBACK_TEXT, "text");
 
     /**
      * Retrieves feedback by project ID.
@@ -42,6 +60,35 @@ public class FeedbackRepositoryImpl implements IFeedbackRepository {
         );
     }
 
+    /**
+     * Saves multiple feedback entries by unordered batches of upserting replaces.
+     *
+     * @param feedbacks the feedback entries to save
+     * @return result with per-batch throughput and failed writes
+     */
+    @Override
+    public BulkWriteResult saveAll(List<Feedback> feedbacks) {
+        List<FeedbackDB> dbFeedbacks = feedbacks.stream().map(mapper::mapDomainToDB).toList();
+        return BulkWrites.execute(mongoTemplate, FeedbackDB.class, dbFeedbacks, (bulk, feedback) ->
+                bulk.replaceOne(new Query(Criteria.where("_id").is(feedback.getId())), feedback, FindAndReplaceOptions.options().upsert()));
+    }
+
+    /**
+     * Applies the same changes to all feedback of the given projects by a single multi-document update.
+     *
+     * @param projectIds the UUIDs of the projects
+     * @param update     changes to apply
+     * @return result with the number of updated feedback entries
+     * @throws MyIllegalParametersException if the update has no changes or changes a field that cannot be bulk updated
+     */
+    @Override
+    public BulkWriteResult updateMany(List<UUID> projectIds, BulkUpdate<Feedback> update) {
+        Update changes = BulkWrites.toUpdate(update, BULK_FIELDS, UnaryOperator.identity());
+        Query query = new Query(Criteria.where("projectId").in(projectIds));
+        return BulkWrites.executeUpdates(mongoTemplate, FeedbackDB.class, List.of(query), q -> q, changes, (q, matched) -> {
+        });
+    }
+
     /**
      * Deletes feedback for the specified project ID.
      *
@@ -1,20 +1,44 @@
 package com.romiiis.repository.impl;
 
+import com.romiiis.configuration.BulkWriteResult;
 import com.romiiis.configuration.ProjectMongoFilter;
 import com.romiiis.domain.Project;
+import com.romiiis.domain.ProjectState;
+import com.romiiis.domain.User;
+import com.romiiis.domain.WrapperProjectFeedback;
+import com.romiiis.exception.MyIllegalParametersException;
+import com.romiiis.filter.BulkField;
+import com.romiiis.filter.BulkUpdate;
 import com.romiiis.filter.ProjectsFilter;
 import com.romiiis.mapper.MongoProjectMapper;
+import com.romiiis.mapper.MongoUserMapper;
 import com.romiiis.model.ProjectDB;
+import com.romiiis.model.ProjectStateDB;
+import com.romiiis.model.ProjectWithFeedbackDB;
 import com.romiiis.repository.IProjectRepository;
 import com.romiiis.repository.mongo.MongoProjectRepository;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.VariableOperators;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the IProjectRepository interface using MongoDB as the data store.
@@ -31,6 +55,36 @@ public class ProjectRepositoryImpl implements IProjectRepository {
     private final MongoProjectRepository mongoRepo;
     private final MongoProjectMapper mapper;
     private final MongoTemplate mongoTemplate;
+    private final MongoUserMapper userMapper;
+
+    /**
+     * Stored fields of the project fields that can be bulk updated
+     */
+    private static final Map<BulkField<Project, ?>, String> BULK_FIELDS = Map.of(
+            BulkField.PROJECT_STATE, "state",
+            BulkField.PROJECT_TRANSLATOR, "translator",
+            BulkField.PROJECT_TARGET_LANGUAGE, "targetLanguage",
+            BulkField.PROJECT_TRANSLATED_FILE_NAME, "translatedFileName"
+    );
+
+    /**
+     * Number of projects fetched per round trip when streaming
+     */
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    /**
+     * Joins the latest feedback (by creation time) of each project, backed by the projectId/createdAt index
+     */
+    private static final AggregationOperation LATEST_FEEDBACK_LOOKUP = Aggregation.lookup()
+            .from("feedbacks")
+            .let(VariableOperators.Let.ExpressionVariable.newVariable("projectId").forField("_id"))
+            .pipeline(
+                    context -> new Document("$match",
+                            new Document("$expr", new Document("$eq", List.of("$projectId", "$$projectId")))),
+                    Aggregation.sort(Sort.Direction.DESC, "createdAt"),
+                    Aggregation.limit(1)
+            )
+            .as("feedback");
 
 
     /**
@@ -43,8 +97,141 @@ public class ProjectRepositoryImpl implements IProjectRepository {
         mongoRepo.save(mapper.mapDomainToDB(project));
     }
 
+    /**
+     * Stores multiple projects by unordered batches of upserting replaces, then adjusts the active projects
+     * counters of the translators to the projects actually written.
+     * <p>
+     * The translator and state of the stored projects are read first, and an existing project is only replaced
+     * while it still has them. A project changed concurrently in between fails (as a duplicate key of the upsert)
+     * instead of being overwritten with a counter change computed from stale data.
+     *
+     * @param projects the projects to be stored
+     * @return result with per-batch throughput and failed writes
+     */
+    @Override
+    public BulkWriteResult saveAll(List<Project> projects) {
+        List<ProjectDB> dbProjects = projects.stream().map(mapper::mapDomainToDB).toList();
+
+        Query storedQuery = new Query(Criteria.where("_id").in(dbProjects.stream().map(ProjectDB::getId).toList()));
+        storedQuery.fields().include("translator._id", "state");
+        Map<UUID, Assignment> stored = new HashMap<>();
+        mongoTemplate.find(storedQuery, ProjectDB.class).forEach(project -> stored.put(project.getId(), Assignment.of(project)));
+
+        BulkWriteResult result = BulkWrites.execute(mongoTemplate, ProjectDB.class, dbProjects, (bulk, project) -> {
+            Criteria byId = Criteria.where("_id").is(project.getId());
+            Assignment old = stored.get(project.getId());
+            Query query = new Query(old == null ? byId : old.unchanged(byId));
+            bulk.replaceOne(query, project, FindAndReplaceOptions.options().upsert());
+        });
+
+        Set<Integer> failed = new HashSet<>();
+        result.failures().forEach(failure -> failed.add(failure.index()));
+        TranslatorWorkload workload = new TranslatorWorkload();
+        for (int i = 0; i < dbProjects.size(); i++) {
+            if (failed.contains(i)) {
+                continue;
+            }
+            Assignment now = Assignment.of(dbProjects.get(i));
+            Assignment old = stored.getOrDefault(dbProjects.get(i).getId(), Assignment.NONE);
+            workload.move(old.translatorId(), old.state(), now.translatorId(), now.state(), 1);
+        }
+        workload.apply(mongoTemplate);
+        return result;
+    }
+
+    /**
+     * Applies the same changes to all projects matching the filter by multi-document updates.
+     * Users (customer, translator) are stored as their embedded snapshots.
+     * <p>
+     * If the update changes the state or translator, the matched projects are grouped by their current
+     * translator and state, and each group is updated separately (only while its projects still have them),
+     * so that the active projects counters can be moved by the number of projects each update matched.
+     *
+     * @param filter the filter criteria
+     * @param update changes to apply
+     * @return result with the number of updated projects, one batch per update
+     * @throws MyIllegalParametersException if the update has no changes or changes a field that cannot be bulk updated
+     */
+    @Override
+    public BulkWriteResult updateMany(ProjectsFilter filter, BulkUpdate<Project> update) {
+        Update changes = BulkWrites.toUpdate(update, BULK_FIELDS, this::toStoredValue);
+        Query query = new Query(ProjectMongoFilter.toCriteria(filter));
+
+        if (!update.changes(BulkField.PROJECT_STATE) && !update.changes(BulkField.PROJECT_TRANSLATOR)) {
+            return BulkWrites.executeUpdates(mongoTemplate, ProjectDB.class, List.of(query), q -> q, changes, (q, matched) -> {
+            });
+        }
+
+        // The matched projects are fixed by ID first, as the update may change the filtered fields
+        query.fields().include("translator._id", "state");
+        Map<Assignment, List<UUID>> groups = new HashMap<>();
+        mongoTemplate.find(query, ProjectDB.class).forEach(project ->
+                groups.computeIfAbsent(Assignment.of(project), k -> new ArrayList<>()).add(project.getId()));
+
+        TranslatorWorkload workload = new TranslatorWorkload();
+        BulkWriteResult result = BulkWrites.executeUpdates(mongoTemplate, ProjectDB.class, List.copyOf(groups.entrySet()),
+                group -> new Query(group.getKey().unchanged(Criteria.where("_id").in(group.getValue()))),
+                changes,
+                (group, matched) -> {
+                    Assignment old = group.getKey();
+                    UUID translator = update.changes(BulkField.PROJECT_TRANSLATOR)
+                            ? Optional.ofNullable(update.get(BulkField.PROJECT_TRANSLATOR)).map(User::getId).orElse(null)
+                            : old.translatorId();
+                    ProjectStateDB state = update.changes(BulkField.PROJECT_STATE)
+                            ? (ProjectStateDB) toStoredValue(update.get(BulkField.PROJECT_STATE))
+                            : old.state();
+                    workload.move(old.translatorId(), old.state(), translator, state, matched);
+                });
+        workload.apply(mongoTemplate);
+        return result;
+    }
+
+    /**
+     * Maps a domain value of a bulk updated field to its stored form.
+     *
+     * @param value domain value, may be null
+     * @return user snapshot for users, stored state for states, the value itself otherwise
+     */
+    private Object toStoredValue(Object value) {
+        if (value instanceof User user) {
+            return userMapper.mapDomainToSnapshot(user);
+        }
+        if (value instanceof ProjectState state) {
+            return ProjectStateDB.valueOf(state.name());
+        }
+        return value;
+    }
+
+    /**
+     * Translator and state of a stored project, which determine the translator's workload.
+     *
+     * @param translatorId ID of the translator, null if the project has none
+     * @param state        state of the project
+     */
+    private record Assignment(UUID translatorId, ProjectStateDB state) {
+
+        /**
+         * Assignment of a project that is not stored yet
+         */
+        static final Assignment NONE = new Assignment(null, null);
+
+        static Assignment of(ProjectDB project) {
+            return new Assignment(project.getTranslator() == null ? null : project.getTranslator().getId(), project.getState());
+        }
+
+        /**
+         * @param criteria projects to match
+         * @return criteria matching the projects only while they still have this translator and state
+         */
+        Criteria unchanged(Criteria criteria) {
+            return criteria.and("translator._id").is(translatorId).and("state").is(state);
+        }
+    }
+
     /**
      * Retrieves all projects from the MongoDB database.
+     * If the filter is paged, only one page ordered by creation time (newest first) is returned,
+     * starting right after the filter's cursor.
      *
      * @return a list of all projects
      */
@@ -53,10 +240,66 @@ public class ProjectRepositoryImpl implements IProjectRepository {
         Criteria criteria = ProjectMongoFilter.toCriteria(filter);
         Query query = new Query(criteria);
 
+        if (filter.isPaged()) {
+            query.with(ProjectMongoFilter.PAGE_SORT).limit(filter.getLimit());
+        }
+
         List<ProjectDB> dbProjects = mongoTemplate.find(query, ProjectDB.class);
         return mapper.mapDBListToDomain(dbProjects);
     }
 
+    /**
+     * Streams all projects matching the filter over a single database cursor, newest first.
+     * Projects are fetched and mapped in batches as the stream is consumed.
+     *
+     * @param filter the filter criteria (paging is not applied)
+     * @return lazily fetched projects, the stream must be closed to release the cursor
+     */
+    @Override
+    public Stream<Project> streamAll(ProjectsFilter filter) {
+        Query query = new Query(ProjectMongoFilter.toCriteria(filter))
+                .with(ProjectMongoFilter.PAGE_SORT)
+                .cursorBatchSize(STREAM_BATCH_SIZE);
+
+        return mongoTemplate.stream(query, ProjectDB.class).map(mapper::mapDBToDomain);
+    }
+
+    /**
+     * Retrieves projects joined with their latest feedback in a single aggregation.
+     * The feedback presence filter and paging are applied by the database as well.
+     *
+     * @param filter the filter criteria
+     * @return projects with their feedback
+     */
+    @Override
+    public List<WrapperProjectFeedback> getAllWithFeedback(ProjectsFilter filter) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.match(ProjectMongoFilter.toCriteria(filter)));
+
+        if (filter.isPaged()) {
+            stages.add(Aggregation.sort(ProjectMongoFilter.PAGE_SORT));
+            // Without the feedback filter, the page can be cut before joining
+            if (!filter.isHasFeedback()) {
+                stages.add(Aggregation.limit(filter.getLimit()));
+            }
+        }
+
+        stages.add(LATEST_FEEDBACK_LOOKUP);
+        stages.add(Aggregation.unwind("feedback", true));
+
+        if (filter.isHasFeedback()) {
+            stages.add(Aggregation.match(Criteria.where("feedback").exists(true)));
+            if (filter.isPaged()) {
+                stages.add(Aggregation.limit(filter.getLimit()));
+            }
+        }
+
+        List<ProjectWithFeedbackDB> rows = mongoTemplate
+                .aggregate(Aggregation.newAggregation(stages), ProjectDB.class, ProjectWithFeedbackDB.class)
+                .getMappedResults();
+        return mapper.mapDBListToWrapper(rows);
+    }
+
     /**
      * Finds a project by its unique identifier.
      *
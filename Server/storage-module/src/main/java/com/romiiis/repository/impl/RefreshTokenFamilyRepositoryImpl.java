@@ -0,0 +1,70 @@
+package com.romiiis.repository.impl;
+
+import com.romiiis.mapper.MongoRefreshTokenFamilyMapper;
+import com.romiiis.model.RefreshTokenFamilyDB;
+import com.romiiis.repository.IRefreshTokenFamilyRepository;
+import com.romiiis.security.RefreshTokenFamily;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Mongo implementation of the refresh token families repository.
+ * Each family is a single small document keyed by its ID; expired families are removed by the
+ * TTL index on {@code expiresAt}.
+ *
+ * @author Roman Pejs
+ */
+@Repository
+@RequiredArgsConstructor
+public class RefreshTokenFamilyRepositoryImpl implements IRefreshTokenFamilyRepository {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoRefreshTokenFamilyMapper mapper;
+
+    /**
+     * Stores a new family.
+     *
+     * @param family the family
+     */
+    @Override
+    public void save(RefreshTokenFamily family) {
+        mongoTemplate.save(mapper.mapDomainToDB(family));
+    }
+
+    /**
+     * Rotates the current refresh token by a single conditional update of the family document,
+     * so of two concurrent rotations with the same token only one succeeds.
+     *
+     * @param familyId     family identifier
+     * @param presentedJti identifier of the refresh token presented by the client
+     * @param nextJti      identifier of the refresh token replacing it
+     * @param expiresAt    expiration time of the replacing refresh token
+     * @return true if rotated
+     */
+    @Override
+    public boolean rotate(String familyId, String presentedJti, String nextJti, Instant expiresAt) {
+        Query query = new Query(Criteria.where("_id").is(familyId).and("currentJti").is(presentedJti));
+        Update update = new Update().set("currentJti", nextJti).set("expiresAt", expiresAt);
+        return mongoTemplate.updateFirst(query, update, RefreshTokenFamilyDB.class).getModifiedCount() > 0;
+    }
+
+    /**
+     * Removes the family.
+     *
+     * @param familyId family identifier
+     * @return the removed family, or empty if it did not exist
+     */
+    @Override
+    public Optional<RefreshTokenFamily> remove(String familyId) {
+        RefreshTokenFamilyDB removed = mongoTemplate.findAndRemove(
+                new Query(Criteria.where("_id").is(familyId)), RefreshTokenFamilyDB.class);
+        return Optional.ofNullable(removed).map(mapper::mapDBToDomain);
+    }
+}
@@ -0,0 +1,65 @@
+package com.romiiis.repository.impl;
+
+import com.romiiis.mapper.MongoRevokedTokenMapper;
+import com.romiiis.model.RevokedTokenDB;
+import com.romiiis.repository.IRevokedTokenRepository;
+import com.romiiis.security.RevokedToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Mongo implementation of the revoked tokens repository.
+ * Expired revocations are removed by the TTL index on {@code expiresAt}; until the TTL monitor
+ * runs they are filtered out by the queries.
+ *
+ * @author Roman Pejs
+ */
+@Repository
+@RequiredArgsConstructor
+public class RevokedTokenRepositoryImpl implements IRevokedTokenRepository {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoRevokedTokenMapper mapper;
+
+    /**
+     * Stores a revoked token, replacing a previous revocation of the same token.
+     *
+     * @param token revoked token
+     */
+    @Override
+    public void save(RevokedToken token) {
+        mongoTemplate.save(mapper.mapDomainToDB(token));
+    }
+
+    /**
+     * Checks whether the token is revoked and has not expired yet, by its ID.
+     *
+     * @param jti unique token identifier
+     * @return true if the token is revoked
+     */
+    @Override
+    public boolean isRevoked(String jti) {
+        return mongoTemplate.exists(new Query(Criteria.where("_id").is(jti).and("expiresAt").gt(Instant.now())), RevokedTokenDB.class);
+    }
+
+    /**
+     * Fetches revocations of not yet expired tokens made at or after the given time.
+     * Served by the index on {@code revokedAt}.
+     *
+     * @param since lower bound of the revocation time (inclusive)
+     * @return revoked tokens
+     */
+    @Override
+    public List<RevokedToken> getRevokedSince(Instant since) {
+        Query query = new Query(Criteria.where("revokedAt").gte(since).and("expiresAt").gt(Instant.now()));
+        return mongoTemplate.find(query, RevokedTokenDB.class).stream()
+                .map(mapper::mapDBToDomain)
+                .toList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.romiiis.repository.impl;
+
+import com.romiiis.domain.ProjectState;
+import com.romiiis.model.ProjectStateDB;
+import com.romiiis.model.UserDB;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Collects the changes of the translators' active projects counters caused by bulk project writes,
+ * and applies them in one unordered bulk of {@code $inc} updates.
+ * <p>
+ * Single project writes leave the counters to the workflow services (see
+ * {@link com.romiiis.repository.IUserRepository#incrementActiveProjects}), bulk writes bypass them.
+ *
+ * @author Roman Pejs
+ */
+final class TranslatorWorkload {
+
+    /**
+     * Counter changes by translator ID
+     */
+    private final Map<UUID, Integer> deltas = new HashMap<>();
+
+    /**
+     * Records projects moved between translators and/or states.
+     *
+     * @param fromTranslator translator before the write, null if none
+     * @param fromState      state before the write, null if none
+     * @param toTranslator   translator after the write, null if none
+     * @param toState        state after the write, null if none
+     * @param count          number of moved projects
+     */
+    void move(UUID fromTranslator, ProjectStateDB fromState, UUID toTranslator, ProjectStateDB toState, int count) {
+        if (fromTranslator != null && isActive(fromState)) {
+            deltas.merge(fromTranslator, -count, Integer::sum);
+        }
+        if (toTranslator != null && isActive(toState)) {
+            deltas.merge(toTranslator, count, Integer::sum);
+        }
+    }
+
+    /**
+     * Applies the recorded changes, translators whose changes cancel out are not written.
+     *
+     * @param mongoTemplate template used to update the users
+     */
+    void apply(MongoTemplate mongoTemplate) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserDB.class);
+        int writes = 0;
+        for (Map.Entry<UUID, Integer> delta : deltas.entrySet()) {
+            if (delta.getValue() != 0) {
+                bulk.updateOne(new Query(Criteria.where("_id").is(delta.getKey())), new Update().inc("activeProjects", delta.getValue()));
+                writes++;
+            }
+        }
+        if (writes > 0) {
+            bulk.execute();
+        }
+    }
+
+    /**
+     * @param state stored project state
+     * @return true if the state counts towards the translator's workload
+     */
+    private static boolean isActive(ProjectStateDB state) {
+        return state != null && ProjectState.valueOf(state.name()).isActive();
+    }
+}
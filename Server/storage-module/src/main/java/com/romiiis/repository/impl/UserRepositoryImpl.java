@@ -1,20 +1,30 @@
 package com.romiiis.repository.impl;
 
 import com.mongodb.client.MongoClient;
+import com.romiiis.configuration.BulkWriteResult;
 import com.romiiis.configuration.UserMongoFilter;
 import com.romiiis.domain.User;
 import com.romiiis.domain.UserRole;
+import com.romiiis.exception.MyIllegalParametersException;
+import com.romiiis.filter.BulkField;
+import com.romiiis.filter.BulkUpdate;
 import com.romiiis.filter.UsersFilter;
 import com.romiiis.mapper.MongoUserMapper;
+import com.romiiis.model.ProjectDB;
+import com.romiiis.model.ProjectStateDB;
 import com.romiiis.model.UserDB;
 import com.romiiis.model.UserRoleDB;
+import com.romiiis.model.UserSnapshotDB;
 import com.romiiis.repository.IUserRepository;
 import com.romiiis.repository.mongo.MongoUserRepository;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.*;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
@@ -35,6 +45,40 @@ public class UserRepositoryImpl implements IUserRepository {
     private final MongoUserMapper mapper;
     private final MongoTemplate mongoTemplate;
 
+    /**
+     * Project fields holding an embedded user snapshot
+     */
+    private static final List<String> PROJECT_USER_FIELDS = List.of("customer", "translator");
+
+    /**
+     * Stored fields of the user fields that can be bulk updated
+     */
+    private static final Map<BulkField<User, ?>, String> BULK_FIELDS = Map.of(
+            BulkField.USER_NAME, "name",
+            BulkField.USER_EMAIL_ADDRESS, "emailAddress",
+            BulkField.USER_ROLE, "role",
+            BulkField.USER_LANGUAGES, "languages"
+    );
+
+    /**
+     * User fields copied into the embedded project snapshots
+     */
+    private static final Set<BulkField<User, ?>> SNAPSHOT_FIELDS = Set.of(BulkField.USER_NAME, BulkField.USER_EMAIL_ADDRESS, BulkField.USER_ROLE);
+
+    /**
+     * Project states counted as translator's workload (completed projects may still be rejected back)
+     */
+    private static final List<String> ACTIVE_STATES = List.of(ProjectStateDB.ASSIGNED.name(), ProjectStateDB.COMPLETED.name());
+
+    /**
+     * Name of the per-translator active projects counter
+     */
+    private static final String ACTIVE_PROJECTS = "activeProjects";
+
+    /**
+     * Name of the version of the user's access tokens
+     */
+    private static final String TOKEN_VERSION = "tokenVersion";
 
 
     /**
@@ -66,32 +110,124 @@ public class UserRepositoryImpl implements IUserRepository {
 
     /**
      * Saves a user to the database.
+     * Snapshots of the user embedded in projects are refreshed if the name, email or role changed.
      *
      * @param user the User to save
      */
     @Override
     public void save(User user) {
-        mongoRepo.save(mapper.mapDomainToDB(user));
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(user.getId())), toUpsert(mapper.mapDomainToDB(user)), UserDB.class);
+        syncProjectSnapshots(mapper.mapDomainToSnapshot(user));
+    }
+
+    /**
+     * Saves multiple users by unordered batches of upserts, then refreshes their project snapshots
+     * in a second batched write. As with {@link #save}, the active projects counters are preserved.
+     *
+     * @param users the users to save
+     * @return result of the users write with per-batch throughput and failed writes
+     */
+    @Override
+    public BulkWriteResult saveAll(List<User> users) {
+        List<UserDB> dbUsers = users.stream().map(mapper::mapDomainToDB).toList();
+        BulkWriteResult result = BulkWrites.execute(mongoTemplate, UserDB.class, dbUsers, (bulk, user) ->
+                bulk.upsert(new Query(Criteria.where("_id").is(user.getId())), toUpsert(user)));
 
+        syncProjectSnapshots(users.stream().map(mapper::mapDomainToSnapshot).toList());
+        return result;
+    }
+
+    /**
+     * Applies the same changes to all users matching the filter by a single multi-document update.
+     * If a field copied into project snapshots changes, the snapshots of the updated users are refreshed.
+     *
+     * @param filter the filter criteria
+     * @param update changes to apply
+     * @return result with the number of updated users
+     * @throws MyIllegalParametersException if the update has no changes or changes a field that cannot be bulk updated
+     */
+    @Override
+    public BulkWriteResult updateMany(UsersFilter filter, BulkUpdate<User> update) {
+        Update changes = BulkWrites.toUpdate(update, BULK_FIELDS,
+                value -> value instanceof UserRole role ? mapper.mapDomainToDB(role) : value);
+        Query query = new Query(UserMongoFilter.toCriteria(filter));
+        if (update.changes(BulkField.USER_ROLE)) {
+            // Access tokens carry the role, the ones issued before the change must be rejected (as by User.changeRole)
+            changes.inc(TOKEN_VERSION, 1);
+        }
+
+        if (Collections.disjoint(update.getChanges().keySet(), SNAPSHOT_FIELDS)) {
+            return BulkWrites.executeUpdates(mongoTemplate, UserDB.class, List.of(query), q -> q, changes, (q, matched) -> {
+            });
+        }
+
+        // The update may change the filtered fields, so the matched users are fixed by ID first
+        query.fields().include("_id");
+        List<UUID> ids = mongoTemplate.find(query, UserDB.class).stream().map(UserDB::getId).toList();
+        Query byIds = new Query(Criteria.where("_id").in(ids));
+        BulkWriteResult result = BulkWrites.executeUpdates(mongoTemplate, UserDB.class, List.of(byIds), q -> q, changes, (q, matched) -> {
+        });
+
+        Query updated = new Query(Criteria.where("_id").in(ids));
+        updated.fields().include("name", "emailAddress", "role", "createdAt");
+        syncProjectSnapshots(mongoTemplate.find(updated, UserDB.class).stream()
+                .map(user -> mapper.mapDomainToSnapshot(mapper.mapDBToDomain(user)))
+                .toList());
+        return result;
+    }
+
+    /**
+     * Builds an update replacing all user fields except the active projects counter,
+     * which is maintained separately by {@link #incrementActiveProjects} and must not be overwritten.
+     *
+     * @param userDB the user to write
+     * @return update setting (or unsetting) every mapped field
+     */
+    private Update toUpsert(UserDB userDB) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(userDB, document);
+
+        Update update = new Update().setOnInsert(ACTIVE_PROJECTS, 0);
+        document.forEach((field, value) -> {
+            if (!"_id".equals(field) && !ACTIVE_PROJECTS.equals(field)) {
+                update.set(field, value);
+            }
+        });
+
+        // Fields without a value are not written by the converter, but must not keep their old value
+        mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(UserDB.class).forEach(property -> {
+            String field = property.getFieldName();
+            if (!property.isIdProperty() && !ACTIVE_PROJECTS.equals(field) && !document.containsKey(field)) {
+                update.unset(field);
+            }
+        });
+        return update;
     }
 
     /**
      * Retrieves a user role by its unique identifier.
+     * Only the role field is fetched.
      *
      * @param id the UUID of the user role to retrieve
      * @return the UserRole with the given ID, or null if not found
      */
     @Override
     public UserRole getRoleById(UUID id) {
-        Optional<UserDB> userDBOpt = mongoRepo.findById(id);
-        return userDBOpt.map(db -> mapper.mapDBToDomain(db.getRole())).orElse(null);
+        return mongoRepo.findRoleById(id)
+                .map(view -> mapper.mapDBToDomain(view.role()))
+                .orElse(null);
     }
 
-
+    /**
+     * Retrieves the password hash of a user. Only the hash field is fetched.
+     *
+     * @param email the email address of the user
+     * @return the password hash, or empty if the user does not exist or has no password
+     */
     @Override
     public Optional<String> getUserPasswordHash(String email) {
-        Optional<UserDB> userDBOpt = mongoRepo.findByEmailAddress(email);
-        return userDBOpt.map(UserDB::getHashedPassword);
+        return mongoRepo.findPasswordHashByEmailAddress(email)
+                .map(MongoUserRepository.PasswordHashView::hashedPassword);
     }
 
     /**
@@ -129,12 +265,10 @@ public class UserRepositoryImpl implements IUserRepository {
      */
     @Override
     public List<Locale> getUsersLanguages(UUID userId) {
-        Query query = new Query(Criteria.where("id").is(userId)
-                .and("role").is(UserRoleDB.TRANSLATOR));
-        query.fields().include("languages");
-
-        UserDB user = mongoTemplate.findOne(query, UserDB.class);
-        return user != null ? new ArrayList<>(user.getLanguages()) : List.of();
+        return mongoRepo.findLanguagesByIdAndRole(userId, UserRoleDB.TRANSLATOR)
+                .map(MongoUserRepository.LanguagesView::languages)
+                .<List<Locale>>map(ArrayList::new)
+                .orElse(List.of());
     }
 
 
@@ -160,6 +294,80 @@ public class UserRepositoryImpl implements IUserRepository {
 
     }
 
+    /**
+     * Atomically adjusts the active projects counter of a translator.
+     *
+     * @param translatorId the UUID of the translator
+     * @param delta        change of the counter
+     */
+    @Override
+    public void incrementActiveProjects(UUID translatorId, int delta) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(translatorId)),
+                new Update().inc(ACTIVE_PROJECTS, delta), UserDB.class);
+    }
+
+    /**
+     * Rebuilds the active projects counters from the projects collection: active projects are
+     * grouped by translator in one aggregation, and the differences are applied in a single unordered bulk write.
+     * <p>
+     * The counters are corrected by {@code $inc} of the difference, not overwritten, so transitions
+     * incrementing a counter meanwhile are not lost. A transition racing with the recount can still leave
+     * a counter off by its own change, which the next run corrects.
+     *
+     * @return number of translators whose counter was corrected
+     */
+    @Override
+    public int reconcileActiveProjects() {
+        Query translators = new Query(Criteria.where("role").is(UserRoleDB.TRANSLATOR));
+        translators.fields().include(ACTIVE_PROJECTS);
+        List<UserDB> counters = mongoTemplate.find(translators, UserDB.class);
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("state").in(ACTIVE_STATES)),
+                Aggregation.group("translator._id").count().as("count")
+        );
+        Map<UUID, Integer> counts = new HashMap<>();
+        mongoTemplate.aggregate(aggregation, ProjectDB.class, Document.class)
+                .forEach(row -> counts.put(row.get("_id", UUID.class), row.getInteger("count")));
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserDB.class);
+        int corrected = 0;
+        int writes = 0;
+        for (UserDB translator : counters) {
+            int current = Objects.requireNonNullElse(translator.getActiveProjects(), 0);
+            int difference = counts.getOrDefault(translator.getId(), 0) - current;
+            // A missing counter is created even without a difference
+            if (difference != 0 || translator.getActiveProjects() == null) {
+                bulk.updateOne(new Query(Criteria.where("_id").is(translator.getId())), new Update().inc(ACTIVE_PROJECTS, difference));
+                writes++;
+            }
+            if (difference != 0) {
+                corrected++;
+            }
+        }
+
+        if (writes > 0) {
+            bulk.execute();
+        }
+        return corrected;
+    }
+
+    /**
+     * Finds the least loaded translator for a language by a single sorted read
+     * on the role/languages/activeProjects index.
+     *
+     * @param language the target language
+     * @return the translator with the fewest active projects, or empty if there is no candidate
+     */
+    @Override
+    public Optional<User> getLeastLoadedTranslator(Locale language) {
+        Query query = new Query(Criteria.where("role").is(UserRoleDB.TRANSLATOR).and("languages").is(language))
+                .with(UserMongoFilter.LEAST_LOADED_SORT)
+                .limit(1);
+
+        return Optional.ofNullable(mongoTemplate.findOne(query, UserDB.class)).map(mapper::mapDBToDomain);
+    }
+
     /**
      * Deletes all users from the database.
      */
@@ -168,6 +376,51 @@ public class UserRepositoryImpl implements IUserRepository {
        mongoRepo.deleteAll();
     }
 
+    /**
+     * Rewrites the embedded customer/translator snapshots of the user in all projects.
+     * Only projects holding an outdated snapshot are matched, so unchanged users cost no writes.
+     *
+     * @param snapshot current snapshot of the user
+     */
+    private void syncProjectSnapshots(UserSnapshotDB snapshot) {
+        for (String field : PROJECT_USER_FIELDS) {
+            mongoTemplate.updateMulti(outdatedSnapshotQuery(field, snapshot), new Update().set(field, snapshot), ProjectDB.class);
+        }
+    }
+
+    /**
+     * Rewrites the embedded snapshots of multiple users in batched writes.
+     *
+     * @param snapshots current snapshots of the users
+     */
+    private void syncProjectSnapshots(List<UserSnapshotDB> snapshots) {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        BulkWrites.execute(mongoTemplate, ProjectDB.class, snapshots, (bulk, snapshot) -> {
+            for (String field : PROJECT_USER_FIELDS) {
+                bulk.updateMulti(outdatedSnapshotQuery(field, snapshot), new Update().set(field, snapshot));
+            }
+        });
+    }
+
+    /**
+     * Matches projects whose snapshot of the user in the given field differs from the current one.
+     * The creation time of a user never changes, so it is not compared.
+     *
+     * @param field    project field holding the snapshot
+     * @param snapshot current snapshot of the user
+     * @return query matching the outdated snapshots
+     */
+    private static Query outdatedSnapshotQuery(String field, UserSnapshotDB snapshot) {
+        return new Query(Criteria.where(field + "._id").is(snapshot.getId())
+                .orOperator(
+                        Criteria.where(field + ".name").ne(snapshot.getName()),
+                        Criteria.where(field + ".emailAddress").ne(snapshot.getEmailAddress()),
+                        Criteria.where(field + ".role").ne(snapshot.getRole())
+                ));
+    }
+
     @Override
     public boolean loggedUsingOAuth(String email) {
         // Check if user with given email exists and his password hash is null
@@ -37,7 +37,7 @@ public interface MongoProjectRepository extends MongoRepository<ProjectDB, UUID>
      * @param translatorId the UUID of the translator
      * @return the count of ProjectDB entities for the given translator ID
      */
-    @Query(value = "{ 'translator.$id': ?0 }", count = true)
+    @Query(value = "{ 'translator._id': ?0 }", count = true)
     int countByTranslatorId(UUID translatorId);
 
 
@@ -2,10 +2,14 @@ package com.romiiis.repository.mongo;
 
 import com.mongodb.lang.NonNullApi;
 import com.romiiis.model.UserDB;
+import com.romiiis.model.UserRoleDB;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -42,4 +46,50 @@ public interface MongoUserRepository extends MongoRepository<UserDB, UUID> {
      */
     Optional<UserDB> findByEmailAddress(String email);
 
+    /**
+     * Fetches only the role of a user.
+     *
+     * @param id the UUID of the user
+     * @return an Optional containing the role projection, or empty if not found
+     */
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'role': 1 }")
+    Optional<RoleView> findRoleById(UUID id);
+
+    /**
+     * Fetches only the password hash of a user.
+     *
+     * @param emailAddress the email address of the user
+     * @return an Optional containing the password hash projection, or empty if not found
+     */
+    @Query(value = "{ 'emailAddress': ?0 }", fields = "{ 'hashedPassword': 1 }")
+    Optional<PasswordHashView> findPasswordHashByEmailAddress(String emailAddress);
+
+    /**
+     * Fetches only the languages of a user with the given role.
+     *
+     * @param id   the UUID of the user
+     * @param role the required role of the user
+     * @return an Optional containing the languages projection, or empty if not found
+     */
+    @Query(value = "{ '_id': ?0, 'role': ?1 }", fields = "{ 'languages': 1 }")
+    Optional<LanguagesView> findLanguagesByIdAndRole(UUID id, UserRoleDB role);
+
+    /**
+     * Projection of the user role
+     */
+    record RoleView(UserRoleDB role) {
+    }
+
+    /**
+     * Projection of the user password hash
+     */
+    record PasswordHashView(String hashedPassword) {
+    }
+
+    /**
+     * Projection of the user languages
+     */
+    record LanguagesView(Set<Locale> languages) {
+    }
+
 }
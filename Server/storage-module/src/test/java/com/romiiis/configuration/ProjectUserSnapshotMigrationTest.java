@@ -0,0 +1,140 @@
+package com.romiiis.configuration;
+
+import com.mongodb.DBRef;
+import com.romiiis.model.ProjectDB;
+import com.romiiis.model.UserDB;
+import com.romiiis.model.UserRoleDB;
+import com.romiiis.model.UserSnapshotDB;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest(
+        excludeAutoConfiguration = MongoRepositoriesAutoConfiguration.class
+)
+class ProjectUserSnapshotMigrationTest {
+
+    @Configuration
+    @Import(ProjectUserSnapshotMigration.class)
+    static class IntegrationConfig {
+    }
+
+    @Autowired
+    private ProjectUserSnapshotMigration migration;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private UserDB customer;
+    private UserDB translator;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.getDb().drop();
+
+        customer = new UserDB();
+        customer.setId(UUID.randomUUID());
+        customer.setName("John Customer");
+        customer.setEmailAddress("customer@test.com");
+        customer.setRole(UserRoleDB.CUSTOMER);
+        customer.setCreatedAt(Instant.parse("2024-01-01T10:00:00Z"));
+        translator = new UserDB();
+        translator.setId(UUID.randomUUID());
+        translator.setName("Jane Translator");
+        translator.setEmailAddress("translator@test.com");
+        translator.setRole(UserRoleDB.TRANSLATOR);
+        translator.setCreatedAt(Instant.parse("2024-02-01T10:00:00Z"));
+        mongoTemplate.insertAll(List.of(customer, translator));
+    }
+
+    private UUID insertLegacyProject(UUID customerId, UUID translatorId) {
+        UUID id = UUID.randomUUID();
+        Document project = new Document("_id", id).append("customer", new DBRef("users", customerId));
+        if (translatorId != null) {
+            project.append("translator", new DBRef("users", translatorId));
+        }
+        mongoTemplate.insert(project, "projects");
+        return id;
+    }
+
+    @DisplayName("migrate() should replace user references with snapshots")
+    @Test
+    void migrate_shouldEmbedSnapshots() {
+        UUID assigned = insertLegacyProject(customer.getId(), translator.getId());
+        UUID unassigned = insertLegacyProject(customer.getId(), null);
+
+        int migrated = migration.migrate();
+
+        assertThat(migrated).isEqualTo(2);
+        ProjectDB project = mongoTemplate.findById(assigned, ProjectDB.class);
+        assertThat(project).isNotNull();
+        assertThat(project.getCustomer().getName()).isEqualTo("John Customer");
+        assertThat(project.getCustomer().getRole()).isEqualTo(UserRoleDB.CUSTOMER);
+        assertThat(project.getCustomer().getCreatedAt()).isEqualTo(customer.getCreatedAt());
+        assertThat(project.getTranslator().getEmailAddress()).isEqualTo("translator@test.com");
+        assertThat(mongoTemplate.findById(unassigned, ProjectDB.class).getTranslator()).isNull();
+        assertThat(migration.migrate()).isZero();
+    }
+
+    @DisplayName("migrate() should keep the ID of dangling references")
+    @Test
+    void migrate_shouldKeepDanglingReferenceId() {
+        UUID missingUser = UUID.randomUUID();
+        UUID projectId = insertLegacyProject(missingUser, null);
+
+        migration.migrate();
+
+        UserSnapshotDB snapshot = mongoTemplate.findById(projectId, ProjectDB.class).getCustomer();
+        assertThat(snapshot.getId()).isEqualTo(missingUser);
+        assertThat(snapshot.getName()).isNull();
+        assertThat(migration.migrate()).isZero();
+    }
+
+    @DisplayName("migrate() should add the creation time to snapshots embedded without it")
+    @Test
+    void migrate_shouldBackfillSnapshotCreatedAt() {
+        UUID projectId = UUID.randomUUID();
+        mongoTemplate.insert(new Document("_id", projectId)
+                .append("customer", new Document("_id", customer.getId()).append("name", customer.getName()))
+                .append("translator", new Document("_id", translator.getId()).append("createdAt", translator.getCreatedAt())),
+                "projects");
+
+        int migrated = migration.migrate();
+
+        assertThat(migrated).isEqualTo(1);
+        ProjectDB project = mongoTemplate.findById(projectId, ProjectDB.class);
+        assertThat(project.getCustomer().getCreatedAt()).isEqualTo(customer.getCreatedAt());
+        assertThat(project.getCustomer().getName()).isEqualTo("John Customer");
+        assertThat(migration.migrate()).isZero();
+    }
+
+    @DisplayName("migrate() should migrate all projects across several batches")
+    @Test
+    void migrate_shouldMigrateAcrossBatches() {
+        List<Document> projects = new ArrayList<>();
+        for (int i = 0; i < ProjectUserSnapshotMigration.BATCH_SIZE * 2 + 1; i++) {
+            projects.add(new Document("_id", UUID.randomUUID()).append("customer", new DBRef("users", customer.getId())));
+        }
+        mongoTemplate.insert(projects, "projects");
+
+        int migrated = migration.migrate();
+
+        assertThat(migrated).isEqualTo(projects.size());
+        assertThat(mongoTemplate.findAll(ProjectDB.class))
+                .allSatisfy(project -> assertThat(project.getCustomer().getName()).isEqualTo("John Customer"));
+    }
+}
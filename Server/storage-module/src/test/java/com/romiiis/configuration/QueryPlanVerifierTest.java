@@ -0,0 +1,99 @@
+package com.romiiis.configuration;
+
+import com.romiiis.mapper.MongoFeedbackMapperImpl;
+import com.romiiis.mapper.MongoProjectMapperImpl;
+import com.romiiis.mapper.MongoRevokedTokenMapperImpl;
+import com.romiiis.mapper.MongoUserMapperImpl;
+import com.romiiis.model.FeedbackDB;
+import com.romiiis.model.ProjectDB;
+import com.romiiis.model.RevokedTokenDB;
+import com.romiiis.model.UserDB;
+import com.romiiis.repository.impl.FeedbackRepositoryImpl;
+import com.romiiis.repository.impl.ProjectRepositoryImpl;
+import com.romiiis.repository.impl.RevokedTokenRepositoryImpl;
+import com.romiiis.repository.impl.UserRepositoryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest(
+        excludeAutoConfiguration = MongoRepositoriesAutoConfiguration.class
+)
+class QueryPlanVerifierTest {
+
+    @Configuration
+    @EnableMongoRepositories(basePackages = "com.romiiis.repository.mongo")
+    @Import({ProjectRepositoryImpl.class, UserRepositoryImpl.class, FeedbackRepositoryImpl.class, RevokedTokenRepositoryImpl.class,
+            MongoProjectMapperImpl.class, MongoUserMapperImpl.class, MongoFeedbackMapperImpl.class, MongoRevokedTokenMapperImpl.class})
+    static class IntegrationConfig {
+
+        // Registered with the Mongo client by the auto-configuration, as when the verification is enabled
+        @Bean
+        QueryCapture queryCapture() {
+            return new QueryCapture();
+        }
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private QueryCapture queryCapture;
+
+    @Autowired
+    private ProjectRepositoryImpl projectRepository;
+
+    @Autowired
+    private UserRepositoryImpl userRepository;
+
+    @Autowired
+    private FeedbackRepositoryImpl feedbackRepository;
+
+    @Autowired
+    private RevokedTokenRepositoryImpl revokedTokenRepository;
+
+    private QueryPlanVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.getDb().drop();
+
+        // Create the declared indexes the same way auto-index-creation does
+        var resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> entity : List.of(ProjectDB.class, UserDB.class, FeedbackDB.class, RevokedTokenDB.class)) {
+            IndexOperations indexOps = mongoTemplate.indexOps(entity);
+            resolver.resolveIndexFor(entity).forEach(indexOps::createIndex);
+        }
+
+        verifier = new QueryPlanVerifier(mongoTemplate, queryCapture, projectRepository, userRepository,
+                feedbackRepository, revokedTokenRepository);
+    }
+
+    @DisplayName("All repository queries should be backed by an index")
+    @Test
+    void allQueryShapes_shouldUseIndex() {
+        assertThat(verifier.findCollectionScans()).isEmpty();
+    }
+
+    @DisplayName("Queries without index should be reported")
+    @Test
+    void missingIndex_shouldBeReported() {
+        mongoTemplate.indexOps(FeedbackDB.class).dropIndex("projectId_createdAt");
+
+        assertThat(verifier.findCollectionScans()).containsExactly("feedback by project");
+    }
+}
@@ -1,15 +1,26 @@
 package com.romiiis.repository.impl;
 
+import com.romiiis.configuration.BulkWriteResult;
 import com.romiiis.domain.Project;
+import com.romiiis.domain.ProjectState;
 import com.romiiis.domain.User;
+import com.romiiis.filter.BulkField;
+import com.romiiis.filter.BulkUpdate;
+import com.romiiis.filter.ProjectsFilter;
 import com.romiiis.mapper.MongoProjectMapper;
+import com.romiiis.mapper.MongoUserMapper;
+import com.romiiis.model.FeedbackDB;
 import com.romiiis.model.ProjectDB;
+import com.romiiis.model.ProjectStateDB;
+import com.romiiis.model.ProjectWithFeedbackDB;
 import com.romiiis.model.UserDB;
 import com.romiiis.model.UserRoleDB;
+import com.romiiis.model.UserSnapshotDB;
 import com.romiiis.repository.mongo.MongoProjectRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration;
@@ -19,8 +30,12 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
@@ -46,6 +61,9 @@ class ProjectRepositoryImplTest {
     @Autowired
     private MongoProjectMapper mapper;
 
+    @Autowired
+    private MongoUserMapper userMapper;
+
     private UUID translatorId;
     private UserDB translatorDB;
     private UserDB customerDB;
@@ -61,6 +79,11 @@ class ProjectRepositoryImplTest {
         MongoProjectMapper mongoProjectMapper() {
             return Mockito.mock(MongoProjectMapper.class);
         }
+
+        @Bean
+        MongoUserMapper mongoUserMapper() {
+            return Mockito.mock(MongoUserMapper.class);
+        }
     }
 
     @BeforeEach
@@ -92,12 +115,19 @@ class ProjectRepositoryImplTest {
                 .build();
     }
 
+    private static UserSnapshotDB snapshotOf(UserDB user) {
+        UserSnapshotDB snapshot = new UserSnapshotDB();
+        snapshot.setId(user.getId());
+        snapshot.setRole(user.getRole());
+        return snapshot;
+    }
+
     @DisplayName("save() should persist Project to MongoDB")
     @Test
     void save_shouldPersistProjectToMongo() {
         ProjectDB projectDB = new ProjectDB();
         projectDB.setId(projectDomain.getId());
-        projectDB.setTranslator(translatorDB);
+        projectDB.setTranslator(snapshotOf(translatorDB));
         when(mapper.mapDomainToDB(any(Project.class))).thenReturn(projectDB);
 
         projectRepository.save(projectDomain);
@@ -107,13 +137,138 @@ class ProjectRepositoryImplTest {
         assertThat(savedEntity.getTranslator().getId()).isEqualTo(translatorId);
     }
 
+    @DisplayName("saveAll() should upsert all projects and report written documents")
+    @Test
+    void saveAll_shouldUpsertAllProjects() {
+        ProjectDB existing = new ProjectDB();
+        existing.setId(UUID.randomUUID());
+        existing.setTargetLanguage(Locale.GERMAN);
+        mongoRepo.save(existing);
+
+        ProjectDB changed = new ProjectDB();
+        changed.setId(existing.getId());
+        changed.setTargetLanguage(Locale.ITALIAN);
+        ProjectDB created = new ProjectDB();
+        created.setId(UUID.randomUUID());
+
+        Project changedDomain = Project.builder().id(changed.getId()).build();
+        Project createdDomain = Project.builder().id(created.getId()).build();
+        when(mapper.mapDomainToDB(changedDomain)).thenReturn(changed);
+        when(mapper.mapDomainToDB(createdDomain)).thenReturn(created);
+
+        BulkWriteResult result = projectRepository.saveAll(List.of(changedDomain, createdDomain));
+
+        assertThat(result.isComplete()).isTrue();
+        assertThat(result.written()).isEqualTo(2);
+        assertThat(result.batches()).hasSize(1);
+        assertThat(mongoRepo.count()).isEqualTo(2);
+        assertThat(mongoRepo.findById(existing.getId()).orElseThrow().getTargetLanguage()).isEqualTo(Locale.ITALIAN);
+    }
+
+    @DisplayName("saveAll() should move the active projects counters of the written projects")
+    @Test
+    void saveAll_shouldMoveActiveProjectsCounters() {
+        ProjectDB assigned = new ProjectDB();
+        assigned.setId(UUID.randomUUID());
+        assigned.setTranslator(snapshotOf(translatorDB));
+        assigned.setState(ProjectStateDB.ASSIGNED);
+        mongoRepo.save(assigned);
+        setActiveProjects(translatorDB, 1);
+
+        ProjectDB approved = new ProjectDB();
+        approved.setId(assigned.getId());
+        approved.setTranslator(snapshotOf(translatorDB));
+        approved.setState(ProjectStateDB.APPROVED);
+        ProjectDB created = new ProjectDB();
+        created.setId(UUID.randomUUID());
+        created.setTranslator(snapshotOf(translatorDB));
+        created.setState(ProjectStateDB.ASSIGNED);
+
+        Project approvedDomain = Project.builder().id(approved.getId()).build();
+        Project createdDomain = Project.builder().id(created.getId()).build();
+        when(mapper.mapDomainToDB(approvedDomain)).thenReturn(approved);
+        when(mapper.mapDomainToDB(createdDomain)).thenReturn(created);
+
+        BulkWriteResult result = projectRepository.saveAll(List.of(approvedDomain, createdDomain));
+
+        assertThat(result.isComplete()).isTrue();
+        assertThat(activeProjectsOf(translatorDB)).isEqualTo(1);
+    }
+
+    @DisplayName("updateMany() should update only projects matching the filter and release their translator")
+    @Test
+    void updateMany_shouldUpdateMatchingProjects() {
+        ProjectDB ofTranslator = new ProjectDB();
+        ofTranslator.setId(UUID.randomUUID());
+        ofTranslator.setTranslator(snapshotOf(translatorDB));
+        ofTranslator.setState(ProjectStateDB.ASSIGNED);
+        ProjectDB other = new ProjectDB();
+        other.setId(UUID.randomUUID());
+        other.setState(ProjectStateDB.ASSIGNED);
+        mongoRepo.saveAll(List.of(ofTranslator, other));
+        setActiveProjects(translatorDB, 1);
+
+        ProjectsFilter filter = new ProjectsFilter();
+        filter.setTranslatorId(translatorId);
+        BulkWriteResult result = projectRepository.updateMany(filter, new BulkUpdate<Project>().set(BulkField.PROJECT_STATE, ProjectState.CLOSED));
+
+        assertThat(result.written()).isEqualTo(1);
+        assertThat(mongoRepo.findById(ofTranslator.getId()).orElseThrow().getState()).isEqualTo(ProjectStateDB.CLOSED);
+        assertThat(mongoRepo.findById(other.getId()).orElseThrow().getState()).isEqualTo(ProjectStateDB.ASSIGNED);
+        assertThat(activeProjectsOf(translatorDB)).isEqualTo(0);
+    }
+
+    @DisplayName("updateMany() reassigning projects should move the active projects counters to the new translator")
+    @Test
+    void updateMany_shouldMoveCountersOnReassignment() {
+        UserDB newTranslatorDB = new UserDB();
+        newTranslatorDB.setId(UUID.randomUUID());
+        newTranslatorDB.setRole(UserRoleDB.TRANSLATOR);
+        mongoTemplate.save(newTranslatorDB);
+
+        ProjectDB assigned = new ProjectDB();
+        assigned.setId(UUID.randomUUID());
+        assigned.setTranslator(snapshotOf(translatorDB));
+        assigned.setState(ProjectStateDB.ASSIGNED);
+        ProjectDB approved = new ProjectDB();
+        approved.setId(UUID.randomUUID());
+        approved.setTranslator(snapshotOf(translatorDB));
+        approved.setState(ProjectStateDB.APPROVED);
+        mongoRepo.saveAll(List.of(assigned, approved));
+        setActiveProjects(translatorDB, 1);
+        setActiveProjects(newTranslatorDB, 0);
+
+        User newTranslator = new User(newTranslatorDB.getId());
+        when(userMapper.mapDomainToSnapshot(newTranslator)).thenReturn(snapshotOf(newTranslatorDB));
+
+        ProjectsFilter filter = new ProjectsFilter();
+        filter.setTranslatorId(translatorId);
+        BulkWriteResult result = projectRepository.updateMany(filter,
+                new BulkUpdate<Project>().set(BulkField.PROJECT_TRANSLATOR, newTranslator));
+
+        assertThat(result.written()).isEqualTo(2);
+        assertThat(result.failures()).isEmpty();
+        assertThat(mongoRepo.findById(assigned.getId()).orElseThrow().getTranslator().getId()).isEqualTo(newTranslatorDB.getId());
+        assertThat(activeProjectsOf(translatorDB)).isEqualTo(0);
+        assertThat(activeProjectsOf(newTranslatorDB)).isEqualTo(1);
+    }
+
+    private void setActiveProjects(UserDB user, int activeProjects) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(user.getId())),
+                new Update().set("activeProjects", activeProjects), UserDB.class);
+    }
+
+    private int activeProjectsOf(UserDB user) {
+        return mongoTemplate.findById(user.getId(), UserDB.class).getActiveProjects();
+    }
+
     @DisplayName("findById() should return Domain Project when exists")
     @Test
     void findById_shouldReturnDomainProject_whenExists() {
         ProjectDB projectDB = new ProjectDB();
         projectDB.setId(projectDomain.getId());
-        projectDB.setCustomer(customerDB);
-        projectDB.setTranslator(translatorDB);
+        projectDB.setCustomer(snapshotOf(customerDB));
+        projectDB.setTranslator(snapshotOf(translatorDB));
         projectDB.setTargetLanguage(Locale.ITALIAN);
         mongoRepo.save(projectDB);
 
@@ -129,7 +284,7 @@ class ProjectRepositoryImplTest {
     void countProjectsWithTranslator_shouldReturnCorrectCount() {
         ProjectDB p1 = new ProjectDB();
         p1.setId(UUID.randomUUID());
-        p1.setTranslator(translatorDB);
+        p1.setTranslator(snapshotOf(translatorDB));
         mongoRepo.save(p1);
 
         UserDB otherTranslator = new UserDB();
@@ -139,7 +294,7 @@ class ProjectRepositoryImplTest {
 
         ProjectDB p2 = new ProjectDB();
         p2.setId(UUID.randomUUID());
-        p2.setTranslator(otherTranslator);
+        p2.setTranslator(snapshotOf(otherTranslator));
         mongoRepo.save(p2);
 
         int count = projectRepository.countProjectsWithTranslator(translatorId);
@@ -147,6 +302,36 @@ class ProjectRepositoryImplTest {
         assertThat(count).isEqualTo(1);
     }
 
+    @DisplayName("getAllWithFeedback() should join latest feedback and filter by its presence")
+    @Test
+    void getAllWithFeedback_shouldJoinLatestFeedback() {
+        ProjectDB withFeedback = new ProjectDB(); withFeedback.setId(UUID.randomUUID());
+        ProjectDB withoutFeedback = new ProjectDB(); withoutFeedback.setId(UUID.randomUUID());
+        mongoRepo.saveAll(List.of(withFeedback, withoutFeedback));
+
+        FeedbackDB older = new FeedbackDB();
+        older.setId(UUID.randomUUID());
+        older.setProjectId(withFeedback.getId());
+        older.setText("older");
+        older.setCreatedAt(Instant.now().minusSeconds(60));
+        FeedbackDB latest = new FeedbackDB();
+        latest.setId(UUID.randomUUID());
+        latest.setProjectId(withFeedback.getId());
+        latest.setText("latest");
+        latest.setCreatedAt(Instant.now());
+        mongoTemplate.insertAll(List.of(older, latest));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ProjectWithFeedbackDB>> rows = ArgumentCaptor.forClass(List.class);
+        when(mapper.mapDBListToWrapper(rows.capture())).thenReturn(List.of());
+
+        projectRepository.getAllWithFeedback(new ProjectsFilter().setHasFeedback(true));
+
+        assertThat(rows.getValue()).hasSize(1);
+        assertThat(rows.getValue().getFirst().getId()).isEqualTo(withFeedback.getId());
+        assertThat(rows.getValue().getFirst().getFeedback().getText()).isEqualTo("latest");
+    }
+
     @DisplayName("getAllProjectIdsAsString() should return all project IDs as strings")
     @Test
     void getAllProjectIdsAsString_shouldReturnAllIds() {
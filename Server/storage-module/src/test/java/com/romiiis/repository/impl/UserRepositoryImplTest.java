@@ -0,0 +1,259 @@
+package com.romiiis.repository.impl;
+
+import com.romiiis.domain.User;
+import com.romiiis.domain.UserRole;
+import com.romiiis.filter.BulkField;
+import com.romiiis.filter.BulkUpdate;
+import com.romiiis.filter.UsersFilter;
+import com.romiiis.mapper.MongoUserMapper;
+import com.romiiis.mapper.MongoUserMapperImpl;
+import com.romiiis.model.ProjectDB;
+import com.romiiis.model.ProjectStateDB;
+import com.romiiis.model.UserDB;
+import com.romiiis.model.UserRoleDB;
+import com.romiiis.model.UserSnapshotDB;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest(
+        excludeAutoConfiguration = MongoRepositoriesAutoConfiguration.class
+)
+@Import({UserRepositoryImpl.class, MongoUserMapperImpl.class, UserRepositoryImplTest.IntegrationConfig.class})
+class UserRepositoryImplTest {
+
+    @Autowired
+    private UserRepositoryImpl userRepository;
+
+    @Autowired
+    private MongoUserMapper mapper;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private UserDB customer;
+    private UserDB translator;
+
+    @Configuration
+    @EnableMongoRepositories(basePackages = "com.romiiis.repository.mongo")
+    static class IntegrationConfig {
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.getDb().drop();
+
+        customer = newUser("John Customer", "customer@test.com", UserRoleDB.CUSTOMER);
+        translator = newUser("Jane Translator", "translator@test.com", UserRoleDB.TRANSLATOR);
+        translator.setLanguages(Set.of(Locale.GERMAN));
+        mongoTemplate.insertAll(List.of(customer, translator));
+    }
+
+    private static UserDB newUser(String name, String email, UserRoleDB role) {
+        UserDB user = new UserDB();
+        user.setId(UUID.randomUUID());
+        user.setName(name);
+        user.setEmailAddress(email);
+        user.setRole(role);
+        user.setCreatedAt(Instant.now());
+        return user;
+    }
+
+    private ProjectDB saveProject(UserDB customer, UserDB translator) {
+        ProjectDB project = new ProjectDB();
+        project.setId(UUID.randomUUID());
+        project.setCustomer(mapper.mapDomainToSnapshot(mapper.mapDBToDomain(customer)));
+        if (translator != null) {
+            project.setTranslator(mapper.mapDomainToSnapshot(mapper.mapDBToDomain(translator)));
+        }
+        return mongoTemplate.insert(project);
+    }
+
+    private UserSnapshotDB customerOf(ProjectDB project) {
+        return mongoTemplate.findById(project.getId(), ProjectDB.class).getCustomer();
+    }
+
+    private UserSnapshotDB translatorOf(ProjectDB project) {
+        return mongoTemplate.findById(project.getId(), ProjectDB.class).getTranslator();
+    }
+
+    @DisplayName("save() should propagate a rename into the project snapshots of the user")
+    @Test
+    void save_shouldPropagateRenameToSnapshots() {
+        ProjectDB ofCustomer = saveProject(customer, translator);
+        UserDB otherCustomer = newUser("Other Customer", "other@test.com", UserRoleDB.CUSTOMER);
+        mongoTemplate.insert(otherCustomer);
+        ProjectDB ofOther = saveProject(otherCustomer, null);
+
+        customer.setName("John Renamed");
+        customer.setEmailAddress("renamed@test.com");
+        userRepository.save(mapper.mapDBToDomain(customer));
+
+        assertThat(customerOf(ofCustomer).getName()).isEqualTo("John Renamed");
+        assertThat(customerOf(ofCustomer).getEmailAddress()).isEqualTo("renamed@test.com");
+        assertThat(translatorOf(ofCustomer).getName()).isEqualTo("Jane Translator");
+        assertThat(customerOf(ofOther).getName()).isEqualTo("Other Customer");
+    }
+
+    @DisplayName("save() should propagate a role change into the translator snapshots")
+    @Test
+    void save_shouldPropagateRoleChangeToSnapshots() {
+        ProjectDB project = saveProject(customer, translator);
+
+        translator.setRole(UserRoleDB.ADMINISTRATOR);
+        userRepository.save(mapper.mapDBToDomain(translator));
+
+        assertThat(translatorOf(project).getRole()).isEqualTo(UserRoleDB.ADMINISTRATOR);
+        assertThat(customerOf(project).getRole()).isEqualTo(UserRoleDB.CUSTOMER);
+    }
+
+    @DisplayName("saveAll() should propagate changes of all users into the project snapshots")
+    @Test
+    void saveAll_shouldPropagateChangesToSnapshots() {
+        ProjectDB project = saveProject(customer, translator);
+
+        customer.setName("John Renamed");
+        translator.setName("Jane Renamed");
+        List<User> users = List.of(mapper.mapDBToDomain(customer), mapper.mapDBToDomain(translator));
+        userRepository.saveAll(users);
+
+        assertThat(customerOf(project).getName()).isEqualTo("John Renamed");
+        assertThat(translatorOf(project).getName()).isEqualTo("Jane Renamed");
+    }
+
+    private int tokenVersionOf(UserDB user) {
+        return userRepository.getUserById(user.getId()).orElseThrow().getTokenVersion();
+    }
+
+    @DisplayName("updateMany() of the role should bump the token version, so tokens with the old role are rejected")
+    @Test
+    void updateMany_roleChangeShouldBumpTokenVersion() {
+        int translatorVersion = tokenVersionOf(translator);
+        int customerVersion = tokenVersionOf(customer);
+
+        userRepository.updateMany(new UsersFilter().setRole(UserRole.TRANSLATOR),
+                new BulkUpdate<User>().set(BulkField.USER_ROLE, UserRole.CUSTOMER));
+
+        // Token version claim of an access token issued before the change no longer matches
+        assertThat(tokenVersionOf(translator)).isNotEqualTo(translatorVersion);
+        assertThat(tokenVersionOf(customer)).isEqualTo(customerVersion);
+    }
+
+    @DisplayName("updateMany() of other fields should keep the token version")
+    @Test
+    void updateMany_otherFieldsShouldKeepTokenVersion() {
+        int version = tokenVersionOf(customer);
+
+        userRepository.updateMany(new UsersFilter(), new BulkUpdate<User>().set(BulkField.USER_NAME, "Renamed"));
+
+        assertThat(tokenVersionOf(customer)).isEqualTo(version);
+    }
+
+    @DisplayName("updateMany() should propagate changes into the snapshots and keep their creation time")
+    @Test
+    void updateMany_shouldPropagateChangesToSnapshots() {
+        ProjectDB project = saveProject(customer, translator);
+
+        userRepository.updateMany(new UsersFilter().setRole(UserRole.CUSTOMER),
+                new BulkUpdate<User>().set(BulkField.USER_NAME, "Renamed"));
+
+        assertThat(customerOf(project).getName()).isEqualTo("Renamed");
+        assertThat(customerOf(project).getCreatedAt()).isNotNull();
+        assertThat(translatorOf(project).getName()).isEqualTo("Jane Translator");
+    }
+
+    private int activeProjectsOf(UserDB user) {
+        return mongoTemplate.findById(user.getId(), UserDB.class).getActiveProjects();
+    }
+
+    private void saveProjectInState(UserDB translator, ProjectStateDB state) {
+        ProjectDB project = new ProjectDB();
+        project.setId(UUID.randomUUID());
+        project.setTranslator(mapper.mapDomainToSnapshot(mapper.mapDBToDomain(translator)));
+        project.setState(state);
+        mongoTemplate.insert(project);
+    }
+
+    @DisplayName("incrementActiveProjects() should adjust the counter of the translator")
+    @Test
+    void incrementActiveProjects_shouldAdjustCounter() {
+        userRepository.incrementActiveProjects(translator.getId(), 1);
+        userRepository.incrementActiveProjects(translator.getId(), 1);
+        userRepository.incrementActiveProjects(translator.getId(), -1);
+
+        assertThat(activeProjectsOf(translator)).isEqualTo(1);
+    }
+
+    @DisplayName("save() should keep the active projects counter")
+    @Test
+    void save_shouldKeepActiveProjectsCounter() {
+        userRepository.incrementActiveProjects(translator.getId(), 3);
+
+        translator.setName("Jane Renamed");
+        userRepository.save(mapper.mapDBToDomain(translator));
+
+        assertThat(activeProjectsOf(translator)).isEqualTo(3);
+    }
+
+    @DisplayName("save() should start the counter of a new user at zero")
+    @Test
+    void save_shouldInitializeCounterOfNewUser() {
+        UserDB created = newUser("New Translator", "new@test.com", UserRoleDB.TRANSLATOR);
+
+        userRepository.save(mapper.mapDBToDomain(created));
+
+        assertThat(activeProjectsOf(created)).isZero();
+    }
+
+    @DisplayName("reconcileActiveProjects() should correct drifted counters from the active projects")
+    @Test
+    void reconcileActiveProjects_shouldCorrectDrift() {
+        UserDB idle = newUser("Idle Translator", "idle@test.com", UserRoleDB.TRANSLATOR);
+        mongoTemplate.insert(idle);
+        saveProjectInState(translator, ProjectStateDB.ASSIGNED);
+        saveProjectInState(translator, ProjectStateDB.COMPLETED);
+        saveProjectInState(translator, ProjectStateDB.CLOSED);
+        userRepository.incrementActiveProjects(translator.getId(), 5);
+        userRepository.incrementActiveProjects(idle.getId(), 1);
+
+        int corrected = userRepository.reconcileActiveProjects();
+
+        assertThat(corrected).isEqualTo(2);
+        assertThat(activeProjectsOf(translator)).isEqualTo(2);
+        assertThat(activeProjectsOf(idle)).isZero();
+        assertThat(userRepository.reconcileActiveProjects()).isZero();
+    }
+
+    @DisplayName("getLeastLoadedTranslator() should pick the translator of the language with the fewest active projects")
+    @Test
+    void getLeastLoadedTranslator_shouldPickFewestActiveProjects() {
+        UserDB lessLoaded = newUser("Less Loaded", "less@test.com", UserRoleDB.TRANSLATOR);
+        lessLoaded.setLanguages(Set.of(Locale.GERMAN, Locale.ITALIAN));
+        lessLoaded.setActiveProjects(1);
+        UserDB otherLanguage = newUser("Other Language", "other@test.com", UserRoleDB.TRANSLATOR);
+        otherLanguage.setLanguages(Set.of(Locale.ITALIAN));
+        otherLanguage.setActiveProjects(0);
+        mongoTemplate.insertAll(List.of(lessLoaded, otherLanguage));
+        userRepository.incrementActiveProjects(translator.getId(), 2);
+
+        assertThat(userRepository.getLeastLoadedTranslator(Locale.GERMAN))
+                .map(User::getId)
+                .contains(lessLoaded.getId());
+        assertThat(userRepository.getLeastLoadedTranslator(Locale.FRENCH)).isEmpty();
+    }
+}